@@ -0,0 +1,204 @@
+package com.boatsafari.managementsystem.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ConsoleAppender;
+import com.boatsafari.managementsystem.config.JwtAuthenticationFilter;
+import com.boatsafari.managementsystem.config.RequestLogSampler;
+import com.boatsafari.managementsystem.model.Customer;
+import com.boatsafari.managementsystem.util.JwtClaims;
+import com.boatsafari.managementsystem.util.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The auth filter and its request logging, before and after the move to async SLF4J.
+ * "println" is the earlier filter, which wrote four System.out lines per request. "info" is
+ * the current filter at the production level, with debug output gated off. "debug-sync" and
+ * "debug-async" log 1 in 100 requests per endpoint (RequestLogSampler), through a plain console
+ * appender and through the AsyncAppender set up in logback-spring.xml. Console output goes to a
+ * discarding stream, so the scores measure the stream lock and formatting, not terminal speed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class AuthFilterLoggingBenchmark {
+
+    private static final String SECRET = "bHt2M8k9N3pQ7rS5v8y/B?E(H+KbPeSh";
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    @Param({"println", "info", "debug-sync", "debug-async"})
+    public String logging;
+
+    private Filter filter;
+    private String token;
+    private PrintStream originalOut;
+    private LoggerContext loggerContext;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwt = new JwtUtils();
+        ReflectionTestUtils.setField(jwt, "secret", SECRET);
+        ReflectionTestUtils.setField(jwt, "cacheMaxSize", 10000);
+        ReflectionTestUtils.setField(jwt, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(jwt, "init");
+        Customer user = new Customer();
+        user.setUserId(42L);
+        user.setEmail("bench@boatsafari.test");
+        token = jwt.generateToken(user);
+
+        // Line-buffered and auto-flushing like the JVM's own System.out, but writing nowhere
+        originalOut = System.out;
+        System.setOut(new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream(), 8192), true));
+        configureLogging();
+
+        if ("println".equals(logging)) {
+            PrintlnJwtFilter println = new PrintlnJwtFilter();
+            println.jwtUtils = jwt;
+            filter = println;
+        } else {
+            RequestLogSampler sampler = new RequestLogSampler();
+            ReflectionTestUtils.setField(sampler, "sampleRate", 100);
+            JwtAuthenticationFilter current = new JwtAuthenticationFilter();
+            ReflectionTestUtils.setField(current, "jwtUtils", jwt);
+            ReflectionTestUtils.setField(current, "requestLogSampler", sampler);
+            filter = current;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+        System.setOut(originalOut);
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(AuthFilterLoggingBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/api/bookings/42");
+            request.addHeader("Authorization", "Bearer " + benchmark.token);
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public Authentication authenticate(Exchange exchange) throws ServletException, IOException {
+        try {
+            filter.doFilter(exchange.request, exchange.response, CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            // Done by SecurityContextHolderFilter after every real request
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Console logging as in logback-spring.xml, with or without the async wrapper
+    private void configureLogging() {
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        ConsoleAppender<ILoggingEvent> console = new ConsoleAppender<>();
+        console.setContext(loggerContext);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder);
+        console.start();
+
+        Appender<ILoggingEvent> root = console;
+        if ("debug-async".equals(logging)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setName("ASYNC_CONSOLE");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(819);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(console);
+            async.start();
+            root = async;
+        }
+        ch.qos.logback.classic.Logger rootLogger = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+        loggerContext.getLogger(JwtAuthenticationFilter.class)
+                .setLevel(logging.startsWith("debug") ? Level.DEBUG : Level.INFO);
+    }
+
+    /**
+     * JwtAuthenticationFilter as it was before user-004, printing every request to System.out
+     */
+    static class PrintlnJwtFilter extends OncePerRequestFilter {
+
+        JwtUtils jwtUtils;
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                        @NonNull FilterChain filterChain) throws ServletException, IOException {
+            String header = request.getHeader("Authorization");
+            System.out.println("Request URI: " + request.getRequestURI());
+            System.out.println("Authorization Header: " + (header != null ? "Present" : "Missing"));
+
+            if (header != null && header.startsWith("Bearer ")) {
+                JwtClaims claims = jwtUtils.verifyAndDecode(header.substring(7));
+                if (claims == null) {
+                    System.out.println("Invalid JWT token");
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                String role = claims.role();
+                System.out.println("JWT Token contains - Email: " + claims.email() + ", Role: " + role
+                        + ", UserId: " + claims.userId());
+
+                if (claims.email() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    List<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                            new SimpleGrantedAuthority("ROLE_" + (role != null ? role.toUpperCase() : "USER")));
+                    System.out.println("Setting authentication with authority: " + authorities.get(0).getAuthority());
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            claims.email(), null, authorities);
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+}
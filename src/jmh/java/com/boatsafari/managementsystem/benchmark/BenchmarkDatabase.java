@@ -0,0 +1,33 @@
+package com.boatsafari.managementsystem.benchmark;
+
+import com.boatsafari.managementsystem.service.DashboardStatsService;
+import com.boatsafari.managementsystem.service.SeatInventoryService;
+import com.boatsafari.managementsystem.service.TripService;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Minimal Spring context for database-backed benchmarks: the JPA model and repositories on an
+ * in-memory H2 database in SQL Server mode, plus only the services under test. Configuration
+ * comes from benchmark.properties instead of application.properties, so no SQL Server is needed.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.boatsafari.managementsystem.model")
+@EnableJpaRepositories("com.boatsafari.managementsystem.repository")
+@Import({SeatInventoryService.class, TripService.class, DashboardStatsService.class})
+public class BenchmarkDatabase {
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BenchmarkDatabase.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.config.name=benchmark")
+                .run();
+    }
+}
@@ -0,0 +1,130 @@
+package com.boatsafari.managementsystem.benchmark;
+
+import com.boatsafari.managementsystem.controller.ITSupportController;
+import com.boatsafari.managementsystem.dto.BookingDetailDTO;
+import com.boatsafari.managementsystem.model.Boat;
+import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.model.Customer;
+import com.boatsafari.managementsystem.model.Feedback;
+import com.boatsafari.managementsystem.model.SafariGuide;
+import com.boatsafari.managementsystem.model.Trip;
+import com.boatsafari.managementsystem.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping in ITSupportController, per row and for a 500-row page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ITSupportMappingBenchmark {
+
+    private static final int PAGE_SIZE = 500;
+
+    private ITSupportController controller;
+    private MethodHandle toBookingDto;
+    private MethodHandle toFeedbackDto;
+    private MethodHandle toCustomerDto;
+
+    private Booking booking;
+    private Feedback feedback;
+    private Customer customer;
+    private List<Booking> bookingPage;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        controller = new ITSupportController();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(ITSupportController.class, MethodHandles.lookup());
+        toBookingDto = lookup.findVirtual(ITSupportController.class, "toDetailedBookingDTO",
+                MethodType.methodType(BookingDetailDTO.class, Booking.class));
+        toFeedbackDto = lookup.findVirtual(ITSupportController.class, "toFeedbackDetailDTO",
+                MethodType.methodType(ITSupportController.FeedbackDetailDTO.class, Feedback.class));
+        toCustomerDto = lookup.findVirtual(ITSupportController.class, "toCustomerDetailDTO",
+                MethodType.methodType(ITSupportController.CustomerDetailDTO.class, User.class, long.class, long.class));
+
+        customer = new Customer();
+        customer.setUserId(7L);
+        customer.setFirstName("Ada");
+        customer.setSecondName("Perera");
+        customer.setEmail("ada@boatsafari.test");
+        customer.setContactNo("0771234567");
+
+        Boat boat = new Boat();
+        boat.setBoatName("Lagoon Star");
+        boat.setCapacity(24);
+        SafariGuide guide = new SafariGuide();
+        guide.setFirstName("Nimal");
+        guide.setSecondName("Silva");
+
+        Trip trip = new Trip();
+        trip.setTripId(3L);
+        trip.setName("Mangrove Sunrise");
+        trip.setDate(LocalDate.now().plusDays(10));
+        trip.setLocation("Bentota");
+        trip.setPrice(45.0);
+        trip.setBoat(boat);
+        trip.setGuide(guide);
+
+        booking = booking(1L, trip);
+        bookingPage = new ArrayList<>(PAGE_SIZE);
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            bookingPage.add(booking(i, trip));
+        }
+
+        feedback = new Feedback();
+        feedback.setFeedbackId(11L);
+        feedback.setTitle("Great trip");
+        feedback.setComments("Saw three crocodiles");
+        feedback.setRating(5);
+        feedback.setCategory("TRIP");
+        feedback.setCreatedAt(LocalDateTime.now());
+        feedback.setUser(customer);
+        feedback.setBooking(booking);
+    }
+
+    @Benchmark
+    public Object bookingDetail() throws Throwable {
+        return toBookingDto.invoke(controller, booking);
+    }
+
+    @Benchmark
+    public List<Object> bookingDetailPage() throws Throwable {
+        List<Object> page = new ArrayList<>(PAGE_SIZE);
+        for (Booking b : bookingPage) {
+            page.add(toBookingDto.invoke(controller, b));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public Object feedbackDetail() throws Throwable {
+        return toFeedbackDto.invoke(controller, feedback);
+    }
+
+    @Benchmark
+    public Object customerDetail() throws Throwable {
+        return toCustomerDto.invoke(controller, (User) customer, 12L, 3L);
+    }
+
+    private Booking booking(long id, Trip trip) {
+        Booking b = new Booking();
+        b.setBookingId(id);
+        b.setStatus("CONFIRMED");
+        b.setPassengers(2);
+        b.setCustomer(customer);
+        b.setTrip(trip);
+        return b;
+    }
+}
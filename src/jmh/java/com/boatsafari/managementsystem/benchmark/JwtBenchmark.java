@@ -0,0 +1,64 @@
+package com.boatsafari.managementsystem.benchmark;
+
+import com.boatsafari.managementsystem.model.Customer;
+import com.boatsafari.managementsystem.util.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and validation on the request path. "cached" validates the same token repeatedly
+ * (verification cache hit, the steady state for a logged-in user); "uncached" runs with the
+ * cache disabled, i.e. a full parse and HMAC check per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "bHt2M8k9N3pQ7rS5v8y/B?E(H+KbPeSh";
+
+    private JwtUtils cachingJwt;
+    private JwtUtils uncachedJwt;
+    private Customer user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwt = jwtUtils(10000);
+        uncachedJwt = jwtUtils(0);
+        user = new Customer();
+        user.setUserId(42L);
+        user.setEmail("bench@boatsafari.test");
+        token = cachingJwt.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwt.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachingJwt.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedJwt.validateToken(token);
+    }
+
+    private static JwtUtils jwtUtils(int cacheMaxSize) {
+        JwtUtils jwt = new JwtUtils();
+        ReflectionTestUtils.setField(jwt, "secret", SECRET);
+        ReflectionTestUtils.setField(jwt, "cacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.setField(jwt, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(jwt, "init");
+        return jwt;
+    }
+}
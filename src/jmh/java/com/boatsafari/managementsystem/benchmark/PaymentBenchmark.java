@@ -0,0 +1,98 @@
+package com.boatsafari.managementsystem.benchmark;
+
+import com.boatsafari.managementsystem.dto.PaymentRequest;
+import com.boatsafari.managementsystem.service.PaymentProcessingService;
+import com.boatsafari.managementsystem.service.PaymentService;
+import com.boatsafari.managementsystem.strategy.BankTransferPaymentStrategy;
+import com.boatsafari.managementsystem.strategy.CreditCardPaymentStrategy;
+import com.boatsafari.managementsystem.strategy.PayPalPaymentStrategy;
+import com.boatsafari.managementsystem.strategy.PaymentGateway;
+import com.boatsafari.managementsystem.strategy.PaymentResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card validation regexes in PaymentService and strategy lookup in PaymentProcessingService.
+ * guardedPayment measures the bulkhead/timeout/circuit-breaker overhead around a gateway that
+ * answers immediately.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentBenchmark {
+
+    private PaymentService paymentService;
+    private MethodHandle validateCard;
+    private PaymentRequest validCard;
+    private PaymentRequest invalidCard;
+
+    private PaymentProcessingService processingService;
+    private final BigDecimal amount = new BigDecimal("249.90");
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        paymentService = new PaymentService();
+        validateCard = MethodHandles.privateLookupIn(PaymentService.class, MethodHandles.lookup())
+                .findVirtual(PaymentService.class, "validateCard", MethodType.methodType(void.class, PaymentRequest.class));
+        validCard = card("4111 1111 1111 1111", "12/29", "123");
+        invalidCard = card("4111 1111 1111 1111", "13/29", "123");
+
+        PaymentGateway gateway = (method, amount, email) ->
+                CompletableFuture.completedFuture(new PaymentGateway.GatewayResponse(true, "bench", "Approved"));
+        processingService = new PaymentProcessingService(List.of(
+                new CreditCardPaymentStrategy(gateway), new PayPalPaymentStrategy(gateway), new BankTransferPaymentStrategy(gateway)),
+                new SimpleMeterRegistry(), 5000, 100, 5, 30000);
+    }
+
+    @Benchmark
+    public void validateCardValid() throws Throwable {
+        validateCard.invoke(paymentService, validCard);
+    }
+
+    // Rejections throw, so this includes exception construction
+    @Benchmark
+    public Object validateCardInvalid() throws Throwable {
+        try {
+            validateCard.invoke(paymentService, invalidCard);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public boolean strategyValidateDetails() {
+        return processingService.validatePaymentDetails("credit_card", "4111111111111111");
+    }
+
+    @Benchmark
+    public double strategyProcessingFee() {
+        return processingService.calculateProcessingFee("paypal", amount);
+    }
+
+    @Benchmark
+    public PaymentResult guardedPayment() {
+        return processingService.processPayment("credit_card", amount, "bench@example.com", "4111111111111111");
+    }
+
+    private static PaymentRequest card(String number, String expiry, String cvv) {
+        PaymentRequest request = new PaymentRequest();
+        request.setMethod("CARD");
+        request.setCardHolderName("Bench Mark");
+        request.setCardNumber(number);
+        request.setCardExpiry(expiry);
+        request.setCardCvv(cvv);
+        return request;
+    }
+}
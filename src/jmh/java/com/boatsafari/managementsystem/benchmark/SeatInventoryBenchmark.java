@@ -0,0 +1,90 @@
+package com.boatsafari.managementsystem.benchmark;
+
+import com.boatsafari.managementsystem.model.Boat;
+import com.boatsafari.managementsystem.model.Trip;
+import com.boatsafari.managementsystem.repository.BoatRepository;
+import com.boatsafari.managementsystem.repository.TripRepository;
+import com.boatsafari.managementsystem.service.SeatInventoryService;
+import com.boatsafari.managementsystem.service.TripService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat availability on the booking path (BookingService.createProvisionalBooking delegates the
+ * check-and-hold to SeatInventoryService) and the remaining-seats search, against H2.
+ * Absolute numbers are not SQL Server numbers; compare runs with each other.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeatInventoryBenchmark {
+
+    private static final int TRIPS = 2000;
+
+    private ConfigurableApplicationContext context;
+    private SeatInventoryService seatInventoryService;
+    private TripService tripService;
+    private Long tripId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start();
+        seatInventoryService = context.getBean(SeatInventoryService.class);
+        tripService = context.getBean(TripService.class);
+
+        Boat boat = new Boat();
+        boat.setBoatName("Bench Boat");
+        boat.setCapacity(40);
+        boat.setStatus("AVAILABLE");
+        boat = context.getBean(BoatRepository.class).save(boat);
+
+        List<Trip> trips = new ArrayList<>(TRIPS);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < TRIPS; i++) {
+            Trip trip = new Trip();
+            trip.setName("Trip " + i);
+            trip.setDate(today.plusDays(i % 90));
+            trip.setStartTime(LocalTime.of(6 + i % 10, 0));
+            trip.setEndTime(LocalTime.of(8 + i % 10, 0));
+            trip.setLocation(i % 2 == 0 ? "Bentota" : "Madu River");
+            trip.setRoute("Route " + (i % 20));
+            trip.setPrice(20 + i % 50);
+            // Large enough that the hold benchmark never runs out of seats
+            trip.setCapacity(i == 0 ? Integer.MAX_VALUE / 2 : 30);
+            trip.setBoat(boat);
+            trips.add(trip);
+        }
+        tripId = context.getBean(TripRepository.class).saveAll(trips).get(0).getTripId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int availableSeats() {
+        return seatInventoryService.getAvailableSeats(tripId);
+    }
+
+    // Conditional UPDATE that checks and takes seats in one statement
+    @Benchmark
+    public void holdSeats() {
+        seatInventoryService.holdSeats(tripId, 1);
+    }
+
+    @Benchmark
+    public TripService.AvailabilityPage searchAvailableTrips() {
+        return tripService.searchAvailableTrips(
+                new TripService.AvailabilityFilter(null, null, "Bentota", null, null, null, 2), null, 50);
+    }
+}
@@ -0,0 +1,326 @@
+package com.boatsafari.managementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for POST /api/bookings and POST /api/payments that compares request handling on
+ * platform threads with virtual threads ({@code spring.threads.virtual.enabled}).
+ *
+ * With --jar the application is started from the built jar twice, once per mode, against the
+ * database it is configured for. Each client logs in, then in a closed loop books a seat on
+ * --trip-id and pays for it by card. Only requests after the warm-up are measured. With --url a
+ * server that is already running is measured once and reported as --label.
+ * Throughput, p50/p99/max latency and errors per endpoint are printed and appended to --results.
+ *
+ * <pre>
+ * mvn -Pjava21,loadtest verify -Dloadtest.args="--email guest@example.com --password secret --trip-id 1"
+ * </pre>
+ * Options: --concurrency 200, --warmup-s 20, --duration-s 60, --passengers 1, --port 8091,
+ * --java (JVM for the application, default: this one), --app-args "--spring.datasource.url=...".
+ * Every booking holds seats until it expires, so use a trip with room for the whole run.
+ */
+public class ThreadModeLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, String> options;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    ThreadModeLoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        for (String required : List.of("email", "password", "trip-id")) {
+            if (!options.containsKey(required)) {
+                throw new IllegalArgumentException("--" + required + " is required");
+            }
+        }
+        new ThreadModeLoadTest(options).run();
+    }
+
+    void run() throws Exception {
+        List<Result> results = new ArrayList<>();
+        if (options.containsKey("url")) {
+            results.addAll(measure(options.getOrDefault("label", "server"), options.get("url")));
+        } else {
+            if (!options.containsKey("java") && Runtime.version().feature() < 21) {
+                System.out.println("WARNING: Java " + Runtime.version().feature()
+                        + " has no virtual threads; the virtual run will use platform threads (build and run with -Pjava21)");
+            }
+            results.addAll(startAndMeasure("platform", false));
+            results.addAll(startAndMeasure("virtual", true));
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %-10s %10s %8s %10s %9s %9s %9s%n",
+                "mode", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Result result : results) {
+            System.out.printf("%-10s %-10s %10d %8d %10.1f %9.1f %9.1f %9.1f%n", result.mode, result.endpoint,
+                    result.requests, result.errors, result.throughput, result.p50Ms, result.p99Ms, result.maxMs);
+        }
+        compare(results);
+        writeResults(results);
+    }
+
+    private List<Result> startAndMeasure(String mode, boolean virtual) throws Exception {
+        String port = options.getOrDefault("port", "8091");
+        String javaCommand = options.getOrDefault("java",
+                ProcessHandle.current().info().command().orElse("java"));
+        List<String> command = new ArrayList<>(List.of(javaCommand, "-jar", options.get("jar"),
+                "--server.port=" + port, "--spring.threads.virtual.enabled=" + virtual));
+        if (options.containsKey("app-args")) {
+            command.addAll(Arrays.asList(options.get("app-args").trim().split("\\s+")));
+        }
+        Path log = Path.of(options.get("jar")).toAbsolutePath().resolveSibling("loadtest-" + mode + ".log");
+        System.out.println("Starting application (" + mode + " threads), log: " + log);
+        Process app = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            String baseUrl = "http://localhost:" + port;
+            awaitHealthy(app, baseUrl);
+            return measure(mode, baseUrl);
+        } finally {
+            app.destroy();
+            if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                app.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void awaitHealthy(Process app, String baseUrl) throws Exception {
+        long deadline = System.currentTimeMillis() + 180_000;
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5)).GET().build();
+        while (System.currentTimeMillis() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + app.exitValue());
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("Application did not become healthy within 180 s");
+    }
+
+    private List<Result> measure(String mode, String baseUrl) throws Exception {
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup-s", "20")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration-s", "60")));
+        String token = login(baseUrl);
+
+        System.out.printf("Measuring %s: %d clients, %d s warm-up, %d s measured%n", mode, concurrency,
+                TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+        long measureFrom = System.nanoTime() + warmupNanos;
+        long end = measureFrom + durationNanos;
+        AtomicLong sequence = new AtomicLong();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        List<Future<Samples[]>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> clientLoop(baseUrl, token, sequence, measureFrom, end)));
+            }
+            Samples bookings = new Samples();
+            Samples payments = new Samples();
+            for (Future<Samples[]> future : futures) {
+                Samples[] samples = future.get();
+                bookings.addAll(samples[0]);
+                payments.addAll(samples[1]);
+            }
+            double seconds = durationNanos / 1e9;
+            return List.of(bookings.result(mode, "bookings", seconds), payments.result(mode, "payments", seconds));
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private Samples[] clientLoop(String baseUrl, String token, AtomicLong sequence, long measureFrom, long end) {
+        Samples bookings = new Samples();
+        Samples payments = new Samples();
+        String passengers = options.getOrDefault("passengers", "1");
+        while (System.nanoTime() < end) {
+            long n = sequence.incrementAndGet();
+            String booking = "{\"tripId\":" + options.get("trip-id") + ",\"name\":\"Load Test " + n + "\","
+                    + "\"contact\":\"0700000000\",\"email\":\"loadtest+" + n + "@example.com\","
+                    + "\"numberOfPassengers\":" + passengers + "}";
+            boolean measured = System.nanoTime() >= measureFrom;
+            Response created = post(baseUrl + "/api/bookings", token, booking);
+            if (measured) bookings.add(created);
+            Long bookingId = created.status == 201 ? created.longField("bookingId") : null;
+            if (bookingId == null) continue;
+
+            String payment = "{\"bookingId\":" + bookingId + ",\"method\":\"CARD\","
+                    + "\"cardNumber\":\"4111 1111 1111 1111\",\"cardExpiry\":\"12/30\",\"cardCvv\":\"123\","
+                    + "\"cardHolderName\":\"Load Test\"}";
+            measured = System.nanoTime() >= measureFrom;
+            Response paid = post(baseUrl + "/api/payments", token, payment);
+            if (measured) payments.add(paid);
+        }
+        return new Samples[] {bookings, payments};
+    }
+
+    private String login(String baseUrl) throws Exception {
+        String body = MAPPER.writeValueAsString(Map.of("email", options.get("email"), "password", options.get("password")));
+        Response response = post(baseUrl + "/api/login", null, body);
+        if (response.status != 200) {
+            throw new IllegalStateException("Login failed (" + response.status + "): " + response.body);
+        }
+        return MAPPER.readTree(response.body).path("token").asText();
+    }
+
+    private Response post(String url, String token, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body(), System.nanoTime() - started);
+        } catch (IOException e) {
+            return new Response(-1, e.toString(), System.nanoTime() - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, "interrupted", System.nanoTime() - started);
+        }
+    }
+
+    private void compare(List<Result> results) {
+        for (String endpoint : List.of("bookings", "payments")) {
+            Result platform = find(results, "platform", endpoint);
+            Result virtual = find(results, "virtual", endpoint);
+            if (platform == null || virtual == null || platform.throughput == 0 || platform.p99Ms == 0) continue;
+            System.out.printf("%-10s virtual vs platform: throughput x%.2f, p99 x%.2f%n", endpoint,
+                    virtual.throughput / platform.throughput, virtual.p99Ms / platform.p99Ms);
+        }
+    }
+
+    private static Result find(List<Result> results, String mode, String endpoint) {
+        return results.stream().filter(r -> r.mode.equals(mode) && r.endpoint.equals(endpoint)).findFirst().orElse(null);
+    }
+
+    private void writeResults(List<Result> results) throws IOException {
+        Path file = Path.of(options.getOrDefault("results", "loadtest-results.csv"));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        StringBuilder csv = new StringBuilder();
+        if (!Files.exists(file)) {
+            csv.append("timestamp,mode,endpoint,concurrency,requests,errors,throughput,p50_ms,p99_ms,max_ms,statuses\n");
+        }
+        String timestamp = LocalDateTime.now().withNano(0).toString();
+        for (Result r : results) {
+            csv.append(String.join(",", timestamp, r.mode, r.endpoint, options.getOrDefault("concurrency", "200"),
+                    String.valueOf(r.requests), String.valueOf(r.errors), String.format("%.1f", r.throughput),
+                    String.format("%.2f", r.p50Ms), String.format("%.2f", r.p99Ms), String.format("%.2f", r.maxMs),
+                    r.statuses.toString().replace(", ", " ").replace(",", " "))).append('\n');
+        }
+        Files.writeString(file, csv, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.out.println("Results appended to " + file.toAbsolutePath());
+    }
+
+    private record Response(int status, String body, long nanos) {
+        Long longField(String name) {
+            try {
+                JsonNode value = MAPPER.readTree(body).get(name);
+                return value != null && value.canConvertToLong() ? value.asLong() : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private record Result(String mode, String endpoint, int requests, int errors, double throughput,
+                          double p50Ms, double p99Ms, double maxMs, Map<Integer, Integer> statuses) {
+    }
+
+    /**
+     * Latencies of successful (2xx) calls plus counts per status; one per client thread, merged at the end
+     */
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+        void add(Response response) {
+            statuses.merge(response.status, 1, Integer::sum);
+            if (response.status < 200 || response.status >= 300) {
+                errors++;
+                return;
+            }
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = response.nanos;
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, size + other.size);
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Integer::sum));
+        }
+
+        Result result(String mode, String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Result(mode, endpoint, size + errors, errors, size / seconds,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.99),
+                    size == 0 ? 0 : sorted[size - 1] / 1e6, statuses);
+        }
+
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.boatsafari.managementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Reports the Hikari pool under /actuator/health as "connectionPool".
+ *
+ * DOWN only when the pool has been closed. A saturated pool (every connection in use and
+ * threads waiting) stays UP so load balancers do not pull a busy node, but is flagged in the
+ * details; alert on hikaricp.connections.pending and acquire time instead.
+ */
+@Component
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+
+    private final DataSource dataSource;
+
+    public ConnectionPoolHealthIndicator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Health health() {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return Health.unknown().withDetail("reason", "Not a Hikari pool").build();
+        }
+        if (hikari.isClosed()) {
+            return Health.down().withDetail("pool", hikari.getPoolName()).withDetail("reason", "Pool is closed").build();
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            // Pool starts on the first getConnection()
+            return Health.up().withDetail("pool", hikari.getPoolName()).withDetail("started", false).build();
+        }
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        return Health.up()
+                .withDetail("pool", hikari.getPoolName())
+                .withDetail("active", active)
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("total", pool.getTotalConnections())
+                .withDetail("max", hikari.getMaximumPoolSize())
+                .withDetail("waiting", waiting)
+                .withDetail("saturated", active >= hikari.getMaximumPoolSize() && waiting > 0)
+                .build();
+    }
+}
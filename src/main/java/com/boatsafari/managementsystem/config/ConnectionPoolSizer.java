@@ -0,0 +1,50 @@
+package com.boatsafari.managementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the Hikari pool from the CPU count and the database connection limit.
+ *
+ * Enabled by {@code app.datasource.pool.auto-size}. The pool gets cores * 2 + 1 connections,
+ * but never more than this instance's share of the database limit, and is kept at a fixed size
+ * (minimum-idle = maximum) so bursts do not pay for opening connections.
+ */
+@Component
+public class ConnectionPoolSizer implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolSizer.class);
+
+    private static final int MIN_POOL_SIZE = 2;
+
+    private final Environment environment;
+
+    public ConnectionPoolSizer(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource
+                && environment.getProperty("app.datasource.pool.auto-size", Boolean.class, false)
+                && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+            int size = poolSize(Runtime.getRuntime().availableProcessors());
+            dataSource.setMaximumPoolSize(size);
+            dataSource.setMinimumIdle(size);
+            logger.info("Connection pool {} sized to {} connections", dataSource.getPoolName(), size);
+        }
+        return bean;
+    }
+
+    private int poolSize(int cores) {
+        int dbMax = environment.getProperty("app.datasource.pool.db-max-connections", Integer.class, 100);
+        int reserved = environment.getProperty("app.datasource.pool.reserved", Integer.class, 10);
+        int instances = Math.max(1, environment.getProperty("app.datasource.pool.instances", Integer.class, 1));
+        int share = (dbMax - reserved) / instances;
+        return Math.max(MIN_POOL_SIZE, Math.min(cores * 2 + 1, share));
+    }
+}
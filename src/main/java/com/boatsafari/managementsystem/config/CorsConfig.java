@@ -17,7 +17,8 @@ public class CorsConfig {
         CorsConfiguration corsConfiguration = new CorsConfiguration();
         corsConfiguration.setAllowedOrigins(Collections.singletonList("*")); // For development; restrict in production
         corsConfiguration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        corsConfiguration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept"));
+        corsConfiguration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Idempotency-Key"));
+        corsConfiguration.setExposedHeaders(Arrays.asList("X-Next-Cursor", "X-Total-Count", "Location", "Retry-After", "Idempotent-Replayed"));
         corsConfiguration.setAllowCredentials(true);
         corsConfiguration.setMaxAge(3600L); // 1 hour
 
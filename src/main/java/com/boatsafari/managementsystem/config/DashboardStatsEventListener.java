@@ -0,0 +1,157 @@
+package com.boatsafari.managementsystem.config;
+
+import com.boatsafari.managementsystem.model.Boat;
+import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.model.Feedback;
+import com.boatsafari.managementsystem.model.SupportTicket;
+import com.boatsafari.managementsystem.model.Trip;
+import com.boatsafari.managementsystem.model.User;
+import com.boatsafari.managementsystem.service.DashboardStatsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds committed inserts, updates and deletes of dashboard-relevant entities into
+ * {@link DashboardStatsService}. Rolled-back changes never reach the counters.
+ */
+@Component
+public class DashboardStatsEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DashboardStatsService dashboardStatsService;
+
+    public DashboardStatsEventListener(EntityManagerFactory entityManagerFactory,
+                                       DashboardStatsService dashboardStatsService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dashboardStatsService = dashboardStatsService;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Booking.class || type == Boat.class || type == Trip.class
+                || type == Feedback.class || type == SupportTicket.class || User.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        dashboardStatsService.apply(c -> count(c, entity, 1));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        dashboardStatsService.apply(c -> count(c, entity, -1));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            // Detached update without a loaded snapshot - the delta is unknown
+            dashboardStatsService.markStale();
+            return;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        if (entity instanceof Booking booking) {
+            String oldStatus = (String) old(names, oldState, "status");
+            Double oldCost = (Double) old(names, oldState, "totalCost");
+            dashboardStatsService.apply(c -> {
+                c.booking(oldStatus, oldCost != null ? oldCost : 0.0, -1);
+                c.booking(booking.getStatus(), booking.getTotalCost(), 1);
+            });
+        } else if (entity instanceof Boat boat) {
+            String oldStatus = (String) old(names, oldState, "status");
+            dashboardStatsService.apply(c -> {
+                c.boat(oldStatus, -1);
+                c.boat(boat.getStatus(), 1);
+            });
+        } else if (entity instanceof Feedback feedback) {
+            boolean wasReplied = hasText((String) old(names, oldState, "reply"));
+            dashboardStatsService.apply(c -> {
+                c.feedback(wasReplied, -1);
+                c.feedback(hasText(feedback.getReply()), 1);
+            });
+        } else if (entity instanceof SupportTicket ticket) {
+            String oldStatus = (String) old(names, oldState, "status");
+            String oldPriority = (String) old(names, oldState, "priority");
+            String oldCategory = (String) old(names, oldState, "category");
+            dashboardStatsService.apply(c -> {
+                c.ticket(oldStatus, oldPriority, oldCategory, -1);
+                c.ticket(ticket.getStatus(), ticket.getPriority(), ticket.getCategory(), 1);
+            });
+        }
+        // Trips and users are only counted, and the role (discriminator) never changes on update
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private static void count(DashboardStatsService.Counters c, Object entity, int sign) {
+        if (entity instanceof Booking booking) {
+            c.booking(booking.getStatus(), booking.getTotalCost(), sign);
+        } else if (entity instanceof Boat boat) {
+            c.boat(boat.getStatus(), sign);
+        } else if (entity instanceof Trip) {
+            c.trip(sign);
+        } else if (entity instanceof User user) {
+            c.user(roleOf(user), sign);
+        } else if (entity instanceof Feedback feedback) {
+            c.feedback(hasText(feedback.getReply()), sign);
+        } else if (entity instanceof SupportTicket ticket) {
+            c.ticket(ticket.getStatus(), ticket.getPriority(), ticket.getCategory(), sign);
+        }
+    }
+
+    // The role column is the discriminator, so it is not populated on a freshly inserted entity
+    private static String roleOf(User user) {
+        Class<?> type = Hibernate.getClass(user);
+        DiscriminatorValue value = type.getAnnotation(DiscriminatorValue.class);
+        return value != null ? value.value() : type.getSimpleName();
+    }
+
+    private static Object old(String[] names, Object[] state, String property) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(property)) return state[i];
+        }
+        return null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
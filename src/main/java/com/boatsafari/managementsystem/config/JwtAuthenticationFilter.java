@@ -1,10 +1,13 @@
 package com.boatsafari.managementsystem.config;
 
+import com.boatsafari.managementsystem.util.JwtClaims;
 import com.boatsafari.managementsystem.util.JwtUtils;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,37 +19,47 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private RequestLogSampler requestLogSampler;
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
         String header = request.getHeader("Authorization");
 
-        // For debugging
-        System.out.println("Request URI: " + request.getRequestURI());
-        System.out.println("Authorization Header: " + (header != null ? "Present" : "Missing"));
+        // Debug output is level-gated first so the sampler is not even consulted in production
+        boolean trace = log.isDebugEnabled() && requestLogSampler.shouldLog(request.getRequestURI());
+        if (trace) {
+            log.debug("auth uri={} header={}", request.getRequestURI(), header != null ? "present" : "missing");
+        }
 
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
 
-            // Validate the token first
-            if (!jwtUtils.validateToken(token)) {
-                System.out.println("Invalid JWT token");
+            // Verify and decode in one pass (cached per token)
+            JwtClaims claims = jwtUtils.verifyAndDecode(token);
+            if (claims == null) {
+                if (trace) log.debug("auth uri={} result=invalid_token", request.getRequestURI());
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            String email = jwtUtils.getEmailFromToken(token);
-            String role = jwtUtils.getRoleFromToken(token);
-            Long userId = jwtUtils.getUserIdFromToken(token);
+            String email = claims.email();
+            String role = claims.role();
+            Long userId = claims.userId();
 
-            System.out.println("JWT Token contains - Email: " + email + ", Role: " + role + ", UserId: " + userId);
+            if (trace) log.debug("auth uri={} email={} role={} userId={}", request.getRequestURI(), email, role, userId);
 
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 // Create authority from role - ensure role is uppercase for consistency
@@ -54,8 +67,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         new SimpleGrantedAuthority("ROLE_" + (role != null ? role.toUpperCase() : "USER"))
                 );
 
-                System.out.println("Setting authentication with authority: " + authorities.get(0).getAuthority());
-
                 // Create authentication token
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         email, null, authorities);
@@ -69,4 +80,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Token verification cache counters (hits skip parsing and HMAC entirely)
+     */
+    public Map<String, Object> getTokenCacheStats() {
+        long hits = jwtUtils.getCacheHits();
+        long misses = jwtUtils.getCacheMisses();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        stats.put("evictions", jwtUtils.getCacheEvictions());
+        stats.put("size", jwtUtils.getCacheSize());
+        return stats;
+    }
+}
@@ -0,0 +1,45 @@
+package com.boatsafari.managementsystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which requests get per-request debug logging.
+ *
+ * Every endpoint keeps its own counter and logs 1 in {@code app.logging.debug-sample-rate}
+ * requests, so a busy endpoint cannot drown out quiet ones. Numeric path segments are folded
+ * into {id} so /api/bookings/7 and /api/bookings/8 share a counter.
+ */
+@Component
+public class RequestLogSampler {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    // Bound the map so arbitrary URIs cannot grow it forever
+    private static final int MAX_ENDPOINTS = 1024;
+
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong();
+
+    @Value("${app.logging.debug-sample-rate:100}")
+    private int sampleRate;
+
+    /**
+     * @return true if this request to the given URI should be logged
+     */
+    public boolean shouldLog(String uri) {
+        if (sampleRate <= 1) return true;
+        String endpoint = NUMERIC_SEGMENT.matcher(uri).replaceAll("/{id}");
+        AtomicLong counter = counters.get(endpoint);
+        if (counter == null) {
+            counter = counters.size() < MAX_ENDPOINTS
+                    ? counters.computeIfAbsent(endpoint, k -> new AtomicLong())
+                    : overflow;
+        }
+        return counter.getAndIncrement() % sampleRate == 0;
+    }
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/boatsafari/managementsystem/config/SecurityConfig.java
 package com.boatsafari.managementsystem.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -20,6 +21,8 @@ public class SecurityConfig {
         return http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // async re-dispatches of already authorized requests (SSE streams)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // static pages/assets
                         .requestMatchers("/", "/*.html", "/assets/**", "/partials/**", "/img/**").permitAll()
                         // auth endpoints
@@ -72,6 +75,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/api/boats/**").hasAnyRole("ADMIN", "STAFF")
                         // everything else under /api protected
                         .requestMatchers("/api/**").authenticated()
+                        // actuator: health for load balancers, everything else (metrics) admin only
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAnyRole("ADMIN")
                         .anyRequest().permitAll()
                 )
                 .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,68 @@
+package com.boatsafari.managementsystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the application's own worker pools (booking observer lanes, booking
+ * outbox relay, dashboard event sender, payment intent notifier).
+ *
+ * With {@code spring.threads.virtual.enabled=true} on Java 21, Spring Boot runs Tomcat requests,
+ * the task executor and {@code @Scheduled} jobs on virtual threads, and these pools follow:
+ * their threads become virtual as well. Pool sizes and queue bounds still apply, so ordering
+ * and back-pressure do not change. Otherwise the threads are named daemon platform threads.
+ */
+@Component
+public class WorkerThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerThreads.class);
+
+    private final boolean virtual;
+
+    public WorkerThreads(Environment environment) {
+        this(Threading.VIRTUAL.isActive(environment));
+        if (virtual) {
+            log.info("Virtual threads enabled for request handling, scheduled jobs and worker pools");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                    Runtime.version().feature());
+        }
+    }
+
+    private WorkerThreads(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    /**
+     * Platform threads only, for code that runs outside the Spring context (tests, benchmarks)
+     */
+    public static WorkerThreads platform() {
+        return new WorkerThreads(false);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * @param prefix thread name prefix; threads are numbered after it
+     */
+    public ThreadFactory factory(String prefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        AtomicInteger threadIds = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -2,11 +2,24 @@ package com.boatsafari.managementsystem.controller;
 
 import com.boatsafari.managementsystem.model.User;
 import com.boatsafari.managementsystem.model.Boat;
+import com.boatsafari.managementsystem.dto.TripScheduleRequest;
 import com.boatsafari.managementsystem.service.UserService;
 import com.boatsafari.managementsystem.service.TripService;
 import com.boatsafari.managementsystem.service.BoatService;
+import com.boatsafari.managementsystem.service.BoatCatalogCache;
+import com.boatsafari.managementsystem.service.CacheStatsService;
+import com.boatsafari.managementsystem.service.TripCatalogService;
+import com.boatsafari.managementsystem.service.TripScheduleService;
+import com.boatsafari.managementsystem.service.DashboardStatsService;
+import com.boatsafari.managementsystem.service.BookingOutboxService;
+import com.boatsafari.managementsystem.service.AuditLogWriter;
 import com.boatsafari.managementsystem.repository.BookingRepository;
+import com.boatsafari.managementsystem.schedule.HoldExpiryReaper;
+import com.boatsafari.managementsystem.observer.BookingObserverDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,6 +33,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class AdminController {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+
     @Autowired
     private UserService userService;
 
@@ -32,6 +47,33 @@ public class AdminController {
     @Autowired
     private BoatService boatService;
 
+    @Autowired
+    private BoatCatalogCache boatCatalogCache;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private TripCatalogService tripCatalogService;
+
+    @Autowired
+    private TripScheduleService tripScheduleService;
+
+    @Autowired
+    private HoldExpiryReaper holdExpiryReaper;
+
+    @Autowired
+    private BookingObserverDispatcher bookingObserverDispatcher;
+
+    @Autowired
+    private BookingOutboxService bookingOutboxService;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
     /**
      * Get all users for admin management
      */
@@ -173,41 +215,18 @@ public class AdminController {
     @GetMapping("/analytics")
     public ResponseEntity<Map<String, Object>> getAnalytics() {
         try {
+            DashboardStatsService.Snapshot snapshot = dashboardStatsService.snapshot();
             Map<String, Object> analytics = new HashMap<>();
             
-            // Get user count
-            List<User> allUsers = userService.getAllUsers();
-            long totalUsers = allUsers.size();
-            analytics.put("totalUsers", totalUsers);
-            
-            // Get active trips count
-            List<com.boatsafari.managementsystem.model.Trip> allTrips = tripService.getAllTrips();
-            long activeTrips = allTrips.size();
-            analytics.put("activeTrips", activeTrips);
+            analytics.put("totalUsers", snapshot.totalUsers());
+            analytics.put("activeTrips", snapshot.totalTrips());
+            analytics.put("monthlyBookings", snapshot.totalBookings());
+            analytics.put("monthlyRevenue", snapshot.revenue());
             
-            // Get total bookings count
-            long totalBookings = bookingRepository.count();
-            analytics.put("monthlyBookings", totalBookings);
-            
-            // Calculate total revenue from all bookings (safely)
-            double totalRevenue = 0.0;
-            try {
-                List<com.boatsafari.managementsystem.model.Booking> bookings = bookingRepository.findAll();
-                totalRevenue = bookings.stream()
-                    .filter(booking -> booking.getTotalCost() > 0)
-                    .mapToDouble(booking -> booking.getTotalCost())
-                    .sum();
-            } catch (Exception e) {
-                System.out.println("Error calculating revenue: " + e.getMessage());
-                totalRevenue = 0.0;
-            }
-            analytics.put("monthlyRevenue", totalRevenue);
-            
-            System.out.println("Analytics data: " + analytics);
+            log.debug("Analytics data: {}", analytics);
             return ResponseEntity.ok(analytics);
         } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error in analytics endpoint: " + e.getMessage());
+            log.error("Error in analytics endpoint: {}", e.getMessage(), e);
             
             // Return default values on error
             Map<String, Object> defaultAnalytics = new HashMap<>();
@@ -219,6 +238,89 @@ public class AdminController {
         }
     }
 
+    /**
+     * Provisional hold expiry metrics (holds tracked, expired per tick, totals)
+     */
+    @GetMapping("/holds/stats")
+    public ResponseEntity<Map<String, Object>> getHoldExpiryStats() {
+        return ResponseEntity.ok(holdExpiryReaper.getStats());
+    }
+
+    /**
+     * Boat catalog cache hit/miss counts
+     */
+    @GetMapping("/boats/catalog-stats")
+    public ResponseEntity<Map<String, Object>> getBoatCatalogStats() {
+        return ResponseEntity.ok(boatCatalogCache.getStats());
+    }
+
+    /**
+     * Publish a season of recurring departures; returns counts and insert throughput
+     */
+    @PostMapping("/trips/schedule")
+    public ResponseEntity<?> generateTripSchedule(@RequestBody TripScheduleRequest request) {
+        try {
+            return ResponseEntity.ok(tripScheduleService.generate(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Trip schedule generation failed", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Trip schedule generation failed"));
+        }
+    }
+
+    /**
+     * Public trip catalog snapshot (size, ETag, hits and rebuilds)
+     */
+    @GetMapping("/trips/catalog-stats")
+    public ResponseEntity<Map<String, Object>> getTripCatalogStats() {
+        return ResponseEntity.ok(tripCatalogService.getStats());
+    }
+
+    /**
+     * Hibernate second-level and query cache hit ratios, overall and per region
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getStats());
+    }
+
+    /**
+     * Booking observer dispatch metrics (queue depth, completed/failed/rejected, latency per observer)
+     */
+    @GetMapping("/observers/stats")
+    public ResponseEntity<Map<String, Object>> getObserverStats() {
+        return ResponseEntity.ok(bookingObserverDispatcher.getStats());
+    }
+
+    /**
+     * Booking outbox status counts, relay metrics and the latest dead-lettered events
+     */
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<Map<String, Object>> getOutboxStats() {
+        return ResponseEntity.ok(bookingOutboxService.getStats());
+    }
+
+    /**
+     * Audit log writer metrics (buffered entries, batches written, file fallback)
+     */
+    @GetMapping("/audit/stats")
+    public ResponseEntity<Map<String, Object>> getAuditLogStats() {
+        return ResponseEntity.ok(auditLogWriter.getStats());
+    }
+
+    /**
+     * Retry dead-lettered outbox events (one by id, or all when no id is given)
+     */
+    @PostMapping("/outbox/dead/requeue")
+    public ResponseEntity<Map<String, Object>> requeueDeadOutboxEvents(@RequestParam(required = false) Long id) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("requeued", bookingOutboxService.requeueDead(id));
+        return ResponseEntity.ok(response);
+    }
+
     // ========================
     // BOAT MANAGEMENT ENDPOINTS
     // ========================
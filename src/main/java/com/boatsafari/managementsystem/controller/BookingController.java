@@ -4,6 +4,8 @@ package com.boatsafari.managementsystem.controller;
 import com.boatsafari.managementsystem.model.Booking;
 import com.boatsafari.managementsystem.repository.BookingRepository;
 import com.boatsafari.managementsystem.service.BookingService;
+import com.boatsafari.managementsystem.service.IdempotencyService;
+import com.boatsafari.managementsystem.service.SeatInventoryService;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.security.Principal;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,15 +24,31 @@ public class BookingController {
 
     private final BookingService bookingService;
     private final BookingRepository bookingRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public BookingController(BookingService bookingService, BookingRepository bookingRepository) {
+    public BookingController(BookingService bookingService, BookingRepository bookingRepository,
+                             SeatInventoryService seatInventoryService, IdempotencyService idempotencyService) {
         this.bookingService = bookingService;
         this.bookingRepository = bookingRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.idempotencyService = idempotencyService;
     }
 
+    /**
+     * Create a provisional booking. With an Idempotency-Key header a retried request gets the
+     * original response back instead of holding seats for a second booking.
+     */
     @PostMapping
-    public ResponseEntity<?> createBooking(@RequestBody BookingRequest request) {
+    public ResponseEntity<?> createBooking(@RequestBody BookingRequest request,
+                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                           Principal principal) {
+        return idempotencyService.execute("POST /api/bookings", principal != null ? principal.getName() : null,
+                idempotencyKey, request, () -> create(request));
+    }
+
+    private ResponseEntity<?> create(BookingRequest request) {
         try {
             Booking booking = bookingService.createProvisionalBooking(
                     request.getTripId(),
@@ -89,6 +108,8 @@ public class BookingController {
             Optional<Booking> bookingOpt = bookingRepository.findById(id);
             if (bookingOpt.isPresent()) {
                 Booking booking = bookingOpt.get();
+                String oldStatus = booking.getStatus();
+                int oldPassengers = booking.getPassengers();
                 
                 // Update fields based on actual Booking model
                 if (bookingDetails.getName() != null) {
@@ -109,6 +130,10 @@ public class BookingController {
                 if (bookingDetails.getTotalCost() > 0) {
                     booking.setTotalCost(bookingDetails.getTotalCost());
                 }
+
+                // Keep the trip's seat counters in step with status/passenger edits
+                seatInventoryService.reallocate(booking, oldStatus, oldPassengers,
+                        booking.getStatus(), booking.getPassengers());
                 
                 Booking updatedBooking = bookingRepository.save(booking);
                 return ResponseEntity.ok(updatedBooking);
@@ -125,8 +150,7 @@ public class BookingController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteBooking(@PathVariable Long id) {
         try {
-            if (bookingRepository.existsById(id)) {
-                bookingRepository.deleteById(id);
+            if (bookingService.deleteBooking(id)) {
                 return ResponseEntity.noContent().build();
             }
             return ResponseEntity.notFound().build();
@@ -1,6 +1,7 @@
 // src/main/java/com/boatsafari/managementsystem/controller/DebugAuthController.java
 package com.boatsafari.managementsystem.controller;
 
+import com.boatsafari.managementsystem.config.JwtAuthenticationFilter;
 import com.boatsafari.managementsystem.util.CurrentUserUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -14,9 +15,17 @@ public class DebugAuthController {
     @Autowired
     private CurrentUserUtil currentUserUtil;
 
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
     @GetMapping("/me")
     public Map<String, Object> me() {
         String email = currentUserUtil.getCurrentEmail();
         return Map.of("email", email == null ? "" : email);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/jwt-cache")
+    public Map<String, Object> jwtCacheStats() {
+        return jwtAuthenticationFilter.getTokenCacheStats();
+    }
+}
@@ -3,6 +3,8 @@ package com.boatsafari.managementsystem.controller;
 import com.boatsafari.managementsystem.service.PaymentProcessingService;
 import com.boatsafari.managementsystem.service.BookingService;
 import com.boatsafari.managementsystem.strategy.PaymentResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +23,8 @@ import java.util.HashMap;
 @CrossOrigin(origins = "*")
 public class DesignPatternDemoController {
 
+    private static final Logger log = LoggerFactory.getLogger(DesignPatternDemoController.class);
+
     @Autowired
     private PaymentProcessingService paymentService;
     
@@ -34,8 +38,8 @@ public class DesignPatternDemoController {
     @PostMapping("/payment/process")
     public ResponseEntity<?> demonstrateStrategyPattern(@RequestBody PaymentDemoRequest request) {
         try {
-            System.out.println("\n🎯 === STRATEGY PATTERN DEMONSTRATION ===");
-            System.out.println("Processing payment with: " + request.getPaymentMethod());
+            log.info("🎯 === STRATEGY PATTERN DEMONSTRATION ===");
+            log.info("Processing payment with: {}", request.getPaymentMethod());
             
             PaymentResult result = paymentService.processPayment(
                 request.getPaymentMethod(),
@@ -65,9 +69,9 @@ public class DesignPatternDemoController {
      */
     @GetMapping("/payment/methods")
     public ResponseEntity<List<String>> getPaymentMethods() {
-        System.out.println("\n📋 Available Payment Methods (Strategy Pattern):");
+        log.info("📋 Available Payment Methods (Strategy Pattern):");
         List<String> methods = paymentService.getAvailablePaymentMethods();
-        methods.forEach(method -> System.out.println("  - " + method));
+        methods.forEach(method -> log.info("- {}", method));
         
         return ResponseEntity.ok(methods);
     }
@@ -77,7 +81,7 @@ public class DesignPatternDemoController {
      */
     @GetMapping("/payment/fees")
     public ResponseEntity<?> calculateFees(@RequestParam double amount) {
-        System.out.println("\n💰 Calculating fees for amount: $" + amount);
+        log.info("💰 Calculating fees for amount: ${}", amount);
         
         Map<String, Double> fees = new HashMap<>();
         List<String> methods = paymentService.getAvailablePaymentMethods();
@@ -85,7 +89,7 @@ public class DesignPatternDemoController {
         for (String method : methods) {
             double fee = paymentService.calculateProcessingFee(method, new BigDecimal(amount));
             fees.put(method, fee);
-            System.out.println("  " + method + ": $" + fee);
+            log.info("{}: ${}", method, fee);
         }
         
         return ResponseEntity.ok(fees);
@@ -100,8 +104,8 @@ public class DesignPatternDemoController {
             @PathVariable Long bookingId,
             @RequestParam String newStatus) {
         try {
-            System.out.println("\n👀 === OBSERVER PATTERN DEMONSTRATION ===");
-            System.out.println("Updating booking " + bookingId + " to status: " + newStatus);
+            log.info("👀 === OBSERVER PATTERN DEMONSTRATION ===");
+            log.info("Updating booking {} to status: {}", bookingId, newStatus);
             
             bookingService.updateBookingStatus(bookingId, newStatus);
             
@@ -126,7 +130,7 @@ public class DesignPatternDemoController {
      */
     @PostMapping("/payment/validate")
     public ResponseEntity<?> validatePaymentDetails(@RequestBody ValidationRequest request) {
-        System.out.println("\n✅ Validating payment details for: " + request.getPaymentMethod());
+        log.info("✅ Validating payment details for: {}", request.getPaymentMethod());
         
         boolean isValid = paymentService.validatePaymentDetails(
             request.getPaymentMethod(), 
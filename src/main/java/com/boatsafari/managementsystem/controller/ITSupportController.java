@@ -1,14 +1,23 @@
 package com.boatsafari.managementsystem.controller;
 
+import com.boatsafari.managementsystem.dto.BookingDetailDTO;
 import com.boatsafari.managementsystem.model.Booking;
 import com.boatsafari.managementsystem.model.Feedback;
 import com.boatsafari.managementsystem.model.User;
 import com.boatsafari.managementsystem.repository.BookingRepository;
+import com.boatsafari.managementsystem.repository.CustomerCount;
+import com.boatsafari.managementsystem.service.AuditLogService;
+import com.boatsafari.managementsystem.service.BookingSearchService;
+import com.boatsafari.managementsystem.service.DashboardStatsService;
 import com.boatsafari.managementsystem.service.FeedbackService;
 import com.boatsafari.managementsystem.repository.UserRepository;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,38 +41,35 @@ public class ITSupportController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BookingSearchService bookingSearchService;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
     // ================= Dashboard Overview Endpoints =================
 
     @GetMapping("/dashboard-stats")
     public ResponseEntity<?> getDashboardStats() {
         try {
+            DashboardStatsService.Snapshot snapshot = dashboardStatsService.snapshot();
             Map<String, Object> stats = new HashMap<>();
             
             // Booking statistics
-            List<Booking> allBookings = bookingRepository.findAll();
-            stats.put("totalBookings", allBookings.size());
-            stats.put("confirmedBookings", allBookings.stream()
-                    .filter(b -> "CONFIRMED".equalsIgnoreCase(b.getStatus()))
-                    .count());
-            stats.put("provisionalBookings", allBookings.stream()
-                    .filter(b -> "PROVISIONAL".equalsIgnoreCase(b.getStatus()))
-                    .count());
+            stats.put("totalBookings", snapshot.totalBookings());
+            stats.put("confirmedBookings", snapshot.bookings("CONFIRMED"));
+            stats.put("provisionalBookings", snapshot.bookings("PROVISIONAL"));
             
             // Feedback statistics
-            List<Feedback> allFeedbacks = feedbackService.getAllFeedbacks();
-            stats.put("totalFeedbacks", allFeedbacks.size());
-            stats.put("pendingFeedbacks", allFeedbacks.stream()
-                    .filter(f -> f.getReply() == null || f.getReply().trim().isEmpty())
-                    .count());
-            stats.put("repliedFeedbacks", allFeedbacks.stream()
-                    .filter(f -> f.getReply() != null && !f.getReply().trim().isEmpty())
-                    .count());
+            stats.put("totalFeedbacks", snapshot.totalFeedbacks());
+            stats.put("pendingFeedbacks", snapshot.totalFeedbacks() - snapshot.repliedFeedbacks());
+            stats.put("repliedFeedbacks", snapshot.repliedFeedbacks());
             
             // Customer statistics
-            List<User> allCustomers = userRepository.findAll().stream()
-                    .filter(u -> "CUSTOMER".equalsIgnoreCase(u.getRole()))
-                    .collect(Collectors.toList());
-            stats.put("totalCustomers", allCustomers.size());
+            stats.put("totalCustomers", snapshot.users("CUSTOMER"));
                     
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
@@ -75,46 +81,61 @@ public class ITSupportController {
     // ================= Booking Management Endpoints =================
 
     @GetMapping("/bookings")
-    public ResponseEntity<List<BookingDetailDTO>> getAllBookings(
+    public ResponseEntity<?> getAllBookings(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String customerEmail,
             @RequestParam(required = false) String customerName,
             @RequestParam(required = false) Long tripId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingSearchService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
         try {
-            List<Booking> bookings = bookingRepository.findAll();
-            
-            // Apply filters
-            List<Booking> filtered = bookings.stream()
-                    .filter(b -> status == null || status.equalsIgnoreCase(b.getStatus()))
-                    .filter(b -> customerEmail == null || 
-                            (b.getCustomer() != null && b.getCustomer().getEmail().toLowerCase()
-                                    .contains(customerEmail.toLowerCase())))
-                    .filter(b -> customerName == null || 
-                            (b.getCustomer() != null && 
-                             (b.getCustomer().getFirstName() + " " + b.getCustomer().getSecondName())
-                                     .toLowerCase().contains(customerName.toLowerCase())))
-                    .filter(b -> tripId == null || 
-                            (b.getTrip() != null && Objects.equals(b.getTrip().getTripId(), tripId)))
-                    .filter(b -> {
-                        if (fromDate == null && toDate == null) return true;
-                        LocalDate bookingDate = b.getTrip() != null ? b.getTrip().getDate() : null;
-                        if (bookingDate == null) return false;
-                        boolean after = fromDate == null || !bookingDate.isBefore(fromDate);
-                        boolean before = toDate == null || !bookingDate.isAfter(toDate);
-                        return after && before;
-                    })
-                    .sorted(Comparator.comparing(Booking::getBookingId).reversed())
-                    .collect(Collectors.toList());
-                    
-            // Convert to detailed DTOs
-            List<BookingDetailDTO> detailedBookings = filtered.stream()
-                    .map(this::toDetailedBookingDTO)
-                    .collect(Collectors.toList());
-                    
-            return ResponseEntity.ok(detailedBookings);
+            BookingSearchService.Filter filter = new BookingSearchService.Filter(
+                    status, customerEmail, customerName, tripId, fromDate, toDate);
+            BookingSearchService.Page page = bookingSearchService.search(filter, sort, cursor, size);
+
+            // Body stays a plain array for the dashboard; paging details travel in headers
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            if (includeTotal) {
+                response.header("X-Total-Count", String.valueOf(bookingSearchService.count(filter)));
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Booking audit trail, newest first; filter by booking, customer email and/or time range [from, to)
+     */
+    @GetMapping("/audit-log")
+    public ResponseEntity<?> getAuditLog(
+            @RequestParam(required = false) Long bookingId,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AuditLogService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        try {
+            AuditLogService.Page page = auditLogService.search(
+                    new AuditLogService.Filter(bookingId, email, from, to), cursor, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -158,29 +179,30 @@ public class ITSupportController {
 
     @GetMapping("/customers")
     public ResponseEntity<List<CustomerDetailDTO>> getAllCustomers(
-            @RequestParam(required = false) String search
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size
     ) {
         try {
-            List<User> customers = userRepository.findAll().stream()
-                    .filter(u -> "CUSTOMER".equalsIgnoreCase(u.getRole()))
-                    .collect(Collectors.toList());
-            
-            if (search != null && !search.trim().isEmpty()) {
-                String searchLower = search.toLowerCase();
-                customers = customers.stream()
-                        .filter(c -> c.getFirstName().toLowerCase().contains(searchLower) ||
-                                   c.getSecondName().toLowerCase().contains(searchLower) ||
-                                   c.getEmail().toLowerCase().contains(searchLower))
-                        .collect(Collectors.toList());
-            }
-                    
+            String term = search != null && !search.trim().isEmpty() ? search.trim() : null;
+            Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 500)),
+                    Sort.by("secondName", "firstName", "userId"));
+            Page<User> customers = userRepository.findCustomers(term, pageable);
+
+            // One grouped count per table for the whole page instead of per customer
+            List<Long> ids = customers.stream().map(User::getUserId).collect(Collectors.toList());
+            Map<Long, Long> bookingCounts = countBookingsByCustomer(ids);
+            Map<Long, Long> feedbackCounts = feedbackService.countFeedbacksByUserIds(ids);
+
             List<CustomerDetailDTO> customerDetails = customers.stream()
-                    .map(this::toCustomerDetailDTO)
-                    .sorted(Comparator.comparing(CustomerDetailDTO::getLastName)
-                            .thenComparing(CustomerDetailDTO::getFirstName))
+                    .map(c -> toCustomerDetailDTO(c,
+                            bookingCounts.getOrDefault(c.getUserId(), 0L),
+                            feedbackCounts.getOrDefault(c.getUserId(), 0L)))
                     .collect(Collectors.toList());
-                    
-            return ResponseEntity.ok(customerDetails);
+
+            return ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(customers.getTotalElements()))
+                    .body(customerDetails);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -191,7 +213,10 @@ public class ITSupportController {
         try {
             Optional<User> customer = userRepository.findById(id);
             if (customer.isPresent() && "CUSTOMER".equalsIgnoreCase(customer.get().getRole())) {
-                CustomerDetailDTO customerDetail = toCustomerDetailDTO(customer.get());
+                List<Long> ids = List.of(id);
+                CustomerDetailDTO customerDetail = toCustomerDetailDTO(customer.get(),
+                        countBookingsByCustomer(ids).getOrDefault(id, 0L),
+                        feedbackService.countFeedbacksByUserIds(ids).getOrDefault(id, 0L));
                 return ResponseEntity.ok(customerDetail);
             } else {
                 return ResponseEntity.notFound().build();
@@ -325,7 +350,7 @@ public class ITSupportController {
         return dto;
     }
 
-    private CustomerDetailDTO toCustomerDetailDTO(User customer) {
+    private CustomerDetailDTO toCustomerDetailDTO(User customer, long bookingCount, long feedbackCount) {
         CustomerDetailDTO dto = new CustomerDetailDTO();
         dto.setCustomerId(customer.getUserId());
         dto.setFirstName(customer.getFirstName() != null ? customer.getFirstName() : "");
@@ -333,25 +358,20 @@ public class ITSupportController {
         dto.setEmail(customer.getEmail() != null ? customer.getEmail() : "");
         dto.setPhone(customer.getContactNo() != null ? customer.getContactNo() : "");
         dto.setRegistrationDate(LocalDateTime.now()); // Registration date not in model, using current time
-        
-        // Count bookings for this customer
-        long bookingCount = bookingRepository.findAll().stream()
-                .filter(b -> b.getCustomer() != null && 
-                           Objects.equals(b.getCustomer().getUserId(), customer.getUserId()))
-                .count();
         dto.setTotalBookings(bookingCount);
-        
-        // Count feedbacks for this customer
-        try {
-            long feedbackCount = feedbackService.getFeedbacksByUserId(customer.getUserId()).size();
-            dto.setTotalFeedbacks(feedbackCount);
-        } catch (Exception e) {
-            dto.setTotalFeedbacks(0L);
-        }
-        
+        dto.setTotalFeedbacks(feedbackCount);
         return dto;
     }
 
+    private Map<Long, Long> countBookingsByCustomer(Collection<Long> customerIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (customerIds.isEmpty()) return counts;
+        for (CustomerCount row : bookingRepository.countByCustomerIds(customerIds)) {
+            counts.put(row.getCustomerId(), row.getTotal());
+        }
+        return counts;
+    }
+
     private FeedbackDetailDTO toFeedbackDetailDTO(Feedback feedback) {
         FeedbackDetailDTO dto = new FeedbackDetailDTO();
         dto.setFeedbackId(feedback.getFeedbackId());
@@ -384,32 +404,6 @@ public class ITSupportController {
 
     // ================= DTO Classes =================
 
-    @Data
-    public static class BookingDetailDTO {
-        private Long bookingId;
-        private String status;
-        private Integer numberOfPassengers;
-        private LocalDateTime bookingDate;
-        
-        // Customer details
-        private Long customerId;
-        private String customerName;
-        private String customerEmail;
-        private String customerPhone;
-        
-        // Trip details
-        private Long tripId;
-        private String tripName;
-        private LocalDate tripDate;
-        private String tripLocation;
-        private Double tripPrice;
-        
-        // Boat and Guide details
-        private String boatName;
-        private Integer boatCapacity;
-        private String guideName;
-    }
-
     @Data
     public static class CustomerDetailDTO {
         private Long customerId;
@@ -1,13 +1,24 @@
 package com.boatsafari.managementsystem.controller;
 
-import com.boatsafari.managementsystem.dto.PaymentHistoryDTO;
+import com.boatsafari.managementsystem.dto.PaymentRevenueBucketDTO;
 import com.boatsafari.managementsystem.dto.PaymentStatsDTO;
 import com.boatsafari.managementsystem.service.PaymentAdminService;
+import com.boatsafari.managementsystem.service.PaymentHistorySearchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/payments")
@@ -17,10 +28,16 @@ public class PaymentAdminController {
     @Autowired
     private PaymentAdminService paymentAdminService;
 
+    @Autowired
+    private PaymentHistorySearchService paymentHistorySearchService;
+
+    // Newest payments first, one page at a time; pass X-Next-Cursor back as ?cursor= for the next page
     @GetMapping("/history")
-    public ResponseEntity<List<PaymentHistoryDTO>> getPaymentHistory() {
-        List<PaymentHistoryDTO> paymentHistory = paymentAdminService.getPaymentHistory();
-        return ResponseEntity.ok(paymentHistory);
+    public ResponseEntity<?> getPaymentHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PaymentHistorySearchService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return searchPayments(null, null, null, null, null, null, cursor, size, includeTotal);
     }
 
     @GetMapping("/stats")
@@ -29,13 +46,74 @@ public class PaymentAdminController {
         return ResponseEntity.ok(stats);
     }
 
+    // Daily or monthly revenue buckets for finance charts, e.g. ?granularity=monthly&from=2025-01-01
+    @GetMapping("/revenue-series")
+    public ResponseEntity<?> getRevenueSeries(
+            @RequestParam(required = false) String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<PaymentRevenueBucketDTO> series = paymentAdminService.getRevenueSeries(granularity, from, to);
+            return ResponseEntity.ok(series);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Filtered payment history. Name and email are prefix matches, ignoring case.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<PaymentHistoryDTO>> searchPayments(
+    public ResponseEntity<?> searchPayments(
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PaymentHistorySearchService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            PaymentHistorySearchService.Filter filter = new PaymentHistorySearchService.Filter(
+                    customerName, email, status, paymentMethod, dateFrom, dateTo);
+            PaymentHistorySearchService.Page page = paymentHistorySearchService.search(filter, cursor, size);
+
+            // Body stays a plain array for the dashboard; paging details travel in headers
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            if (includeTotal) {
+                response.header("X-Total-Count", String.valueOf(paymentHistorySearchService.count(filter)));
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * CSV of every payment matching the same filters as /search, streamed as rows are read
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
             @RequestParam(required = false) String customerName,
             @RequestParam(required = false) String email,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String paymentMethod) {
-        List<PaymentHistoryDTO> results = paymentAdminService.searchPayments(customerName, email, status, paymentMethod);
-        return ResponseEntity.ok(results);
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
+        PaymentHistorySearchService.Filter filter = new PaymentHistorySearchService.Filter(
+                customerName, email, status, paymentMethod, dateFrom, dateTo);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            paymentHistorySearchService.exportCsv(filter, writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payment-history-" + LocalDate.now() + ".csv\"")
+                .body(body);
     }
-}
\ No newline at end of file
+}
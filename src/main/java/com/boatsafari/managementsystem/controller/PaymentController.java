@@ -1,11 +1,14 @@
 package com.boatsafari.managementsystem.controller;
 
 import com.boatsafari.managementsystem.dto.PaymentRequest;
+import com.boatsafari.managementsystem.service.IdempotencyService;
 import com.boatsafari.managementsystem.service.PaymentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.Map;
 
 @RestController
@@ -16,9 +19,22 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    // A retry with the same Idempotency-Key replays the first response instead of paying again.
+    // 409 when the booking's seats are gone; no payment is recorded then
     @PostMapping
-    public ResponseEntity<Map<String, Object>> process(@RequestBody PaymentRequest request) {
-        Map<String, Object> result = paymentService.processPayment(request);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> process(@RequestBody PaymentRequest request,
+                                     @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                     Principal principal) {
+        return idempotencyService.execute("POST /api/payments", principal != null ? principal.getName() : null,
+                idempotencyKey, request, () -> {
+                    try {
+                        return ResponseEntity.ok(paymentService.processPayment(request));
+                    } catch (IllegalStateException e) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+                    }
+                });
     }
 }
\ No newline at end of file
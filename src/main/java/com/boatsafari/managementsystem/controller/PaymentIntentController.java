@@ -0,0 +1,68 @@
+package com.boatsafari.managementsystem.controller;
+
+import com.boatsafari.managementsystem.dto.PaymentIntentRequest;
+import com.boatsafari.managementsystem.service.PaymentIntentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchronous payments: POST returns 202 with an intent id straight away; the result is read
+ * by polling GET /{intentId} or from the single "result" event on GET /{intentId}/events.
+ */
+@RestController
+@RequestMapping("/api/payments/intents")
+public class PaymentIntentController {
+
+    @Autowired
+    private PaymentIntentService paymentIntentService;
+
+    @PostMapping
+    public ResponseEntity<?> createIntent(@RequestBody PaymentIntentRequest request, Principal principal) {
+        try {
+            PaymentIntentService.IntentStatus intent = paymentIntentService.submit(owner(principal),
+                    request.getPaymentMethod(), request.getAmount(),
+                    request.getCustomerEmail(), request.getPaymentDetails());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/payments/intents/" + intent.intentId()))
+                    .body(intent);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{intentId}")
+    public ResponseEntity<PaymentIntentService.IntentStatus> getIntent(@PathVariable String intentId, Principal principal) {
+        return paymentIntentService.find(owner(principal), intentId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{intentId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamIntent(@PathVariable String intentId, Principal principal) {
+        SseEmitter emitter = paymentIntentService.subscribe(owner(principal), intentId);
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private static String owner(Principal principal) {
+        return principal != null ? principal.getName() : null;
+    }
+}
@@ -7,12 +7,18 @@ import com.boatsafari.managementsystem.repository.UserRepository;
 import com.boatsafari.managementsystem.service.UserService;
 import com.boatsafari.managementsystem.service.TripService;
 import com.boatsafari.managementsystem.service.BoatService;
+import com.boatsafari.managementsystem.service.DashboardStatsService;
+import com.boatsafari.managementsystem.service.StaffEventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -25,6 +31,8 @@ import java.util.stream.Collectors;
 @PreAuthorize("hasAnyRole('ADMIN', 'STAFFMEMBER', 'SAFARIGUIDE', 'ITSUPPORT', 'ITASSISTANT')")
 public class StaffController {
 
+    private static final Logger log = LoggerFactory.getLogger(StaffController.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -40,6 +48,12 @@ public class StaffController {
     @Autowired
     private BoatService boatService;
 
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private StaffEventBus staffEventBus;
+
     // === DASHBOARD ENDPOINTS ===
 
     /**
@@ -48,29 +62,24 @@ public class StaffController {
     @GetMapping("/dashboard/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
         try {
+            DashboardStatsService.Snapshot snapshot = dashboardStatsService.snapshot();
             Map<String, Object> stats = new HashMap<>();
             
             // Get trip statistics
-            List<Trip> allTrips = tripService.getAllTrips();
-            stats.put("totalTrips", allTrips.size());
+            stats.put("totalTrips", snapshot.totalTrips());
             
             // Get boat statistics  
-            List<Boat> allBoats = boatService.getAllBoats();
-            long availableBoats = allBoats.stream()
-                .filter(boat -> "AVAILABLE".equals(boat.getStatus()))
-                .count();
-            stats.put("availableBoats", availableBoats);
-            stats.put("totalBoats", allBoats.size());
+            stats.put("availableBoats", snapshot.boats("AVAILABLE"));
+            stats.put("totalBoats", snapshot.totalBoats());
             
             // Get guide statistics
-            List<SafariGuide> allGuides = userService.getAllGuides();
             // For now, assume all guides are available since we don't have status field yet
-            stats.put("availableGuides", allGuides.size());
-            stats.put("totalGuides", allGuides.size());
+            long guides = snapshot.users("SAFARI_GUIDE");
+            stats.put("availableGuides", guides);
+            stats.put("totalGuides", guides);
             
             // Calculate capacity utilization
-            int capacityUtilization = calculateCapacityUtilization(allTrips, allBoats);
-            stats.put("capacityUtilization", capacityUtilization);
+            stats.put("capacityUtilization", calculateCapacityUtilization(snapshot));
             
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
@@ -85,33 +94,33 @@ public class StaffController {
     @PostMapping("/assign-resources")
     public ResponseEntity<Map<String, String>> assignResources(@RequestBody AssignResourcesDto assignmentDto) {
         try {
-            System.out.println("Received assignment request: " + assignmentDto);
+            log.debug("Received assignment request: {}", assignmentDto);
             
             // Validate trip exists
             Trip trip = tripService.getTripByIdDirect(assignmentDto.getTripId());
             if (trip == null) {
-                System.out.println("Trip not found with ID: " + assignmentDto.getTripId());
+                log.debug("Trip not found with ID: {}", assignmentDto.getTripId());
                 return ResponseEntity.badRequest()
                     .body(Map.of("error", "Trip not found"));
             }
 
-            System.out.println("Found trip: " + trip.getName());
+            log.debug("Found trip: {}", trip.getName());
 
             // Handle boat assignment/reassignment/clearing
             if (assignmentDto.getBoatId() != null) {
-                System.out.println("Assigning boat with ID: " + assignmentDto.getBoatId());
+                log.debug("Assigning boat with ID: {}", assignmentDto.getBoatId());
                 Boat newBoat = boatService.getBoatByIdDirect(assignmentDto.getBoatId());
                 if (newBoat == null) {
-                    System.out.println("Boat not found with ID: " + assignmentDto.getBoatId());
+                    log.debug("Boat not found with ID: {}", assignmentDto.getBoatId());
                     return ResponseEntity.badRequest()
                         .body(Map.of("error", "Boat not found"));
                 }
                 
-                System.out.println("Found boat: " + newBoat.getBoatName() + " with status: " + newBoat.getStatus());
+                log.debug("Found boat: {} with status: {}", newBoat.getBoatName(), newBoat.getStatus());
                 
                 // Check if this boat is already assigned to this trip
                 if (trip.getBoat() != null && trip.getBoat().getBoatId().equals(assignmentDto.getBoatId())) {
-                    System.out.println("Boat is already assigned to this trip, no change needed");
+                    log.debug("Boat is already assigned to this trip, no change needed");
                 } else {
                     // Check if the new boat is available or if we're reassigning from another trip
                     boolean canAssignBoat = "AVAILABLE".equals(newBoat.getStatus()) || 
@@ -132,7 +141,7 @@ public class StaffController {
                                 !otherTrip.getTripId().equals(trip.getTripId())) {
                                 otherTrip.setBoat(null);
                                 tripService.updateTrip(otherTrip);
-                                System.out.println("Removed boat from trip: " + otherTrip.getName());
+                                log.debug("Removed boat from trip: {}", otherTrip.getName());
                                 break;
                             }
                         }
@@ -143,14 +152,14 @@ public class StaffController {
                         Boat oldBoat = trip.getBoat();
                         oldBoat.setStatus("AVAILABLE");
                         boatService.updateBoat(oldBoat);
-                        System.out.println("Previous boat freed: " + oldBoat.getBoatName());
+                        log.debug("Previous boat freed: {}", oldBoat.getBoatName());
                     }
                     
                     // Assign the new boat
                     trip.setBoat(newBoat);
                     newBoat.setStatus("ASSIGNED");
                     boatService.updateBoat(newBoat);
-                    System.out.println("Boat assigned successfully: " + newBoat.getBoatName());
+                    log.debug("Boat assigned successfully: {}", newBoat.getBoatName());
                 }
             } else {
                 // Handle clearing boat assignment (when boatId is null or empty)
@@ -159,25 +168,25 @@ public class StaffController {
                     oldBoat.setStatus("AVAILABLE");
                     boatService.updateBoat(oldBoat);
                     trip.setBoat(null);
-                    System.out.println("Boat assignment cleared. Boat " + oldBoat.getBoatName() + " is now available.");
+                    log.debug("Boat assignment cleared. Boat {} is now available.", oldBoat.getBoatName());
                 }
             }
 
             // Handle guide assignment/reassignment/clearing
             if (assignmentDto.getGuideId() != null) {
-                System.out.println("Assigning guide with ID: " + assignmentDto.getGuideId());
+                log.debug("Assigning guide with ID: {}", assignmentDto.getGuideId());
                 SafariGuide newGuide = userService.getGuideById(assignmentDto.getGuideId());
                 if (newGuide == null) {
-                    System.out.println("Guide not found with ID: " + assignmentDto.getGuideId());
+                    log.debug("Guide not found with ID: {}", assignmentDto.getGuideId());
                     return ResponseEntity.badRequest()
                         .body(Map.of("error", "Guide not found"));
                 }
                 
-                System.out.println("Found guide: " + newGuide.getFirstName() + " " + newGuide.getSecondName());
+                log.debug("Found guide: {} {}", newGuide.getFirstName(), newGuide.getSecondName());
                 
                 // Check if this guide is already assigned to this trip
                 if (trip.getGuide() != null && trip.getGuide().getUserId().equals(assignmentDto.getGuideId())) {
-                    System.out.println("Guide is already assigned to this trip, no change needed");
+                    log.debug("Guide is already assigned to this trip, no change needed");
                 } else {
                     // If this guide is assigned to another trip, free them from that trip
                     List<Trip> allTrips = tripService.getAllTrips();
@@ -190,7 +199,7 @@ public class StaffController {
                             previousGuide.setStatus("AVAILABLE");
                             userService.updateUser(previousGuide);
                             tripService.updateTrip(otherTrip);
-                            System.out.println("Removed guide from trip: " + otherTrip.getName());
+                            log.debug("Removed guide from trip: {}", otherTrip.getName());
                             break;
                         }
                     }
@@ -199,7 +208,7 @@ public class StaffController {
                     trip.setGuide(newGuide);
                     newGuide.setStatus("ASSIGNED");
                     userService.updateUser(newGuide);
-                    System.out.println("Guide assigned successfully: " + newGuide.getFirstName() + " " + newGuide.getSecondName());
+                    log.debug("Guide assigned successfully: {} {}", newGuide.getFirstName(), newGuide.getSecondName());
                 }
             } else {
                 // Handle clearing guide assignment (when guideId is null or empty)
@@ -208,18 +217,22 @@ public class StaffController {
                     trip.setGuide(null);
                     oldGuide.setStatus("AVAILABLE");
                     userService.updateUser(oldGuide);
-                    System.out.println("Guide assignment cleared. Guide " + oldGuide.getFirstName() + " " + oldGuide.getSecondName() + " is now available.");
+                    log.debug("Guide assignment cleared. Guide {} {} is now available.", oldGuide.getFirstName(), oldGuide.getSecondName());
                 }
             }
 
             // Update trip
             tripService.updateTrip(trip);
-            System.out.println("Trip updated successfully");
+            log.debug("Trip updated successfully");
+
+            staffEventBus.publish("assignment", "info", "Trip \"" + trip.getName() + "\" now has boat "
+                    + (trip.getBoat() != null ? "\"" + trip.getBoat().getBoatName() + "\"" : "none")
+                    + " and guide " + (trip.getGuide() != null
+                        ? trip.getGuide().getFirstName() + " " + trip.getGuide().getSecondName() : "none"));
 
             return ResponseEntity.ok(Map.of("message", "Resources assigned successfully"));
         } catch (Exception e) {
-            System.err.println("Error in assignResources: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in assignResources: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to assign resources: " + e.getMessage()));
         }
@@ -254,36 +267,50 @@ public class StaffController {
     }
 
     /**
-     * Get real-time updates for the dashboard
+     * Recent live-feed events, newest first (initial load for the dashboard feed)
      */
     @GetMapping("/real-time-updates")
-    public ResponseEntity<List<Map<String, Object>>> getRealTimeUpdates() {
+    public ResponseEntity<List<StaffEventBus.Event>> getRealTimeUpdates(
+            @RequestParam(defaultValue = "20") int limit) {
         try {
-            // For now, return mock data - in a real application, this would fetch actual updates
-            List<Map<String, Object>> updates = List.of(
-                Map.of(
-                    "time", java.time.LocalTime.now().toString(),
-                    "message", "New trip booking received",
-                    "type", "info"
-                ),
-                Map.of(
-                    "time", java.time.LocalTime.now().minusMinutes(5).toString(),
-                    "message", "Boat maintenance completed",
-                    "type", "success"
-                ),
-                Map.of(
-                    "time", java.time.LocalTime.now().minusMinutes(10).toString(),
-                    "message", "Guide assignment updated",
-                    "type", "info"
-                )
-            );
-            
-            return ResponseEntity.ok(updates);
+            return ResponseEntity.ok(staffEventBus.recent(Math.max(1, Math.min(limit, 100))));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Live feed as Server-Sent Events. Reconnecting clients send Last-Event-ID to resume.
+     */
+    @GetMapping(value = "/real-time-updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRealTimeUpdates(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeFrom = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        SseEmitter emitter = staffEventBus.subscribe(resumeFrom);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "30").build();
+        }
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    /**
+     * Live feed subscriber counts and drop statistics
+     */
+    @GetMapping("/real-time-updates/stats")
+    public ResponseEntity<Map<String, Object>> getRealTimeUpdateStats() {
+        return ResponseEntity.ok(staffEventBus.getStats());
+    }
+
     /**
      * Remove assignment (unassign boat and guide from trip)
      */
@@ -315,6 +342,8 @@ public class StaffController {
             // Update trip
             tripService.updateTrip(trip);
 
+            staffEventBus.publish("assignment", "warning", "Boat and guide unassigned from trip \"" + trip.getName() + "\"");
+
             return ResponseEntity.ok(Map.of("message", "Assignment removed successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -431,7 +460,7 @@ public class StaffController {
                             trip.setBoat(boat);
                             boat.setStatus("ASSIGNED");
                             boatService.updateBoat(boat);
-                            System.out.println("Boat assigned to trip: " + boat.getBoatName());
+                            log.debug("Boat assigned to trip: {}", boat.getBoatName());
                         }
                     }
                 } else {
@@ -441,7 +470,7 @@ public class StaffController {
                         oldBoat.setStatus("AVAILABLE");
                         boatService.updateBoat(oldBoat);
                         trip.setBoat(null);
-                        System.out.println("Boat assignment removed from trip");
+                        log.debug("Boat assignment removed from trip");
                     }
                 }
             }
@@ -470,7 +499,7 @@ public class StaffController {
                             trip.setGuide(guide);
                             guide.setStatus("ASSIGNED");
                             userService.updateUser(guide);
-                            System.out.println("Guide assigned to trip: " + guide.getFirstName() + " " + guide.getSecondName());
+                            log.debug("Guide assigned to trip: {} {}", guide.getFirstName(), guide.getSecondName());
                         }
                     }
                 } else {
@@ -480,10 +509,10 @@ public class StaffController {
                         trip.setGuide(null);
                         oldGuide.setStatus("AVAILABLE");
                         userService.updateUser(oldGuide);
-                        System.out.println("Guide assignment removed from trip");
+                        log.debug("Guide assignment removed from trip");
                     } else {
                         trip.setGuide(null);
-                        System.out.println("Guide assignment removed from trip");
+                        log.debug("Guide assignment removed from trip");
                     }
                 }
             }
@@ -499,14 +528,12 @@ public class StaffController {
     /**
      * Calculate overall capacity utilization
      */
-    private int calculateCapacityUtilization(List<Trip> trips, List<Boat> boats) {
-        if (boats.isEmpty()) return 0;
+    private int calculateCapacityUtilization(DashboardStatsService.Snapshot snapshot) {
+        if (snapshot.totalBoats() == 0) return 0;
         
-        long assignedBoats = boats.stream()
-            .filter(boat -> "ASSIGNED".equals(boat.getStatus()))
-            .count();
+        long assignedBoats = snapshot.boats("ASSIGNED");
             
-        return (int) Math.round((double) assignedBoats / boats.size() * 100);
+        return (int) Math.round((double) assignedBoats / snapshot.totalBoats() * 100);
     }
 
     // === STAFF MEMBER MANAGEMENT ENDPOINTS ===
@@ -517,7 +544,7 @@ public class StaffController {
     @PutMapping("/assign-role")
     public ResponseEntity<?> assignRole(@RequestBody RoleAssignmentDto roleAssignment) {
         try {
-            System.out.println("Received role assignment request: " + roleAssignment.getUserId() + " -> " + roleAssignment.getRole());
+            log.debug("Received role assignment request: {} -> {}", roleAssignment.getUserId(), roleAssignment.getRole());
             User updatedUser = userService.assignRole(roleAssignment.getUserId(), roleAssignment.getRole());
 
             Map<String, Object> response = new HashMap<>();
@@ -526,7 +553,7 @@ public class StaffController {
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error assigning role: {}", e.getMessage(), e);
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to update role: " + e.getMessage());
             return ResponseEntity.badRequest().body(error);
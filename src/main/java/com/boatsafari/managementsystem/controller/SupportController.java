@@ -7,6 +7,7 @@ import com.boatsafari.managementsystem.model.User;
 import com.boatsafari.managementsystem.repository.BookingRepository;
 import com.boatsafari.managementsystem.repository.SupportTicketRepository;
 import com.boatsafari.managementsystem.repository.UserRepository;
+import com.boatsafari.managementsystem.service.DashboardStatsService;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -32,6 +33,9 @@ public class SupportController {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
     // Public: customers can send support messages
     @PostMapping("/contact")
     public ResponseEntity<Map<String, Object>> contact(@RequestBody ContactRequest req) {
@@ -158,39 +162,21 @@ public class SupportController {
     // IT Support: Get ticket statistics
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getTicketStats() {
-        List<SupportTicket> all = supportTicketRepository.findAll();
-        
-        Map<String, Long> statusCounts = all.stream()
-                .collect(Collectors.groupingBy(
-                    t -> opt(t.getStatus()),
-                    Collectors.counting()
-                ));
-                
-        Map<String, Long> priorityCounts = all.stream()
-                .collect(Collectors.groupingBy(
-                    t -> opt(t.getPriority()),
-                    Collectors.counting()
-                ));
-                
-        Map<String, Long> categoryCounts = all.stream()
-                .collect(Collectors.groupingBy(
-                    t -> opt(t.getCategory()),
-                    Collectors.counting()
-                ));
+        DashboardStatsService.Snapshot snapshot = dashboardStatsService.snapshot();
         
-        long totalTickets = all.size();
-        long newTickets = statusCounts.getOrDefault("NEW", 0L);
-        long openTickets = statusCounts.getOrDefault("OPEN", 0L) + statusCounts.getOrDefault("IN_PROGRESS", 0L);
-        long resolvedTickets = statusCounts.getOrDefault("RESOLVED", 0L) + statusCounts.getOrDefault("CLOSED", 0L);
+        long totalTickets = snapshot.totalTickets();
+        long newTickets = snapshot.tickets("NEW");
+        long openTickets = snapshot.tickets("OPEN") + snapshot.tickets("IN_PROGRESS");
+        long resolvedTickets = snapshot.tickets("RESOLVED") + snapshot.tickets("CLOSED");
         
         return ResponseEntity.ok(Map.of(
                 "totalTickets", totalTickets,
                 "newTickets", newTickets,
                 "openTickets", openTickets,
                 "resolvedTickets", resolvedTickets,
-                "statusBreakdown", statusCounts,
-                "priorityBreakdown", priorityCounts,
-                "categoryBreakdown", categoryCounts
+                "statusBreakdown", snapshot.ticketsByStatus(),
+                "priorityBreakdown", snapshot.ticketsByPriority(),
+                "categoryBreakdown", snapshot.ticketsByCategory()
         ));
     }
 
@@ -1,12 +1,22 @@
 package com.boatsafari.managementsystem.controller;
 
 import com.boatsafari.managementsystem.model.Trip;
+import com.boatsafari.managementsystem.service.TripCatalogService;
 import com.boatsafari.managementsystem.service.TripService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -16,11 +26,65 @@ public class TripController {
     @Autowired
     private TripService tripService;
 
+    @Autowired
+    private TripCatalogService tripCatalogService;
+
+    @Value("${app.trips.catalog-max-age-seconds:30}")
+    private long catalogMaxAgeSeconds;
+
     @GetMapping
     public List<Trip> getAllTrips() {
         return tripService.getAllTrips();
     }
 
+    /**
+     * Public trip catalog (trips.html). Served from a pre-rendered snapshot with a strong ETag;
+     * a matching If-None-Match gets 304 Not Modified with no body.
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<byte[]> getTripCatalog(WebRequest request) {
+        TripCatalogService.Snapshot snapshot = tripCatalogService.getSnapshot();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(catalogMaxAgeSeconds)).cachePublic();
+        if (request.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.etag())
+                .cacheControl(cacheControl)
+                .body(snapshot.body());
+    }
+
+    /**
+     * Bookable trips by date range, location, route, price band and minimum free seats.
+     * The body is a plain array; X-Next-Cursor carries the cursor for the next page.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchAvailableTrips(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String route,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer minSeats,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TripService.DEFAULT_SEARCH_PAGE_SIZE) int size
+    ) {
+        try {
+            TripService.AvailabilityPage page = tripService.searchAvailableTrips(
+                    new TripService.AvailabilityFilter(fromDate, toDate, location, route, minPrice, maxPrice, minSeats),
+                    cursor, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Trip> getTripById(@PathVariable Long id) {
         Optional<Trip> trip = tripService.getTripById(id);
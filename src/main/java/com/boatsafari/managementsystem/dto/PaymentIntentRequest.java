@@ -0,0 +1,13 @@
+package com.boatsafari.managementsystem.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PaymentIntentRequest {
+    private String paymentMethod;     // CREDIT_CARD, PAYPAL or BANK_TRANSFER
+    private BigDecimal amount;
+    private String customerEmail;
+    private String paymentDetails;    // card number, PayPal email or bank account number
+}
@@ -0,0 +1,13 @@
+package com.boatsafari.managementsystem.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class PaymentRevenueBucketDTO {
+    private LocalDate period; // first day of the bucket
+    private long payments;
+    private long completedPayments;
+    private double revenue;
+}
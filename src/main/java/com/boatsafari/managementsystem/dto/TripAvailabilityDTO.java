@@ -0,0 +1,24 @@
+package com.boatsafari.managementsystem.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Trip search result with the number of seats still free (capacity minus held and booked seats)
+ */
+@Data
+public class TripAvailabilityDTO {
+    private Long tripId;
+    private String name;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String location;
+    private String route;
+    private double price;
+    private int capacity;
+    private int remainingSeats;
+    private String boatName;
+}
@@ -0,0 +1,28 @@
+package com.boatsafari.managementsystem.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Public view of a trip for the anonymous trip catalog (no guide or internal fields)
+ */
+@Data
+public class TripCatalogItemDTO {
+    private Long tripId;
+    private String name;
+    private String description;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private int duration;
+    private int capacity;
+    private double price;
+    private String location;
+    private String route;
+    private String imageUrl;
+    private String status;
+    private String boatName;
+    private String boatType;
+}
@@ -0,0 +1,42 @@
+package com.boatsafari.managementsystem.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A season of recurring departures: every template is expanded over [startDate, endDate]
+ */
+@Data
+public class TripScheduleRequest {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    // Validate and count without inserting anything
+    private boolean dryRun;
+    private List<Template> templates = new ArrayList<>();
+
+    @Data
+    public static class Template {
+        private String name;
+        private String description;
+        private String location;
+        private String route;
+        private String imageUrl;
+        // Subset of RFC 5545 RRULE: FREQ=DAILY|WEEKLY, INTERVAL=n, BYDAY=MO,TU,..., COUNT=n or UNTIL=yyyyMMdd
+        // (e.g. "FREQ=WEEKLY;BYDAY=SA,SU")
+        private String recurrence = "FREQ=DAILY";
+        private List<LocalTime> departureTimes = new ArrayList<>();
+        // Hours, like Trip.duration
+        private int durationHours;
+        // Defaults to the boat's capacity when not set
+        private Integer capacity;
+        private double price;
+        private Long boatId;
+        private Long guideId;
+        // Dates to skip, e.g. public holidays
+        private List<LocalDate> excludeDates = new ArrayList<>();
+    }
+}
@@ -0,0 +1,49 @@
+package com.boatsafari.managementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking audit trail row, written in batches by {@code AuditLogWriter}.
+ * customer_email is stored lower-cased so lookups can use the index.
+ */
+@Entity
+@Data
+@Table(name = "audit_log", indexes = {
+        @Index(name = "ix_audit_log_booking", columnList = "booking_id, id"),
+        @Index(name = "ix_audit_log_email", columnList = "customer_email, id"),
+        @Index(name = "ix_audit_log_time", columnList = "event_time")
+})
+public class AuditLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "event_time", nullable = false)
+    private LocalDateTime eventTime;
+
+    @Column(name = "event_type", nullable = false, length = 30)
+    private String eventType;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "trip_id")
+    private Long tripId;
+
+    @Column(name = "customer_email")
+    private String customerEmail;
+
+    @Column(name = "old_status", length = 50)
+    private String oldStatus;
+
+    @Column(name = "new_status", length = 50)
+    private String newStatus;
+
+    @Column(name = "details", length = 1000)
+    private String details;
+}
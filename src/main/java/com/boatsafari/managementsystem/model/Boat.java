@@ -2,13 +2,23 @@ package com.boatsafari.managementsystem.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Data
-@Table(name = "boat") // Changed from "Boats" to "boat" for consistency
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "boat")
+@Table(name = "boat", // Changed from "Boats" to "boat" for consistency
+       indexes = {
+               @Index(name = "ix_boat_status", columnList = "status"),
+               @Index(name = "ix_boat_type", columnList = "type"),
+               @Index(name = "ix_boat_capacity", columnList = "capacity")
+       })
 public class Boat {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boat_seq")
+    @SequenceGenerator(name = "boat_seq", sequenceName = "boat_seq", allocationSize = 50)
     @Column(name = "boat_id")
     private Long boatId;
 
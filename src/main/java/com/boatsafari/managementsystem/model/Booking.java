@@ -1,6 +1,7 @@
 // src/main/java/com/boatsafari/managementsystem/model/Booking.java
 package com.boatsafari.managementsystem.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -8,10 +9,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "bookings")
+@Table(name = "bookings",
+       indexes = @Index(name = "ix_bookings_trip_status", columnList = "trip_id, status"))
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column(name = "booking_id")
     private Long bookingId;
 
@@ -24,6 +27,15 @@ public class Booking {
     @Column(name = "email")
     private String email;
 
+    // Lower-cased search columns, computed by the database (db/add_payment_history_search.sql)
+    @JsonIgnore
+    @Column(name = "name_lc", insertable = false, updatable = false)
+    private String nameLc;
+
+    @JsonIgnore
+    @Column(name = "email_lc", insertable = false, updatable = false)
+    private String emailLc;
+
     @Column(name = "passengers", nullable = false)
     private int passengers;
 
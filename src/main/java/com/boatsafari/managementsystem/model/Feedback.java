@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Table(name = "Feedbacks")
 public class Feedback {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbacks_seq")
+    @SequenceGenerator(name = "feedbacks_seq", sequenceName = "feedbacks_seq", allocationSize = 50)
     @Column(name = "feedback_id")
     private Long feedbackId;
 
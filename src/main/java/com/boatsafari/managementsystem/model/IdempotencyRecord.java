@@ -0,0 +1,58 @@
+package com.boatsafari.managementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Nationalized;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a POST sent with an Idempotency-Key header, replayed to retries of the same request.
+ * key_hash is the SHA-256 of endpoint, caller and key; request_hash the SHA-256 of the request body.
+ * status: IN_PROGRESS while the first request runs (claimed by claim_token until locked_until), then COMPLETED.
+ */
+@Entity
+@Data
+@Table(name = "idempotency_keys",
+       indexes = @Index(name = "ix_idempotency_keys_expires", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    @Column(name = "scope", nullable = false, length = 50)
+    private String scope;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status", nullable = false, length = 12)
+    private String status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    // nvarchar(max) on SQL Server: replayed bodies carry customer names and notes
+    @Nationalized
+    @Column(name = "response_body", length = 1_000_000)
+    private String responseBody;
+
+    @Column(name = "response_location", length = 500)
+    private String responseLocation;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Table(name = "PassengerCheckIns")
 public class PassengerCheckIn {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passenger_check_ins_seq")
+    @SequenceGenerator(name = "passenger_check_ins_seq", sequenceName = "passenger_check_ins_seq", allocationSize = 50)
     @Column(name = "check_in_id")
     private Long checkInId;
 
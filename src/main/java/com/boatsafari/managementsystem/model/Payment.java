@@ -7,10 +7,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "Payments")
+@Table(name = "Payments",
+       indexes = @Index(name = "ix_payments_date_status", columnList = "payment_date, status"))
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     @Column(name = "payment_id")
     private Long paymentId;
 
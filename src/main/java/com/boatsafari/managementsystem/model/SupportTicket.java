@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 @Table(name = "SupportTickets")
 public class SupportTicket {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "support_tickets_seq")
+    @SequenceGenerator(name = "support_tickets_seq", sequenceName = "support_tickets_seq", allocationSize = 50)
     private Long ticketId;
 
     private String name;
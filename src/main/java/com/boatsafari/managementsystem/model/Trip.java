@@ -2,16 +2,22 @@ package com.boatsafari.managementsystem.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
 @Data
-@Table(name = "trips")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "trip")
+@Table(name = "trips",
+       indexes = @Index(name = "ix_trips_date_status", columnList = "date, status"))
 public class Trip {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trips_seq")
+    @SequenceGenerator(name = "trips_seq", sequenceName = "trips_seq", allocationSize = 50)
     @Column(name = "trip_id")
     private Long tripId;
 
@@ -51,6 +57,14 @@ public class Trip {
     @Column(name = "status")
     private String status = "ACTIVE"; // Default status
 
+    // Seat inventory counters - only ever changed by the atomic updates in TripRepository,
+    // so entity saves can never overwrite a concurrent hold with a stale value
+    @Column(name = "booked_seats", insertable = false, updatable = false, columnDefinition = "int default 0 not null")
+    private int bookedSeats;
+
+    @Column(name = "held_seats", insertable = false, updatable = false, columnDefinition = "int default 0 not null")
+    private int heldSeats;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "boat_id")
     private Boat boat;
@@ -1,18 +1,25 @@
 // src/main/java/com/boatsafari/managementsystem/model/User.java
 package com.boatsafari.managementsystem.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user") // covers every role subclass
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "role", discriminatorType = DiscriminatorType.STRING)
 @Table(name = "users")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long userId;
 
@@ -22,6 +29,8 @@ public class User {
     @Column(name = "second_name")
     private String secondName;
 
+    // Accepted on input (registration) but never serialized, e.g. inside a booking response
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(name = "password")
     private String password;
 
@@ -56,6 +65,15 @@ public class User {
     @Column(name = "role", insertable = false, updatable = false)
     private String roleType;
 
+    // Lower-cased search columns, computed by the database (db/add_payment_history_search.sql)
+    @JsonIgnore
+    @Column(name = "email_lc", insertable = false, updatable = false)
+    private String emailLc;
+
+    @JsonIgnore
+    @Column(name = "first_name_lc", insertable = false, updatable = false)
+    private String firstNameLc;
+
     /**
      * Returns the role of the user
      *
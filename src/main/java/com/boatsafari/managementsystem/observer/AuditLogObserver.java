@@ -1,6 +1,10 @@
 package com.boatsafari.managementsystem.observer;
 
+import com.boatsafari.managementsystem.model.AuditLogEntry;
 import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.service.AuditLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -11,69 +15,77 @@ import java.time.format.DateTimeFormatter;
  */
 @Component
 public class AuditLogObserver implements BookingObserver {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogObserver.class);
     
     private static final DateTimeFormatter TIMESTAMP_FORMAT = 
         DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final AuditLogWriter auditLogWriter;
+
+    public AuditLogObserver(AuditLogWriter auditLogWriter) {
+        this.auditLogWriter = auditLogWriter;
+    }
     
     @Override
     public void onBookingStatusChanged(Booking booking, String oldStatus, String newStatus) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        
-        System.out.println("=== AUDIT LOG OBSERVER ===");
-        System.out.println("Logging booking status change:");
+        AuditLogEntry entry = newEntry("BOOKING_STATUS_CHANGED", booking);
+        entry.setOldStatus(oldStatus);
+        entry.setNewStatus(newStatus);
         
         String logEntry = String.format(
             "[%s] BOOKING_STATUS_CHANGED: BookingID=%d, CustomerEmail=%s, " +
             "OldStatus=%s, NewStatus=%s, TripID=%s",
-            timestamp,
+            entry.getEventTime().format(TIMESTAMP_FORMAT),
             booking.getBookingId(),
             booking.getEmail(),
             oldStatus,
             newStatus,
-            booking.getTrip() != null ? booking.getTrip().getTripId() : "N/A"
+            entry.getTripId() != null ? entry.getTripId() : "N/A"
         );
         
-        // In real implementation, write to database audit table or log file
-        writeAuditLog(logEntry);
-        System.out.println("Audit log entry created!\n");
+        writeAuditLog(entry, logEntry);
     }
     
     @Override
     public void onBookingCreated(Booking booking) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        
-        System.out.println("=== AUDIT LOG OBSERVER ===");
-        System.out.println("Logging new booking creation:");
+        AuditLogEntry entry = newEntry("BOOKING_CREATED", booking);
+        entry.setNewStatus(booking.getStatus());
+        entry.setDetails(String.format("CustomerName=%s, Passengers=%d", booking.getName(), booking.getPassengers()));
         
         String logEntry = String.format(
             "[%s] BOOKING_CREATED: BookingID=%d, CustomerName=%s, CustomerEmail=%s, " +
             "Passengers=%d, Status=%s, TripID=%s",
-            timestamp,
+            entry.getEventTime().format(TIMESTAMP_FORMAT),
             booking.getBookingId(),
             booking.getName(),
             booking.getEmail(),
             booking.getPassengers(),
             booking.getStatus(),
-            booking.getTrip() != null ? booking.getTrip().getTripId() : "N/A"
+            entry.getTripId() != null ? entry.getTripId() : "N/A"
         );
         
-        writeAuditLog(logEntry);
-        System.out.println("Audit log entry created!\n");
+        writeAuditLog(entry, logEntry);
     }
     
     @Override
     public String getObserverName() {
         return "AuditLogObserver";
     }
+
+    private static AuditLogEntry newEntry(String eventType, Booking booking) {
+        AuditLogEntry entry = new AuditLogEntry();
+        entry.setEventTime(LocalDateTime.now());
+        entry.setEventType(eventType);
+        entry.setBookingId(booking.getBookingId());
+        entry.setTripId(booking.getTrip() != null ? booking.getTrip().getTripId() : null);
+        entry.setCustomerEmail(booking.getEmail() != null ? booking.getEmail().trim().toLowerCase() : null);
+        return entry;
+    }
     
-    private void writeAuditLog(String logEntry) {
-        // In real implementation, this would write to:
-        // 1. Database audit table
-        // 2. Log file
-        // 3. External logging service
-        
-        System.out.println("📝 AUDIT LOG ENTRY:");
-        System.out.println(logEntry);
-        System.out.println("✅ Logged to audit system");
+    private void writeAuditLog(AuditLogEntry entry, String logEntry) {
+        // Batched into the audit_log table; the log line is only for local debugging
+        auditLogWriter.append(entry);
+        log.debug(logEntry);
     }
-}
\ No newline at end of file
+}
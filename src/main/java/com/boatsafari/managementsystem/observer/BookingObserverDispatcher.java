@@ -0,0 +1,299 @@
+package com.boatsafari.managementsystem.observer;
+
+import com.boatsafari.managementsystem.config.WorkerThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Delivers booking events to {@link BookingObserver}s.
+ *
+ * In "async" mode (default) events are handed over only after the booking transaction commits,
+ * and each observer runs on its own bounded executor, so a slow observer (email) neither holds
+ * booking locks nor delays the others. Events for one observer keep their order with the default
+ * single thread per observer. When an observer's queue is full the configured rejection policy
+ * applies: caller-runs, discard, discard-oldest or abort (drop and log).
+ * "sync" mode keeps the original behaviour of calling every observer inside the transaction.
+ * Each observer publishes booking.observer.run/queue.wait timers, a rejection counter and a
+ * queue depth gauge, tagged with the observer name.
+ */
+@Component
+public class BookingObserverDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingObserverDispatcher.class);
+
+    @Value("${app.observers.dispatch-mode:async}")
+    private String dispatchMode;
+
+    @Value("${app.observers.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.observers.threads-per-observer:1}")
+    private int threadsPerObserver;
+
+    @Value("${app.observers.rejection-policy:caller-runs}")
+    private String rejectionPolicy;
+
+    private final Map<String, ObserverLane> lanes = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final WorkerThreads workerThreads;
+
+    public BookingObserverDispatcher(MeterRegistry meterRegistry, WorkerThreads workerThreads) {
+        this.meterRegistry = meterRegistry;
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Notify every observer, directly or via their executors depending on the dispatch mode
+     */
+    public void dispatch(List<BookingObserver> observers, Consumer<BookingObserver> call) {
+        List<BookingObserver> targets = new ArrayList<>(observers);
+        if (!isAsync()) {
+            targets.forEach(observer -> lane(observer).run(observer, call, System.nanoTime()));
+            return;
+        }
+        Runnable submit = () -> targets.forEach(observer -> lane(observer).submit(observer, call));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    /**
+     * Run one observer call on that observer's executor and report the outcome; used by the
+     * outbox relay, which needs to know whether to mark the event done or retry it.
+     * The future fails if the call throws or the observer's queue rejects it.
+     */
+    public CompletableFuture<Void> deliver(BookingObserver observer, Consumer<BookingObserver> call) {
+        Delivery delivery = new Delivery(lane(observer), observer, call);
+        delivery.lane.execute(delivery);
+        return delivery.result;
+    }
+
+    /**
+     * Per-observer queue depth, throughput and latency
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("dispatchMode", isAsync() ? "async" : "sync");
+        stats.put("rejectionPolicy", rejectionPolicy);
+        Map<String, Object> perObserver = new LinkedHashMap<>();
+        lanes.forEach((name, lane) -> perObserver.put(name, lane.stats()));
+        stats.put("observers", perObserver);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.values().forEach(lane -> lane.executor.shutdown());
+        for (ObserverLane lane : lanes.values()) {
+            try {
+                if (!lane.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("Observer {} still had {} queued events at shutdown", lane.name, lane.executor.getQueue().size());
+                    lane.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.executor.shutdownNow();
+            }
+        }
+    }
+
+    private boolean isAsync() {
+        return !"sync".equalsIgnoreCase(dispatchMode);
+    }
+
+    private ObserverLane lane(BookingObserver observer) {
+        return lanes.computeIfAbsent(observer.getObserverName(), ObserverLane::new);
+    }
+
+    /**
+     * One observer's executor plus its metrics
+     */
+    private final class ObserverLane {
+        final String name;
+        final ThreadPoolExecutor executor;
+
+        final LongAdder submitted = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder totalRunNanos = new LongAdder();
+        final LongAdder totalWaitNanos = new LongAdder();
+        final AtomicLong maxRunNanos = new AtomicLong();
+
+        final Timer successTimer;
+        final Timer failureTimer;
+        final Timer waitTimer;
+        final Counter rejectedCounter;
+
+        ObserverLane(String name) {
+            this.name = name;
+            this.executor = new ThreadPoolExecutor(threadsPerObserver, threadsPerObserver, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    workerThreads.factory("observer-" + name + "-"),
+                    this::rejected);
+
+            successTimer = runTimer("success");
+            failureTimer = runTimer("failure");
+            waitTimer = Timer.builder("booking.observer.queue.wait")
+                    .description("Time an event waited for the observer's executor")
+                    .tag("observer", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            rejectedCounter = Counter.builder("booking.observer.rejected")
+                    .tag("observer", name)
+                    .register(meterRegistry);
+            Gauge.builder("booking.observer.queue.depth", executor, pool -> pool.getQueue().size())
+                    .tag("observer", name)
+                    .register(meterRegistry);
+        }
+
+        private Timer runTimer(String outcome) {
+            return Timer.builder("booking.observer.run")
+                    .description("Booking observer call")
+                    .tags("observer", name, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        void submit(BookingObserver observer, Consumer<BookingObserver> call) {
+            long enqueuedAt = System.nanoTime();
+            execute(() -> run(observer, call, enqueuedAt));
+        }
+
+        void execute(Runnable task) {
+            submitted.increment();
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                log.error("Observer {} queue is full ({} events); dropping event", name, queueCapacity);
+            }
+        }
+
+        // Queue full (or shutting down): apply the configured policy; dropped deliveries fail their future
+        void rejected(Runnable task, ThreadPoolExecutor pool) {
+            rejected.increment();
+            rejectedCounter.increment();
+            if (pool.isShutdown()) {
+                drop(task);
+                return;
+            }
+            switch (rejectionPolicy.toLowerCase()) {
+                case "discard":
+                    drop(task);
+                    break;
+                case "discard-oldest":
+                    drop(pool.getQueue().poll());
+                    pool.execute(task);
+                    break;
+                case "abort":
+                    drop(task);
+                    throw new RejectedExecutionException("Observer " + name + " queue is full");
+                default: // caller-runs
+                    task.run();
+            }
+        }
+
+        private void drop(Runnable task) {
+            if (task instanceof Delivery delivery) {
+                delivery.result.completeExceptionally(new RejectedExecutionException("Observer " + name + " queue is full"));
+            }
+        }
+
+        // Returns the observer's exception, or null on success
+        Exception run(BookingObserver observer, Consumer<BookingObserver> call, long enqueuedAt) {
+            long start = System.nanoTime();
+            totalWaitNanos.add(start - enqueuedAt);
+            waitTimer.record(start - enqueuedAt, TimeUnit.NANOSECONDS);
+            Timer timer = failureTimer;
+            try {
+                call.accept(observer);
+                completed.increment();
+                timer = successTimer;
+                return null;
+            } catch (Exception e) {
+                failed.increment();
+                log.error("Error notifying observer {}: {}", name, e.getMessage());
+                return e;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                totalRunNanos.add(elapsed);
+                maxRunNanos.accumulateAndGet(elapsed, Math::max);
+                timer.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        Map<String, Object> stats() {
+            long done = completed.sum() + failed.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("queueDepth", executor.getQueue().size());
+            stats.put("queueCapacity", queueCapacity);
+            stats.put("active", executor.getActiveCount());
+            stats.put("submitted", submitted.sum());
+            stats.put("completed", completed.sum());
+            stats.put("failed", failed.sum());
+            stats.put("rejected", rejected.sum());
+            stats.put("avgRunMs", done == 0 ? 0.0 : totalRunNanos.sum() / 1e6 / done);
+            stats.put("maxRunMs", maxRunNanos.get() / 1e6);
+            stats.put("avgQueueWaitMs", done == 0 ? 0.0 : totalWaitNanos.sum() / 1e6 / done);
+            return stats;
+        }
+    }
+
+    /**
+     * An observer call whose outcome is reported back to the caller
+     */
+    private static final class Delivery implements Runnable {
+        final ObserverLane lane;
+        final BookingObserver observer;
+        final Consumer<BookingObserver> call;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Delivery(ObserverLane lane, BookingObserver observer, Consumer<BookingObserver> call) {
+            this.lane = lane;
+            this.observer = observer;
+            this.call = call;
+        }
+
+        @Override
+        public void run() {
+            Exception error = lane.run(observer, call, enqueuedAt);
+            if (error == null) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.boatsafari.managementsystem.observer;
 
 import com.boatsafari.managementsystem.model.Booking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
@@ -9,15 +11,13 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class EmailNotificationObserver implements BookingObserver {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailNotificationObserver.class);
     
     @Override
     public void onBookingStatusChanged(Booking booking, String oldStatus, String newStatus) {
-        System.out.println("=== EMAIL NOTIFICATION OBSERVER ===");
-        System.out.println("Sending email for booking status change:");
-        System.out.println("Booking ID: " + booking.getBookingId());
-        System.out.println("Customer: " + booking.getName());
-        System.out.println("Email: " + booking.getEmail());
-        System.out.println("Status changed: " + oldStatus + " -> " + newStatus);
+        log.debug("email booking={} customer={} status={}->{}",
+                booking.getBookingId(), booking.getName(), oldStatus, newStatus);
         
         switch (newStatus.toUpperCase()) {
             case "CONFIRMED":
@@ -32,18 +32,12 @@ public class EmailNotificationObserver implements BookingObserver {
             default:
                 sendStatusUpdateEmail(booking, newStatus);
         }
-        System.out.println("Email sent successfully!\n");
     }
     
     @Override
     public void onBookingCreated(Booking booking) {
-        System.out.println("=== EMAIL NOTIFICATION OBSERVER ===");
-        System.out.println("Sending welcome email for new booking:");
-        System.out.println("Booking ID: " + booking.getBookingId());
-        System.out.println("Customer: " + booking.getName());
-        System.out.println("Email: " + booking.getEmail());
+        log.debug("email booking={} customer={} event=created", booking.getBookingId(), booking.getName());
         sendWelcomeEmail(booking);
-        System.out.println("Welcome email sent!\n");
     }
     
     @Override
@@ -54,27 +48,26 @@ public class EmailNotificationObserver implements BookingObserver {
     // Simulate email sending methods
     private void sendBookingConfirmationEmail(Booking booking) {
         // In real implementation, use JavaMailSender or email service
-        System.out.println("📧 Sending confirmation email to: " + booking.getEmail());
-        System.out.println("Subject: Booking Confirmed - Boat Safari Adventure!");
+        send(booking, "Booking Confirmed - Boat Safari Adventure!");
     }
     
     private void sendCancellationEmail(Booking booking) {
-        System.out.println("📧 Sending cancellation email to: " + booking.getEmail());
-        System.out.println("Subject: Booking Cancelled - Refund Processing");
+        send(booking, "Booking Cancelled - Refund Processing");
     }
     
     private void sendThankYouEmail(Booking booking) {
-        System.out.println("📧 Sending thank you email to: " + booking.getEmail());
-        System.out.println("Subject: Thank You for Your Safari Adventure!");
+        send(booking, "Thank You for Your Safari Adventure!");
     }
     
     private void sendStatusUpdateEmail(Booking booking, String newStatus) {
-        System.out.println("📧 Sending status update email to: " + booking.getEmail());
-        System.out.println("Subject: Booking Update - Status: " + newStatus);
+        send(booking, "Booking Update - Status: " + newStatus);
     }
     
     private void sendWelcomeEmail(Booking booking) {
-        System.out.println("📧 Sending welcome email to: " + booking.getEmail());
-        System.out.println("Subject: Welcome! Your Safari Booking is Received");
+        send(booking, "Welcome! Your Safari Booking is Received");
+    }
+
+    private void send(Booking booking, String subject) {
+        log.info("email sent booking={} to={} subject=\"{}\"", booking.getBookingId(), booking.getEmail(), subject);
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.boatsafari.managementsystem.observer;
 
 import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.schedule.HoldExpiryReaper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
@@ -9,15 +12,22 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class InventoryObserver implements BookingObserver {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryObserver.class);
+
+    private final HoldExpiryReaper holdExpiryReaper;
+
+    public InventoryObserver(HoldExpiryReaper holdExpiryReaper) {
+        this.holdExpiryReaper = holdExpiryReaper;
+    }
     
     @Override
     public void onBookingStatusChanged(Booking booking, String oldStatus, String newStatus) {
-        System.out.println("=== INVENTORY OBSERVER ===");
-        System.out.println("Updating inventory for booking status change:");
-        System.out.println("Booking ID: " + booking.getBookingId());
-        System.out.println("Trip: " + (booking.getTrip() != null ? booking.getTrip().getName() : "N/A"));
-        System.out.println("Passengers: " + booking.getPassengers());
-        System.out.println("Status changed: " + oldStatus + " -> " + newStatus);
+        if (log.isDebugEnabled()) {
+            log.debug("inventory booking={} trip={} passengers={} status={}->{}", booking.getBookingId(),
+                    booking.getTrip() != null ? booking.getTrip().getName() : "N/A",
+                    booking.getPassengers(), oldStatus, newStatus);
+        }
         
         if ("CONFIRMED".equals(newStatus) && !"CONFIRMED".equals(oldStatus)) {
             // Booking confirmed - reduce available capacity
@@ -26,21 +36,19 @@ public class InventoryObserver implements BookingObserver {
             // Confirmed booking cancelled - restore capacity
             updateTripCapacity(booking, booking.getPassengers());
         }
-        System.out.println("Inventory updated!\n");
     }
     
     @Override
     public void onBookingCreated(Booking booking) {
-        System.out.println("=== INVENTORY OBSERVER ===");
-        System.out.println("New booking created - checking inventory:");
-        System.out.println("Booking ID: " + booking.getBookingId());
-        System.out.println("Trip: " + (booking.getTrip() != null ? booking.getTrip().getName() : "N/A"));
+        if (log.isDebugEnabled()) {
+            log.debug("inventory booking={} trip={} event=created", booking.getBookingId(),
+                    booking.getTrip() != null ? booking.getTrip().getName() : "N/A");
+        }
         
         if ("PROVISIONAL".equals(booking.getStatus())) {
             // Hold capacity temporarily for provisional booking
             holdTripCapacity(booking);
         }
-        System.out.println("Inventory check completed!\n");
     }
     
     @Override
@@ -51,19 +59,16 @@ public class InventoryObserver implements BookingObserver {
     private void updateTripCapacity(Booking booking, int capacityChange) {
         if (booking.getTrip() != null) {
             // In real implementation, update the database
-            System.out.println("🏢 Updating trip capacity:");
-            System.out.println("Trip ID: " + booking.getTrip().getTripId());
-            System.out.println("Capacity change: " + capacityChange);
-            System.out.println("Available seats: " + calculateAvailableSeats(booking));
+            log.debug("inventory trip={} capacityChange={} availableSeats={}",
+                    booking.getTrip().getTripId(), capacityChange, calculateAvailableSeats(booking));
         }
     }
     
     private void holdTripCapacity(Booking booking) {
         if (booking.getTrip() != null) {
-            System.out.println("⏳ Holding capacity for provisional booking:");
-            System.out.println("Trip ID: " + booking.getTrip().getTripId());
-            System.out.println("Passengers: " + booking.getPassengers());
-            System.out.println("Hold expires at: " + booking.getHoldTimer());
+            log.debug("inventory hold trip={} passengers={} expiresAt={}",
+                    booking.getTrip().getTripId(), booking.getPassengers(), booking.getHoldTimer());
+            holdExpiryReaper.track(booking);
         }
     }
     
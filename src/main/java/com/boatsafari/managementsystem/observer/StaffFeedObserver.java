@@ -0,0 +1,53 @@
+package com.boatsafari.managementsystem.observer;
+
+import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.service.StaffEventBus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concrete Observer for the staff dashboard live feed
+ * This observer pushes booking activity onto the staff event bus
+ */
+@Component
+public class StaffFeedObserver implements BookingObserver {
+
+    private final StaffEventBus staffEventBus;
+
+    public StaffFeedObserver(StaffEventBus staffEventBus) {
+        this.staffEventBus = staffEventBus;
+    }
+
+    @Override
+    public void onBookingStatusChanged(Booking booking, String oldStatus, String newStatus) {
+        String type;
+        switch (newStatus.toUpperCase()) {
+            case "CONFIRMED":
+            case "COMPLETED":
+                type = "success";
+                break;
+            case "CANCELLED":
+                type = "warning";
+                break;
+            default:
+                type = "info";
+        }
+        staffEventBus.publish("booking", type,
+                "Booking #" + booking.getBookingId() + tripSuffix(booking) + " changed from " + oldStatus + " to " + newStatus);
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        staffEventBus.publish("booking", "info",
+                "New booking #" + booking.getBookingId() + tripSuffix(booking) + " for " + booking.getPassengers() + " passenger(s)");
+    }
+
+    @Override
+    public String getObserverName() {
+        return "StaffFeedObserver";
+    }
+
+    private static String tripSuffix(Booking booking) {
+        return booking.getTrip() != null && booking.getTrip().getName() != null
+                ? " (" + booking.getTrip().getName() + ")" : "";
+    }
+}
@@ -3,6 +3,23 @@ package com.boatsafari.managementsystem.repository;
 
 import com.boatsafari.managementsystem.model.Boat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface BoatRepository extends JpaRepository<Boat, Long> {
-}
\ No newline at end of file
+
+    // Backed by ix_boat_status / ix_boat_type / ix_boat_capacity
+    List<Boat> findByStatus(String status);
+
+    List<Boat> findByType(String type);
+
+    List<Boat> findByCapacityGreaterThanEqual(Integer minCapacity);
+
+    List<Boat> findByBoatNameContainingIgnoreCase(String name);
+
+    long countByStatus(String status);
+
+    @Query("SELECT b.status AS groupKey, COUNT(b) AS total FROM Boat b GROUP BY b.status")
+    List<KeyCount> countByStatus();
+}
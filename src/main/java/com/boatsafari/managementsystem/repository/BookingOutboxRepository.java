@@ -0,0 +1,79 @@
+package com.boatsafari.managementsystem.repository;
+
+import com.boatsafari.managementsystem.model.BookingOutboxEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingOutboxRepository extends JpaRepository<BookingOutboxEvent, Long> {
+
+    // Claim the oldest due events for this poller. UPDLOCK + READPAST lets several nodes claim
+    // concurrently: rows locked by another claimer are skipped instead of waited on.
+    // A claim expires at claimed_until, so events held by a dead node are picked up again.
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_outbox"))
+    @Query(value = "with next_events as (" +
+                   "select top (:batch) * from booking_outbox with (updlock, readpast, rowlock) " +
+                   "where status = 'PENDING' and next_attempt_at <= :now " +
+                   "and (claimed_until is null or claimed_until < :now) order by id) " +
+                   "update next_events set claim_token = :token, claimed_until = :until", nativeQuery = true)
+    int claimBatch(@Param("batch") int batch, @Param("now") LocalDateTime now,
+                   @Param("token") String token, @Param("until") LocalDateTime until);
+
+    List<BookingOutboxEvent> findByClaimTokenOrderByIdAsc(String claimToken);
+
+    @Modifying
+    @Transactional
+    @Query("update BookingOutboxEvent e set e.status = 'DONE', e.attempts = e.attempts + 1, e.processedAt = :now, " +
+           "e.claimToken = null, e.claimedUntil = null, e.lastError = null " +
+           "where e.id in :ids and e.claimToken = :token")
+    int markDone(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("update BookingOutboxEvent e set e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.claimToken = null, e.claimedUntil = null, e.lastError = :error " +
+           "where e.id = :id and e.claimToken = :token")
+    int markRetry(@Param("id") Long id, @Param("token") String token,
+                  @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("update BookingOutboxEvent e set e.status = 'DEAD', e.attempts = e.attempts + 1, e.processedAt = :now, " +
+           "e.claimToken = null, e.claimedUntil = null, e.lastError = :error " +
+           "where e.id = :id and e.claimToken = :token")
+    int markDead(@Param("id") Long id, @Param("token") String token,
+                 @Param("now") LocalDateTime now, @Param("error") String error);
+
+    // Put dead-lettered events back in the queue with a fresh set of attempts
+    @Modifying
+    @Transactional
+    @Query("update BookingOutboxEvent e set e.status = 'PENDING', e.attempts = 0, e.nextAttemptAt = :now, " +
+           "e.processedAt = null where e.status = 'DEAD' and (:id is null or e.id = :id)")
+    int requeueDead(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("select e.status as groupKey, count(e) as total from BookingOutboxEvent e group by e.status")
+    List<KeyCount> countByStatus();
+
+    List<BookingOutboxEvent> findTop100ByStatusOrderByIdDesc(String status);
+
+    // Retention: delete delivered events in bounded chunks
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_outbox"))
+    @Query(value = "delete top (:batch) from booking_outbox where status = 'DONE' and processed_at < :cutoff",
+           nativeQuery = true)
+    int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batch") int batch);
+}
@@ -1,51 +1,64 @@
 // src/main/java/com/boatsafari/managementsystem/repository/BookingRepository.java
 package com.boatsafari.managementsystem.repository;
 
-import com.boatsafari.managementsystem.dto.PaymentHistoryDTO;
 import com.boatsafari.managementsystem.model.Booking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
     List<Booking> findByTrip_TripId(Long tripId);
-    
-    @Query("SELECT new com.boatsafari.managementsystem.dto.PaymentHistoryDTO(" +
-           "p.paymentId, b.bookingId, " +
-           "COALESCE(u.firstName, b.name), " +
-           "COALESCE(u.email, b.email), " +
-           "COALESCE(u.contactNo, b.contact), " +
-           "p.paymentMethod, p.status, p.amount, p.paymentDate, " +
-           "t.name, CAST(t.date AS string), b.passengers) " +
-           "FROM Booking b " +
-           "LEFT JOIN b.payment p " +
-           "LEFT JOIN b.customer u " +
-           "LEFT JOIN b.trip t " +
-           "WHERE p IS NOT NULL " +
-           "ORDER BY p.paymentDate DESC")
-    List<PaymentHistoryDTO> findPaymentHistoryWithDetails();
-    
-    @Query("SELECT new com.boatsafari.managementsystem.dto.PaymentHistoryDTO(" +
-           "p.paymentId, b.bookingId, " +
-           "COALESCE(u.firstName, b.name), " +
-           "COALESCE(u.email, b.email), " +
-           "COALESCE(u.contactNo, b.contact), " +
-           "p.paymentMethod, p.status, p.amount, p.paymentDate, " +
-           "t.name, CAST(t.date AS string), b.passengers) " +
-           "FROM Booking b " +
-           "LEFT JOIN b.payment p " +
-           "LEFT JOIN b.customer u " +
-           "LEFT JOIN b.trip t " +
-           "WHERE p IS NOT NULL " +
-           "AND (:customerName IS NULL OR LOWER(COALESCE(u.firstName, b.name)) LIKE LOWER(CONCAT('%', :customerName, '%'))) " +
-           "AND (:email IS NULL OR LOWER(COALESCE(u.email, b.email)) LIKE LOWER(CONCAT('%', :email, '%'))) " +
-           "AND (:status IS NULL OR p.status = :status) " +
-           "AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod) " +
-           "ORDER BY p.paymentDate DESC")
-    List<PaymentHistoryDTO> searchPaymentHistory(@Param("customerName") String customerName, 
-                                                @Param("email") String email, 
-                                                @Param("status") String status, 
-                                                @Param("paymentMethod") String paymentMethod);
-}
\ No newline at end of file
+
+    // Number of bookings per customer, for a page of customers at once
+    @Query("SELECT b.customer.userId AS customerId, COUNT(b) AS total FROM Booking b " +
+           "WHERE b.customer.userId IN :customerIds GROUP BY b.customer.userId")
+    List<CustomerCount> countByCustomerIds(@Param("customerIds") Collection<Long> customerIds);
+
+    // ---- Dashboard aggregates ----
+
+    @Query("SELECT b.status AS groupKey, COUNT(b) AS total FROM Booking b GROUP BY b.status")
+    List<KeyCount> countByStatus();
+
+    @Query("SELECT COALESCE(SUM(b.totalCost), 0) FROM Booking b WHERE b.totalCost > 0")
+    Double sumPositiveTotalCost();
+
+    // ---- Provisional hold expiry ----
+
+    interface PendingHold {
+        Long getBookingId();
+        LocalDateTime getHoldTimer();
+    }
+
+    interface ExpiringHold {
+        Long getBookingId();
+        Long getTripId();
+        int getPassengers();
+    }
+
+    // All live provisional holds, used to rebuild the in-memory expiry wheel
+    @Query("SELECT b.bookingId AS bookingId, b.holdTimer AS holdTimer FROM Booking b " +
+           "WHERE b.status = 'PROVISIONAL' AND b.holdTimer IS NOT NULL")
+    List<PendingHold> findPendingHolds();
+
+    // Safety-net sweep for holds this node is not tracking (e.g. created on another node)
+    @Query("SELECT b.bookingId FROM Booking b WHERE b.status = 'PROVISIONAL' AND b.holdTimer <= :now")
+    List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT b.bookingId AS bookingId, t.tripId AS tripId, b.passengers AS passengers " +
+           "FROM Booking b LEFT JOIN b.trip t " +
+           "WHERE b.bookingId IN :ids AND b.status = 'PROVISIONAL' AND b.holdTimer <= :now")
+    List<ExpiringHold> findExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Conditional bulk expiry - rows confirmed in the meantime are left alone
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'EXPIRED' " +
+           "WHERE b.bookingId IN :ids AND b.status = 'PROVISIONAL' AND b.holdTimer <= :now")
+    int expireHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,9 @@
+package com.boatsafari.managementsystem.repository;
+
+/**
+ * Row of a per-customer GROUP BY count
+ */
+public interface CustomerCount {
+    Long getCustomerId();
+    long getTotal();
+}
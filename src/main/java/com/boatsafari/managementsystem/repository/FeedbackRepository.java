@@ -4,8 +4,10 @@ import com.boatsafari.managementsystem.model.Feedback;
 import com.boatsafari.managementsystem.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -22,6 +24,11 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     
     // Find feedbacks by user ID
     List<Feedback> findByUser_UserIdOrderByCreatedAtDesc(Long userId);
+
+    // Number of feedbacks per user, for a page of customers at once
+    @Query("SELECT f.user.userId AS customerId, COUNT(f) AS total FROM Feedback f " +
+           "WHERE f.user.userId IN :userIds GROUP BY f.user.userId")
+    List<CustomerCount> countByUserIds(@Param("userIds") Collection<Long> userIds);
     
     // Find feedbacks by category that are visible
     List<Feedback> findByCategoryAndIsVisibleTrueOrderByCreatedAtDesc(String category);
@@ -43,6 +50,10 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     // Count feedbacks with replies
     @Query("SELECT COUNT(f) FROM Feedback f WHERE f.reply IS NOT NULL")
     Long countFeedbacksWithReplies();
+
+    // Count feedbacks with a non-blank reply
+    @Query("SELECT COUNT(f) FROM Feedback f WHERE f.reply IS NOT NULL AND TRIM(f.reply) <> ''")
+    Long countFeedbacksWithNonBlankReplies();
     
     // Find feedbacks related to a specific booking
     List<Feedback> findByBooking_BookingIdAndIsVisibleTrueOrderByCreatedAtDesc(Long bookingId);
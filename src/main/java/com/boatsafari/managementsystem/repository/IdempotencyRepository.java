@@ -0,0 +1,71 @@
+package com.boatsafari.managementsystem.repository;
+
+import com.boatsafari.managementsystem.model.IdempotencyRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Claim a new key; a duplicate key fails on the primary key (DataIntegrityViolationException)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "insert into idempotency_keys " +
+                   "(key_hash, scope, request_hash, status, claim_token, created_at, locked_until, expires_at) " +
+                   "values (:keyHash, :scope, :requestHash, 'IN_PROGRESS', :token, :now, :lockedUntil, :expiresAt)",
+           nativeQuery = true)
+    int insertClaim(@Param("keyHash") String keyHash, @Param("scope") String scope,
+                    @Param("requestHash") String requestHash, @Param("token") String token, @Param("now") LocalDateTime now,
+                    @Param("lockedUntil") LocalDateTime lockedUntil, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Re-claim a key whose record expired, or whose first request stopped without finishing
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.status = 'IN_PROGRESS', r.requestHash = :requestHash, " +
+           "r.responseStatus = null, r.responseBody = null, r.responseLocation = null, " +
+           "r.claimToken = :token, r.createdAt = :now, r.lockedUntil = :lockedUntil, r.expiresAt = :expiresAt " +
+           "where r.keyHash = :keyHash and (r.expiresAt < :now or (r.status = 'IN_PROGRESS' and r.lockedUntil < :now))")
+    int takeOver(@Param("keyHash") String keyHash, @Param("requestHash") String requestHash,
+                 @Param("token") String token, @Param("now") LocalDateTime now, @Param("lockedUntil") LocalDateTime lockedUntil,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query("select r.requestHash as requestHash, r.status as status, r.responseStatus as responseStatus, " +
+           "r.responseBody as responseBody, r.responseLocation as responseLocation, " +
+           "r.lockedUntil as lockedUntil, r.expiresAt as expiresAt " +
+           "from IdempotencyRecord r where r.keyHash = :keyHash")
+    Optional<IdempotencyState> findState(@Param("keyHash") String keyHash);
+
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.status = 'COMPLETED', r.responseStatus = :responseStatus, " +
+           "r.responseBody = :responseBody, r.responseLocation = :responseLocation, " +
+           "r.claimToken = null, r.lockedUntil = null " +
+           "where r.keyHash = :keyHash and r.status = 'IN_PROGRESS' and r.claimToken = :token")
+    int complete(@Param("keyHash") String keyHash, @Param("token") String token, @Param("responseStatus") int responseStatus,
+                 @Param("responseBody") String responseBody, @Param("responseLocation") String responseLocation);
+
+    // Give the key back after a failure, so a retry runs the request again
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.keyHash = :keyHash and r.status = 'IN_PROGRESS' " +
+           "and r.claimToken = :token")
+    int release(@Param("keyHash") String keyHash, @Param("token") String token);
+
+    // Retention: delete expired keys in bounded chunks
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "delete top (:batch) from idempotency_keys where expires_at < :now", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("batch") int batch);
+}
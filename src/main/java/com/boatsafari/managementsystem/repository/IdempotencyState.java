@@ -0,0 +1,16 @@
+package com.boatsafari.managementsystem.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current state of an idempotency key, read as a projection so repeated polls see fresh values
+ */
+public interface IdempotencyState {
+    String getRequestHash();
+    String getStatus();
+    Integer getResponseStatus();
+    String getResponseBody();
+    String getResponseLocation();
+    LocalDateTime getLockedUntil();
+    LocalDateTime getExpiresAt();
+}
@@ -0,0 +1,9 @@
+package com.boatsafari.managementsystem.repository;
+
+/**
+ * Row of a GROUP BY count keyed by a string column (status, role, priority...)
+ */
+public interface KeyCount {
+    String getGroupKey();
+    long getTotal();
+}
@@ -0,0 +1,11 @@
+package com.boatsafari.managementsystem.repository;
+
+/**
+ * Row of the payments GROUP BY payment_method, status aggregate
+ */
+public interface PaymentGroupTotal {
+    String getMethod();
+    String getStatus();
+    long getTotal();
+    Double getCompletedAmount();
+}
@@ -0,0 +1,13 @@
+package com.boatsafari.managementsystem.repository;
+
+/**
+ * Payments aggregated per calendar day or month (day is 1 for monthly rows)
+ */
+public interface PaymentPeriodTotal {
+    int getYear();
+    int getMonth();
+    int getDay();
+    long getTotal();
+    long getCompletedCount();
+    Double getCompletedAmount();
+}
@@ -5,20 +5,29 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
-    
-    @Query("SELECT COALESCE(SUM(p.amount), 0.0) FROM Payment p WHERE p.status = 'Completed'")
-    Double getTotalRevenue();
-    
-    @Query("SELECT COUNT(p) FROM Payment p")
-    Long getTotalPaymentCount();
-    
-    @Query("SELECT COUNT(p) FROM Payment p WHERE p.paymentMethod = :method")
-    Long getPaymentCountByMethod(@Param("method") String method);
-    
-    @Query("SELECT COALESCE(SUM(p.amount), 0.0) FROM Payment p WHERE p.paymentMethod = :method AND p.status = 'Completed'")
-    Double getRevenueByMethod(@Param("method") String method);
-    
-    @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = :status")
-    Long getPaymentCountByStatus(@Param("status") String status);
-}
\ No newline at end of file
+
+    // One pass over payments for PaymentStatsDTO: counts per method/status, revenue from completed payments only
+    @Query("SELECT p.paymentMethod AS method, p.status AS status, COUNT(p) AS total, " +
+           "SUM(CASE WHEN p.status = 'Completed' THEN p.amount ELSE 0.0 END) AS completedAmount " +
+           "FROM Payment p GROUP BY p.paymentMethod, p.status")
+    List<PaymentGroupTotal> getTotalsByMethodAndStatus();
+
+    // Revenue series buckets; the date range is an index seek on ix_payments_date_status
+    @Query("SELECT YEAR(p.paymentDate) AS year, MONTH(p.paymentDate) AS month, DAY(p.paymentDate) AS day, " +
+           "COUNT(p) AS total, SUM(CASE WHEN p.status = 'Completed' THEN 1 ELSE 0 END) AS completedCount, " +
+           "SUM(CASE WHEN p.status = 'Completed' THEN p.amount ELSE 0.0 END) AS completedAmount " +
+           "FROM Payment p WHERE p.paymentDate >= :from AND p.paymentDate < :to " +
+           "GROUP BY YEAR(p.paymentDate), MONTH(p.paymentDate), DAY(p.paymentDate)")
+    List<PaymentPeriodTotal> getDailyTotals(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT YEAR(p.paymentDate) AS year, MONTH(p.paymentDate) AS month, 1 AS day, " +
+           "COUNT(p) AS total, SUM(CASE WHEN p.status = 'Completed' THEN 1 ELSE 0 END) AS completedCount, " +
+           "SUM(CASE WHEN p.status = 'Completed' THEN p.amount ELSE 0.0 END) AS completedAmount " +
+           "FROM Payment p WHERE p.paymentDate >= :from AND p.paymentDate < :to " +
+           "GROUP BY YEAR(p.paymentDate), MONTH(p.paymentDate)")
+    List<PaymentPeriodTotal> getMonthlyTotals(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -3,5 +3,18 @@ package com.boatsafari.managementsystem.repository;
 
 import com.boatsafari.managementsystem.model.SupportTicket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface SupportTicketRepository extends JpaRepository<SupportTicket, Long> { }
\ No newline at end of file
+import java.util.List;
+
+public interface SupportTicketRepository extends JpaRepository<SupportTicket, Long> {
+
+    @Query("SELECT t.status AS groupKey, COUNT(t) AS total FROM SupportTicket t GROUP BY t.status")
+    List<KeyCount> countByStatus();
+
+    @Query("SELECT t.priority AS groupKey, COUNT(t) AS total FROM SupportTicket t GROUP BY t.priority")
+    List<KeyCount> countByPriority();
+
+    @Query("SELECT t.category AS groupKey, COUNT(t) AS total FROM SupportTicket t GROUP BY t.category")
+    List<KeyCount> countByCategory();
+}
\ No newline at end of file
@@ -2,9 +2,13 @@
 package com.boatsafari.managementsystem.repository;
 
 import com.boatsafari.managementsystem.model.Trip;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -13,6 +17,20 @@ import java.util.List;
 @Repository
 public interface TripRepository extends JpaRepository<Trip, Long> {
 
+    // Query space for the seat counter updates below. Native updates without one make Hibernate
+    // invalidate every second-level cache region; with it nothing is invalidated and
+    // SeatInventoryService evicts just the trips it changed (the counters never affect which
+    // trips a query returns, so cached trip lists stay valid).
+    String SEAT_INVENTORY_SPACE = "trip_seat_inventory";
+
+    // Public trip list, served from the query cache until a trip is inserted, updated or deleted
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "trip-list")
+    })
+    List<Trip> findAll();
+
     // Find all past-dated trips
     List<Trip> findAllByDateBefore(LocalDate date);
 
@@ -29,4 +47,64 @@ public interface TripRepository extends JpaRepository<Trip, Long> {
 
     // Find past trips for a guide (history)
     List<Trip> findByGuide_UserIdAndDateLessThan(Long guideId, LocalDate date);
-}
\ No newline at end of file
+
+    // ---- Seat inventory (held = PROVISIONAL, booked = CONFIRMED/COMPLETED) ----
+
+    // Free seats for a trip, or null when the trip does not exist
+    @Query(value = "select capacity - booked_seats - held_seats from trips where trip_id = :tripId", nativeQuery = true)
+    Integer findAvailableSeats(@Param("tripId") Long tripId);
+
+    // Conditional hold: updates 0 rows when the trip is missing or has fewer than :seats free
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEAT_INVENTORY_SPACE))
+    @Query(value = "update trips set held_seats = held_seats + :seats " +
+                   "where trip_id = :tripId and capacity - booked_seats - held_seats >= :seats", nativeQuery = true)
+    int tryHoldSeats(@Param("tripId") Long tripId, @Param("seats") int seats);
+
+    // Conditional booking straight into the confirmed bucket (e.g. re-activating a cancelled booking)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEAT_INVENTORY_SPACE))
+    @Query(value = "update trips set booked_seats = booked_seats + :seats " +
+                   "where trip_id = :tripId and capacity - booked_seats - held_seats >= :seats", nativeQuery = true)
+    int tryBookSeats(@Param("tripId") Long tripId, @Param("seats") int seats);
+
+    // Provisional -> confirmed; capacity is unchanged so no check is needed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEAT_INVENTORY_SPACE))
+    @Query(value = "update trips set held_seats = case when held_seats > :seats then held_seats - :seats else 0 end, " +
+                   "booked_seats = booked_seats + :seats where trip_id = :tripId", nativeQuery = true)
+    int convertHeldToBooked(@Param("tripId") Long tripId, @Param("seats") int seats);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEAT_INVENTORY_SPACE))
+    @Query(value = "update trips set held_seats = case when held_seats > :seats then held_seats - :seats else 0 end " +
+                   "where trip_id = :tripId", nativeQuery = true)
+    int releaseHeldSeats(@Param("tripId") Long tripId, @Param("seats") int seats);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEAT_INVENTORY_SPACE))
+    @Query(value = "update trips set booked_seats = case when booked_seats > :seats then booked_seats - :seats else 0 end " +
+                   "where trip_id = :tripId", nativeQuery = true)
+    int releaseBookedSeats(@Param("tripId") Long tripId, @Param("seats") int seats);
+
+    // Recompute every trip's counters from the bookings table (startup/nightly drift repair)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEAT_INVENTORY_SPACE))
+    @Query(value = "update trips set " +
+                   "held_seats = coalesce((select sum(b.passengers) from bookings b " +
+                   "where b.trip_id = trips.trip_id and b.status = 'PROVISIONAL'), 0), " +
+                   "booked_seats = coalesce((select sum(b.passengers) from bookings b " +
+                   "where b.trip_id = trips.trip_id and b.status in ('CONFIRMED', 'COMPLETED')), 0)", nativeQuery = true)
+    int resyncSeatInventory();
+
+    // Same as above for a single trip
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEAT_INVENTORY_SPACE))
+    @Query(value = "update trips set " +
+                   "held_seats = coalesce((select sum(b.passengers) from bookings b " +
+                   "where b.trip_id = trips.trip_id and b.status = 'PROVISIONAL'), 0), " +
+                   "booked_seats = coalesce((select sum(b.passengers) from bookings b " +
+                   "where b.trip_id = trips.trip_id and b.status in ('CONFIRMED', 'COMPLETED')), 0) " +
+                   "where trip_id = :tripId", nativeQuery = true)
+    int resyncSeatInventory(@Param("tripId") Long tripId);
+}
@@ -1,8 +1,24 @@
 package com.boatsafari.managementsystem.repository;
 
 import com.boatsafari.managementsystem.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     User findByEmail(String email);
+
+    // Customers page, optionally filtered by name or email
+    @Query("SELECT u FROM User u WHERE u.roleType = 'CUSTOMER' " +
+           "AND (:search IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR LOWER(u.secondName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Page<User> findCustomers(@Param("search") String search, Pageable pageable);
+
+    @Query("SELECT u.roleType AS groupKey, COUNT(u) AS total FROM User u GROUP BY u.roleType")
+    List<KeyCount> countByRole();
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.boatsafari.managementsystem.schedule;
+
+import com.boatsafari.managementsystem.config.WorkerThreads;
+import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.model.BookingOutboxEvent;
+import com.boatsafari.managementsystem.observer.BookingObserver;
+import com.boatsafari.managementsystem.observer.BookingObserverDispatcher;
+import com.boatsafari.managementsystem.repository.BookingOutboxRepository;
+import com.boatsafari.managementsystem.repository.BookingRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers booking outbox events to their observers.
+ *
+ * Each round claims a batch of due events under a unique token (UPDLOCK/READPAST, so several
+ * nodes can drain the table at once without blocking each other), loads the bookings in one
+ * query and hands each event to its observer's executor in {@link BookingObserverDispatcher}.
+ * Delivered events are marked DONE; failures are retried with exponential backoff and marked
+ * DEAD after max-attempts. A claim is a lease: events held by a node that dies are claimed
+ * again once it runs out. Delivery is therefore at-least-once.
+ * Observers receive the booking as it is at delivery time, with the recorded old/new status.
+ */
+@Component
+public class BookingOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingOutboxRelay.class);
+
+    private final BookingOutboxRepository outboxRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingObserverDispatcher dispatcher;
+    private final Map<String, BookingObserver> observers = new HashMap<>();
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-base-ms:5000}")
+    private long retryBaseMs;
+
+    @Value("${app.outbox.retry-max-ms:600000}")
+    private long retryMaxMs;
+
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    // One drain at a time per node; wake-ups during a drain trigger another round
+    private final ExecutorService worker;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    // Metrics
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    public BookingOutboxRelay(BookingOutboxRepository outboxRepository, BookingRepository bookingRepository,
+                              BookingObserverDispatcher dispatcher, List<BookingObserver> observers,
+                              WorkerThreads workerThreads) {
+        this.outboxRepository = outboxRepository;
+        this.bookingRepository = bookingRepository;
+        this.dispatcher = dispatcher;
+        this.worker = Executors.newSingleThreadExecutor(workerThreads.factory("booking-outbox-"));
+        observers.forEach(observer -> this.observers.put(observer.getObserverName(), observer));
+    }
+
+    /**
+     * Start a drain on this node unless one is already running (it will do another round)
+     */
+    public void wakeUp() {
+        wakeUpPending.set(true);
+        if (draining.compareAndSet(false, true)) {
+            try {
+                worker.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false); // shutting down
+            }
+        }
+    }
+
+    // Picks up retries, events from other nodes and anything a wake-up missed
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:2000}",
+               initialDelayString = "${app.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}",
+               initialDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+    public void deleteDelivered() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int deleted = 0;
+        int chunk;
+        do {
+            chunk = outboxRepository.deleteDeliveredBefore(cutoff, 1000);
+            deleted += chunk;
+        } while (chunk == 1000);
+        if (deleted > 0) log.info("BookingOutboxRelay: deleted {} delivered events older than {} days", deleted, retentionDays);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("claimed", claimed.get());
+        stats.put("delivered", delivered.get());
+        stats.put("retried", retried.get());
+        stats.put("deadLettered", deadLettered.get());
+        stats.put("draining", draining.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            while (wakeUpPending.getAndSet(false)) {
+                int count;
+                do {
+                    count = relayBatch();
+                } while (count == batchSize && !Thread.currentThread().isInterrupted()); // a full batch means more may be due
+            }
+        } catch (Exception e) {
+            log.error("BookingOutboxRelay: drain failed: {}", e.getMessage());
+        } finally {
+            draining.set(false);
+        }
+        if (wakeUpPending.get() && !Thread.currentThread().isInterrupted()) {
+            wakeUp();
+        }
+    }
+
+    private int relayBatch() {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        int count = outboxRepository.claimBatch(batchSize, now, token, now.plusNanos(leaseMs * 1_000_000L));
+        if (count == 0) return 0;
+        claimed.addAndGet(count);
+
+        List<BookingOutboxEvent> events = outboxRepository.findByClaimTokenOrderByIdAsc(token);
+        Set<Long> bookingIds = events.stream().map(BookingOutboxEvent::getBookingId).collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingRepository.findAllById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getBookingId, b -> b));
+
+        List<CompletableFuture<Void>> results = new ArrayList<>(events.size());
+        for (BookingOutboxEvent event : events) {
+            results.add(deliver(event, bookings.get(event.getBookingId())));
+        }
+
+        // Wait for this batch, leaving a margin before the lease runs out
+        try {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                    .get(leaseMs * 4 / 5, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Individual failures are handled below
+        } catch (TimeoutException e) {
+            log.warn("BookingOutboxRelay: batch not finished within lease; unfinished events will be retried");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return count;
+        }
+
+        List<Long> doneIds = new ArrayList<>();
+        LocalDateTime finishedAt = LocalDateTime.now();
+        for (int i = 0; i < events.size(); i++) {
+            CompletableFuture<Void> result = results.get(i);
+            if (!result.isDone()) continue; // still queued; the lease expiry hands it out again
+            Throwable error = result.handle((v, e) -> e).getNow(null);
+            if (error == null) {
+                doneIds.add(events.get(i).getId());
+            } else {
+                fail(events.get(i), token, error, finishedAt);
+            }
+        }
+        if (!doneIds.isEmpty()) {
+            outboxRepository.markDone(doneIds, token, finishedAt);
+            delivered.addAndGet(doneIds.size());
+        }
+        return count;
+    }
+
+    private CompletableFuture<Void> deliver(BookingOutboxEvent event, Booking booking) {
+        BookingObserver observer = observers.get(event.getObserverName());
+        if (observer == null) {
+            return CompletableFuture.failedFuture(new Undeliverable("No observer named " + event.getObserverName()));
+        }
+        if (booking == null) {
+            return CompletableFuture.failedFuture(new Undeliverable("Booking " + event.getBookingId() + " no longer exists"));
+        }
+        Consumer<BookingObserver> call = BookingOutboxEvent.CREATED.equals(event.getEventType())
+                ? o -> o.onBookingCreated(booking)
+                : o -> o.onBookingStatusChanged(booking, event.getOldStatus(), event.getNewStatus());
+        return dispatcher.deliver(observer, call);
+    }
+
+    private void fail(BookingOutboxEvent event, String token, Throwable error, LocalDateTime now) {
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        if (message.length() > 1000) message = message.substring(0, 1000);
+
+        int attempt = event.getAttempts() + 1;
+        if (error instanceof Undeliverable || attempt >= maxAttempts) {
+            outboxRepository.markDead(event.getId(), token, now, message);
+            deadLettered.incrementAndGet();
+            log.error("BookingOutboxRelay: event {} for observer {} dead-lettered after {} attempts: {}",
+                    event.getId(), event.getObserverName(), attempt, message);
+        } else {
+            long delayMs = Math.min(retryMaxMs, retryBaseMs << Math.min(attempt - 1, 20));
+            outboxRepository.markRetry(event.getId(), token, now.plusNanos(delayMs * 1_000_000L), message);
+            retried.incrementAndGet();
+            log.warn("BookingOutboxRelay: event {} for observer {} failed (attempt {}), retrying in {} ms: {}",
+                    event.getId(), event.getObserverName(), attempt, delayMs, message);
+        }
+    }
+
+    // Failure that retrying cannot fix
+    private static final class Undeliverable extends RuntimeException {
+        Undeliverable(String message) {
+            super(message);
+        }
+    }
+}
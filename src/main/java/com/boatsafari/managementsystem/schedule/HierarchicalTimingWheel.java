@@ -0,0 +1,130 @@
+package com.boatsafari.managementsystem.schedule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for id -> deadline timers.
+ *
+ * Level 0 has {@code wheelSize} buckets of {@code tickMs} each; every higher level's tick is the
+ * full span of the level below, so a 1s x 60 wheel covers a minute at level 0, an hour at
+ * level 1 and so on. Adding and expiring a timer is O(1); entries in a higher level bucket are
+ * cascaded down when the clock reaches the start of that bucket.
+ *
+ * Timers never fire early: an entry is returned by {@link #advance(long)} on the first tick at
+ * or after its deadline. Not thread-safe on its own - callers synchronize.
+ */
+class HierarchicalTimingWheel {
+
+    private static final class Entry {
+        final long id;
+        final long deadline;
+
+        Entry(long id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class Level {
+        final long tick;
+        final ArrayDeque<Entry>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long tick, int size) {
+            this.tick = tick;
+            this.buckets = new ArrayDeque[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private final List<Long> due = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - (startMs % tickMs);
+        levels.add(new Level(tickMs, wheelSize));
+    }
+
+    /**
+     * Schedule an id to fire at the given epoch-millis deadline
+     */
+    void add(long id, long deadline) {
+        size++;
+        place(new Entry(id, deadline));
+    }
+
+    /**
+     * Move the clock forward to {@code nowMs}
+     * @return ids whose deadline has been reached, in no particular order
+     */
+    List<Long> advance(long nowMs) {
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+
+            // Cascade higher levels whose bucket starts now, coarsest first
+            for (int i = levels.size() - 1; i > 0; i--) {
+                Level level = levels.get(i);
+                if (currentTime % level.tick == 0) {
+                    drain(level.buckets[bucketIndex(level, currentTime)]);
+                }
+            }
+            // Level 0 bucket that just closed holds deadlines in [currentTime - tick, currentTime)
+            Level base = levels.get(0);
+            drain(base.buckets[bucketIndex(base, currentTime - tickMs)]);
+        }
+        List<Long> fired = new ArrayList<>(due);
+        due.clear();
+        size -= fired.size();
+        return fired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long currentTime() {
+        return currentTime;
+    }
+
+    private void drain(ArrayDeque<Entry> bucket) {
+        int n = bucket.size();
+        for (int i = 0; i < n; i++) {
+            place(bucket.poll());
+        }
+    }
+
+    private void place(Entry entry) {
+        if (entry.deadline <= currentTime) {
+            due.add(entry.id);
+            return;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level(levels.get(i - 1).tick * wheelSize, wheelSize));
+            }
+            Level level = levels.get(i);
+            long levelStart = currentTime - (currentTime % level.tick);
+            if (entry.deadline < levelStart + level.tick * wheelSize) {
+                level.buckets[bucketIndex(level, entry.deadline)].add(entry);
+                return;
+            }
+        }
+    }
+
+    private int bucketIndex(Level level, long time) {
+        return (int) ((time / level.tick) % wheelSize);
+    }
+}
@@ -0,0 +1,164 @@
+package com.boatsafari.managementsystem.schedule;
+
+import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.repository.BookingRepository;
+import com.boatsafari.managementsystem.service.SeatInventoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Releases PROVISIONAL bookings whose hold timer has passed.
+ *
+ * Pending holds live in an in-memory hierarchical timing wheel (rebuilt from the database on
+ * startup) so each tick only touches holds that are actually due. Due holds are expired in
+ * batched bulk UPDATEs and their seats returned to the trip's inventory. A slower database
+ * sweep picks up holds this node never saw, e.g. ones created on another instance.
+ */
+@Component
+public class HoldExpiryReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldExpiryReaper.class);
+
+    private final BookingRepository bookingRepository;
+    private final SeatInventoryService seatInventoryService;
+
+    @Value("${app.holds.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.holds.wheel-size:60}")
+    private int wheelSize;
+
+    @Value("${app.holds.batch-size:500}")
+    private int batchSize;
+
+    private HierarchicalTimingWheel wheel;
+
+    // Metrics
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong totalExpired = new AtomicLong();
+    private final AtomicLong lastTickExpired = new AtomicLong();
+    private final AtomicLong maxTickExpired = new AtomicLong();
+    private final AtomicLong sweepExpired = new AtomicLong();
+
+    public HoldExpiryReaper(BookingRepository bookingRepository, SeatInventoryService seatInventoryService) {
+        this.bookingRepository = bookingRepository;
+        this.seatInventoryService = seatInventoryService;
+    }
+
+    // Rebuild the wheel once after application starts
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildFromDatabase() {
+        List<BookingRepository.PendingHold> holds = bookingRepository.findPendingHolds();
+        HierarchicalTimingWheel rebuilt = new HierarchicalTimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+        for (BookingRepository.PendingHold hold : holds) {
+            rebuilt.add(hold.getBookingId(), toEpochMillis(hold.getHoldTimer()));
+        }
+        synchronized (this) {
+            wheel = rebuilt;
+        }
+        log.info("HoldExpiryReaper (startup): tracking {} provisional holds", holds.size());
+    }
+
+    /**
+     * Start tracking a newly created provisional booking
+     */
+    public void track(Booking booking) {
+        if (booking.getBookingId() == null || booking.getHoldTimer() == null
+                || !"PROVISIONAL".equalsIgnoreCase(booking.getStatus())) {
+            return;
+        }
+        synchronized (this) {
+            if (wheel != null) {
+                wheel.add(booking.getBookingId(), toEpochMillis(booking.getHoldTimer()));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.tick-ms:1000}", initialDelayString = "${app.holds.tick-ms:1000}")
+    public void tick() {
+        List<Long> due;
+        synchronized (this) {
+            if (wheel == null) return;
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        ticks.incrementAndGet();
+
+        int expired = 0;
+        if (!due.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            for (int from = 0; from < due.size(); from += batchSize) {
+                List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+                try {
+                    expired += seatInventoryService.expireHolds(batch, now);
+                } catch (Exception e) {
+                    // Leave them for the database sweep rather than losing them
+                    log.error("HoldExpiryReaper: failed to expire batch of {} holds: {}", batch.size(), e.getMessage());
+                }
+            }
+        }
+        record(expired);
+        if (expired > 0) log.info("HoldExpiryReaper (tick): expired {} provisional holds", expired);
+    }
+
+    // Catch holds not in this node's wheel
+    @Scheduled(fixedDelayString = "${app.holds.sweep-interval-ms:300000}",
+               initialDelayString = "${app.holds.sweep-interval-ms:300000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        List<Long> batch;
+        do {
+            batch = bookingRepository.findExpiredHoldIds(now, PageRequest.of(0, batchSize));
+            int n = batch.isEmpty() ? 0 : seatInventoryService.expireHolds(batch, now);
+            expired += n;
+            if (n == 0) break; // nothing changed - avoid spinning on rows we cannot expire
+        } while (batch.size() == batchSize);
+
+        if (expired > 0) {
+            sweepExpired.addAndGet(expired);
+            totalExpired.addAndGet(expired);
+            log.info("HoldExpiryReaper (sweep): expired {} untracked provisional holds", expired);
+        }
+    }
+
+    /**
+     * Snapshot of reaper metrics for the admin dashboard
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("trackedHolds", wheel != null ? wheel.size() : 0);
+        }
+        stats.put("tickMs", tickMs);
+        stats.put("batchSize", batchSize);
+        stats.put("ticks", ticks.get());
+        stats.put("totalExpired", totalExpired.get());
+        stats.put("lastTickExpired", lastTickExpired.get());
+        stats.put("maxTickExpired", maxTickExpired.get());
+        stats.put("sweepExpired", sweepExpired.get());
+        return stats;
+    }
+
+    private void record(int expired) {
+        lastTickExpired.set(expired);
+        totalExpired.addAndGet(expired);
+        maxTickExpired.accumulateAndGet(expired, Math::max);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
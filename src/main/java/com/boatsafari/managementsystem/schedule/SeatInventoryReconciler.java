@@ -0,0 +1,33 @@
+package com.boatsafari.managementsystem.schedule;
+
+import com.boatsafari.managementsystem.service.SeatInventoryService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the per-trip seat counters from the bookings table so rows written before the
+ * inventory columns existed (or edited directly in the database) are accounted for.
+ */
+@Component
+public class SeatInventoryReconciler {
+
+    private final SeatInventoryService seatInventoryService;
+
+    public SeatInventoryReconciler(SeatInventoryService seatInventoryService) {
+        this.seatInventoryService = seatInventoryService;
+    }
+
+    // Run once after application starts
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartupReconcile() {
+        seatInventoryService.reconcile();
+    }
+
+    // Run daily at 00:30, after TripDateRefresher has rolled trip dates
+    @Scheduled(cron = "0 30 0 * * *")
+    public void nightlyReconcile() {
+        seatInventoryService.reconcile();
+    }
+}
@@ -2,6 +2,7 @@
 package com.boatsafari.managementsystem.schedule;
 
 import com.boatsafari.managementsystem.repository.TripRepository;
+import com.boatsafari.managementsystem.service.TripCatalogService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,12 +21,14 @@ public class TripDateRefresher {
     private static final Logger log = LoggerFactory.getLogger(TripDateRefresher.class);
 
     private final TripRepository tripRepository;
+    private final TripCatalogService tripCatalogService;
 
     @Value("${app.timezone:Asia/Colombo}")
     private String appTimezone;
 
-    public TripDateRefresher(TripRepository tripRepository) {
+    public TripDateRefresher(TripRepository tripRepository, TripCatalogService tripCatalogService) {
         this.tripRepository = tripRepository;
+        this.tripCatalogService = tripCatalogService;
     }
 
     private LocalDate today() {
@@ -37,6 +40,8 @@ public class TripDateRefresher {
     @Transactional
     public void onStartupRefresh() {
         int updated = tripRepository.bulkRollPastTripsToToday(today());
+        // Bulk updates skip the entity listeners, so the public catalog is cleared here
+        if (updated > 0) tripCatalogService.invalidate();
         if (updated > 0) log.info("TripDateRefresher (startup): rolled {} trips to today {}", updated, today());
         else log.info("TripDateRefresher (startup): no trips needed date refresh");
     }
@@ -46,6 +51,7 @@ public class TripDateRefresher {
     @Transactional
     public void nightlyRefresh() {
         int updated = tripRepository.bulkRollPastTripsToToday(today());
+        if (updated > 0) tripCatalogService.invalidate();
         if (updated > 0) log.info("TripDateRefresher (nightly): rolled {} trips to today {}", updated, today());
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.model.AuditLogEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Audit trail lookups for IT support, newest first.
+ *
+ * Pages continue from the id of the last row (keyset), so each page is an index seek on
+ * (booking_id, id), (customer_email, id) or the primary key however far back the caller reads.
+ */
+@Service
+public class AuditLogService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public record Filter(Long bookingId, String customerEmail, LocalDateTime from, LocalDateTime to) {
+    }
+
+    public record Page(List<AuditLogEntry> items, String nextCursor) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * One page of matching entries
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException for a malformed cursor
+     */
+    @Transactional(readOnly = true)
+    public Page search(Filter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLogEntry> query = cb.createQuery(AuditLogEntry.class);
+        Root<AuditLogEntry> a = query.from(AuditLogEntry.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.bookingId() != null) {
+            where.add(cb.equal(a.get("bookingId"), filter.bookingId()));
+        }
+        if (filter.customerEmail() != null) {
+            where.add(cb.equal(a.get("customerEmail"), filter.customerEmail().trim().toLowerCase()));
+        }
+        if (filter.from() != null) {
+            where.add(cb.greaterThanOrEqualTo(a.get("eventTime"), filter.from()));
+        }
+        if (filter.to() != null) {
+            where.add(cb.lessThan(a.get("eventTime"), filter.to()));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            where.add(cb.lessThan(a.get("id"), decodeCursor(cursor)));
+        }
+        query.select(a).where(where.toArray(new Predicate[0])).orderBy(cb.desc(a.get("id")));
+
+        // One extra row tells whether another page exists
+        List<AuditLogEntry> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        if (rows.size() <= limit) {
+            return new Page(rows, null);
+        }
+        List<AuditLogEntry> items = new ArrayList<>(rows.subList(0, limit));
+        return new Page(items, encodeCursor(items.get(items.size() - 1).getId()));
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.model.AuditLogEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffered writer for the audit_log table.
+ *
+ * {@link #append(AuditLogEntry)} only offers the entry to a lock-free queue. A background thread
+ * writes the queue with JDBC batch inserts (one transaction per batch) whenever batch-size
+ * entries are waiting or flush-interval-ms has passed. If a batch fails or takes longer than
+ * slow-batch-ms, the writer switches to an append-only local file for degraded-backoff-ms
+ * before trying the database again; entries that do not fit in the buffer go to the file too.
+ * The file is tab-separated and kept for manual import.
+ */
+@Service
+public class AuditLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String INSERT_SQL = "insert into audit_log " +
+            "(event_time, event_type, booking_id, trip_id, customer_email, old_status, new_status, details) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.max-buffered:50000}")
+    private int maxBuffered;
+
+    @Value("${app.audit.slow-batch-ms:2000}")
+    private long slowBatchMs;
+
+    @Value("${app.audit.degraded-backoff-ms:30000}")
+    private long degradedBackoffMs;
+
+    @Value("${app.audit.fallback-file:logs/audit-fallback.log}")
+    private String fallbackFile;
+
+    private final ConcurrentLinkedQueue<AuditLogEntry> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "audit-log-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile long degradedUntil;
+    // Serializes fallback file appends; a lock so request threads that overflow do not pin a carrier on file I/O
+    private final ReentrantLock fileLock = new ReentrantLock();
+
+    // Metrics
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong writtenToFile = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong slowBatches = new AtomicLong();
+    private volatile long lastBatchMs;
+
+    public AuditLogWriter(DataSource dataSource, @Value("${app.audit.db-timeout-seconds:5}") int dbTimeoutSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout(dbTimeoutSeconds);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue an entry; never blocks on the database
+     */
+    public void append(AuditLogEntry entry) {
+        if (buffered.incrementAndGet() > maxBuffered) {
+            buffered.decrementAndGet();
+            overflowed.incrementAndGet();
+            writeToFile(List.of(entry));
+            return;
+        }
+        buffer.offer(entry);
+        if (buffered.get() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushSafely);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false); // shutting down; the final flush picks it up
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buffered", buffered.get());
+        stats.put("written", written.get());
+        stats.put("writtenToFile", writtenToFile.get());
+        stats.put("overflowed", overflowed.get());
+        stats.put("failedBatches", failedBatches.get());
+        stats.put("slowBatches", slowBatches.get());
+        stats.put("lastBatchMs", lastBatchMs);
+        stats.put("degraded", System.currentTimeMillis() < degradedUntil);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flushSafely() {
+        flushScheduled.set(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("AuditLogWriter: flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void flush() {
+        while (true) {
+            List<AuditLogEntry> batch = new ArrayList<>(batchSize);
+            AuditLogEntry entry;
+            while (batch.size() < batchSize && (entry = buffer.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) return;
+            buffered.addAndGet(-batch.size());
+            write(batch);
+            if (batch.size() < batchSize) return;
+        }
+    }
+
+    private void write(List<AuditLogEntry> batch) {
+        if (System.currentTimeMillis() < degradedUntil) {
+            writeToFile(batch);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, e) -> {
+                        ps.setTimestamp(1, Timestamp.valueOf(e.getEventTime()));
+                        ps.setString(2, e.getEventType());
+                        ps.setObject(3, e.getBookingId(), Types.BIGINT);
+                        ps.setObject(4, e.getTripId(), Types.BIGINT);
+                        ps.setString(5, e.getCustomerEmail());
+                        ps.setString(6, e.getOldStatus());
+                        ps.setString(7, e.getNewStatus());
+                        ps.setString(8, e.getDetails());
+                    }));
+            written.addAndGet(batch.size());
+        } catch (DataAccessException e) {
+            failedBatches.incrementAndGet();
+            degrade("batch insert failed: " + e.getMessage());
+            writeToFile(batch);
+            return;
+        } finally {
+            lastBatchMs = (System.nanoTime() - start) / 1_000_000;
+        }
+        if (lastBatchMs > slowBatchMs) {
+            slowBatches.incrementAndGet();
+            degrade("batch of " + batch.size() + " took " + lastBatchMs + " ms");
+        }
+    }
+
+    private void degrade(String reason) {
+        degradedUntil = System.currentTimeMillis() + degradedBackoffMs;
+        log.warn("AuditLogWriter: {}; writing to {} for the next {} ms", reason, fallbackFile, degradedBackoffMs);
+    }
+
+    private void writeToFile(List<AuditLogEntry> entries) {
+        fileLock.lock();
+        try {
+            Path path = Paths.get(fallbackFile);
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditLogEntry e : entries) {
+                        out.write(String.join("\t", String.valueOf(e.getEventTime()), field(e.getEventType()),
+                                field(e.getBookingId()), field(e.getTripId()), field(e.getCustomerEmail()),
+                                field(e.getOldStatus()), field(e.getNewStatus()), field(e.getDetails())));
+                        out.newLine();
+                    }
+                }
+                writtenToFile.addAndGet(entries.size());
+            } catch (IOException e) {
+                // Last resort: keep the entries in the application log
+                log.error("AuditLogWriter: cannot write {}: {}", fallbackFile, e.getMessage());
+                entries.forEach(entry -> log.warn("AUDIT {}", entry));
+            }
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    private static String field(Object value) {
+        return value == null ? "" : value.toString().replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,92 @@
+package com.boatsafari.managementsystem.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of boat catalog query results for {@link BoatService}.
+ *
+ * Any boat change clears the whole catalog: the boat table is small and rarely written, so
+ * per-entry invalidation is not worth the bookkeeping. Invalidation swaps in a new map, so a
+ * load that started before the change can only populate the discarded one. Entries also expire
+ * after ttl-ms, which bounds staleness from changes made on other nodes.
+ * Cached values must be immutable; callers copy entities before handing them out.
+ */
+@Component
+public class BoatCatalogCache {
+
+    private record Generation(Map<String, Object> entries, long createdAt) {
+    }
+
+    @Value("${app.boats.cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${app.boats.cache-max-entries:256}")
+    private int maxEntries;
+
+    private volatile Generation current = new Generation(new ConcurrentHashMap<>(), System.currentTimeMillis());
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        Generation generation = current;
+        if (System.currentTimeMillis() - generation.createdAt() > ttlMs) {
+            generation = reset();
+        }
+        Object cached = generation.entries().get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return (T) cached;
+        }
+        misses.incrementAndGet();
+        T loaded = loader.get();
+        // Free-text keys (name search, types) are unbounded; stop caching new ones when full
+        if (loaded != null && generation.entries().size() < maxEntries) {
+            generation.entries().putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop everything now and again once the surrounding transaction commits
+     */
+    public void invalidate() {
+        reset();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reset();
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", current.entries().size());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private Generation reset() {
+        invalidations.incrementAndGet();
+        Generation fresh = new Generation(new ConcurrentHashMap<>(), System.currentTimeMillis());
+        current = fresh;
+        return fresh;
+    }
+}
@@ -5,21 +5,30 @@ import com.boatsafari.managementsystem.model.Boat;
 import com.boatsafari.managementsystem.repository.BoatRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Boat catalog reads go through {@link BoatCatalogCache}; every write invalidates it.
+ * Cached boats are shared, so callers always receive copies they are free to modify.
+ */
 @Service
 public class BoatService {
 
     @Autowired
     private BoatRepository boatRepository;
 
+    @Autowired
+    private BoatCatalogCache catalogCache;
+
     public List<Boat> getAllBoats() {
-        return boatRepository.findAll();
+        return copies(catalogCache.get("all", () -> List.copyOf(boatRepository.findAll())));
     }
 
     public Optional<Boat> getBoatById(Long id) {
-        return boatRepository.findById(id);
+        return Optional.ofNullable(catalogCache.get("id:" + id, () -> boatRepository.findById(id).orElse(null)))
+                .map(BoatService::copy);
     }
 
     /**
@@ -28,7 +37,7 @@ public class BoatService {
      * @return The Boat or null if not found
      */
     public Boat getBoatByIdDirect(Long id) {
-        Optional<Boat> boatOpt = boatRepository.findById(id);
+        Optional<Boat> boatOpt = getBoatById(id);
         return boatOpt.orElse(null);
     }
 
@@ -38,7 +47,9 @@ public class BoatService {
      * @return The updated boat
      */
     public Boat updateBoat(Boat boat) {
-        return boatRepository.save(boat);
+        Boat saved = boatRepository.save(boat);
+        catalogCache.invalidate();
+        return saved;
     }
 
     /**
@@ -47,7 +58,9 @@ public class BoatService {
      * @return The saved boat
      */
     public Boat saveBoat(Boat boat) {
-        return boatRepository.save(boat);
+        Boat saved = boatRepository.save(boat);
+        catalogCache.invalidate();
+        return saved;
     }
 
     /**
@@ -56,6 +69,7 @@ public class BoatService {
      */
     public void deleteBoat(Long id) {
         boatRepository.deleteById(id);
+        catalogCache.invalidate();
     }
 
     /**
@@ -64,7 +78,7 @@ public class BoatService {
      * @return true if boat exists, false otherwise
      */
     public boolean existsById(Long id) {
-        return boatRepository.existsById(id);
+        return getBoatById(id).isPresent();
     }
 
     /**
@@ -73,9 +87,7 @@ public class BoatService {
      * @return List of boats with the given status
      */
     public List<Boat> getBoatsByStatus(String status) {
-        return boatRepository.findAll().stream()
-                .filter(boat -> status.equals(boat.getStatus()))
-                .toList();
+        return copies(catalogCache.get("status:" + status, () -> List.copyOf(boatRepository.findByStatus(status))));
     }
 
     /**
@@ -92,9 +104,7 @@ public class BoatService {
      * @return List of boats with the given type
      */
     public List<Boat> getBoatsByType(String type) {
-        return boatRepository.findAll().stream()
-                .filter(boat -> type.equals(boat.getType()))
-                .toList();
+        return copies(catalogCache.get("type:" + type, () -> List.copyOf(boatRepository.findByType(type))));
     }
 
     /**
@@ -103,9 +113,8 @@ public class BoatService {
      * @return List of boats with capacity >= minCapacity
      */
     public List<Boat> getBoatsByMinCapacity(Integer minCapacity) {
-        return boatRepository.findAll().stream()
-                .filter(boat -> boat.getCapacity() != null && boat.getCapacity() >= minCapacity)
-                .toList();
+        return copies(catalogCache.get("minCapacity:" + minCapacity,
+                () -> List.copyOf(boatRepository.findByCapacityGreaterThanEqual(minCapacity))));
     }
 
     /**
@@ -114,10 +123,9 @@ public class BoatService {
      * @return List of boats containing the specified name
      */
     public List<Boat> searchBoatsByName(String name) {
-        return boatRepository.findAll().stream()
-                .filter(boat -> boat.getBoatName() != null && 
-                               boat.getBoatName().toLowerCase().contains(name.toLowerCase()))
-                .toList();
+        String key = name.toLowerCase();
+        return copies(catalogCache.get("name:" + key,
+                () -> List.copyOf(boatRepository.findByBoatNameContainingIgnoreCase(key))));
     }
 
     /**
@@ -125,7 +133,7 @@ public class BoatService {
      * @return Total number of boats
      */
     public long getBoatCount() {
-        return boatRepository.count();
+        return catalogCache.get("count", boatRepository::count);
     }
 
     /**
@@ -134,6 +142,28 @@ public class BoatService {
      * @return Number of boats with the given status
      */
     public long getBoatCountByStatus(String status) {
-        return getBoatsByStatus(status).size();
+        return catalogCache.get("count:" + status, () -> boatRepository.countByStatus(status));
+    }
+
+    private static List<Boat> copies(List<Boat> boats) {
+        List<Boat> result = new ArrayList<>(boats.size());
+        for (Boat boat : boats) {
+            result.add(copy(boat));
+        }
+        return result;
+    }
+
+    private static Boat copy(Boat boat) {
+        Boat copy = new Boat();
+        copy.setBoatId(boat.getBoatId());
+        copy.setBoatName(boat.getBoatName());
+        copy.setModel(boat.getModel());
+        copy.setFeatures(boat.getFeatures());
+        copy.setRegistrationNumber(boat.getRegistrationNumber());
+        copy.setStatus(boat.getStatus());
+        copy.setCapacity(boat.getCapacity());
+        copy.setDescription(boat.getDescription());
+        copy.setType(boat.getType());
+        return copy;
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.model.Boat;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Pushes committed boat status changes to the staff live feed ({@link StaffEventBus}).
+ * Boats are updated from several controllers, and this is the one place that sees all of them.
+ */
+@Component
+public class BoatStatusFeedListener implements PostCommitUpdateEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StaffEventBus staffEventBus;
+
+    public BoatStatusFeedListener(EntityManagerFactory entityManagerFactory, StaffEventBus staffEventBus) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.staffEventBus = staffEventBus;
+    }
+
+    @PostConstruct
+    public void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Boat.class;
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Boat boat) || event.getOldState() == null) {
+            return;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        Object oldStatus = null;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals("status")) oldStatus = event.getOldState()[i];
+        }
+        if (!Objects.equals(oldStatus, boat.getStatus())) {
+            staffEventBus.publish("boat", "MAINTENANCE".equalsIgnoreCase(boat.getStatus()) ? "warning" : "info",
+                    "Boat \"" + boat.getBoatName() + "\" is now " + boat.getStatus());
+        }
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+}
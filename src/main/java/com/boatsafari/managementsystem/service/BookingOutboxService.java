@@ -0,0 +1,122 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.model.BookingOutboxEvent;
+import com.boatsafari.managementsystem.observer.BookingObserver;
+import com.boatsafari.managementsystem.repository.BookingOutboxRepository;
+import com.boatsafari.managementsystem.repository.KeyCount;
+import com.boatsafari.managementsystem.schedule.BookingOutboxRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional outbox for booking notifications.
+ *
+ * Instead of calling observers directly, booking changes write one outbox row per observer in
+ * the same transaction as the booking itself, so a notification exists if and only if the
+ * change committed. {@link BookingOutboxRelay} delivers the rows, retrying failures and
+ * dead-lettering events that keep failing.
+ */
+@Service
+public class BookingOutboxService {
+
+    private final BookingOutboxRepository outboxRepository;
+    private final BookingOutboxRelay relay;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    public BookingOutboxService(BookingOutboxRepository outboxRepository, BookingOutboxRelay relay) {
+        this.outboxRepository = outboxRepository;
+        this.relay = relay;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Transactional
+    public void recordCreated(Booking booking, List<BookingObserver> observers) {
+        record(BookingOutboxEvent.CREATED, booking, null, null, observers);
+    }
+
+    @Transactional
+    public void recordStatusChanged(Booking booking, String oldStatus, String newStatus, List<BookingObserver> observers) {
+        record(BookingOutboxEvent.STATUS_CHANGED, booking, oldStatus, newStatus, observers);
+    }
+
+    /**
+     * Event counts by status plus the most recent dead letters
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (KeyCount row : outboxRepository.countByStatus()) {
+            byStatus.put(row.getGroupKey(), row.getTotal());
+        }
+        List<Map<String, Object>> dead = new ArrayList<>();
+        for (BookingOutboxEvent event : outboxRepository.findTop100ByStatusOrderByIdDesc("DEAD")) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", event.getId());
+            entry.put("eventType", event.getEventType());
+            entry.put("observer", event.getObserverName());
+            entry.put("bookingId", event.getBookingId());
+            entry.put("attempts", event.getAttempts());
+            entry.put("lastError", event.getLastError());
+            entry.put("processedAt", event.getProcessedAt());
+            dead.add(entry);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("byStatus", byStatus);
+        stats.put("relay", relay.getStats());
+        stats.put("deadLetters", dead);
+        return stats;
+    }
+
+    /**
+     * Queue dead-lettered events for delivery again
+     * @param id a single event, or null for all of them
+     * @return number of events requeued
+     */
+    public int requeueDead(Long id) {
+        int requeued = outboxRepository.requeueDead(id, LocalDateTime.now());
+        if (requeued > 0) relay.wakeUp();
+        return requeued;
+    }
+
+    private void record(String type, Booking booking, String oldStatus, String newStatus, List<BookingObserver> observers) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingOutboxEvent> events = new ArrayList<>(observers.size());
+        for (BookingObserver observer : observers) {
+            BookingOutboxEvent event = new BookingOutboxEvent();
+            event.setEventType(type);
+            event.setObserverName(observer.getObserverName());
+            event.setBookingId(booking.getBookingId());
+            event.setOldStatus(oldStatus);
+            event.setNewStatus(newStatus);
+            event.setNextAttemptAt(now);
+            event.setCreatedAt(now);
+            events.add(event);
+        }
+        outboxRepository.saveAll(events);
+
+        // Deliver right after commit on this node instead of waiting for the next poll
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.wakeUp();
+                }
+            });
+        }
+    }
+}
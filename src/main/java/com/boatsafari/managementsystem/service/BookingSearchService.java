@@ -0,0 +1,263 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.dto.BookingDetailDTO;
+import com.boatsafari.managementsystem.model.Boat;
+import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.model.SafariGuide;
+import com.boatsafari.managementsystem.model.Trip;
+import com.boatsafari.managementsystem.model.User;
+import com.boatsafari.managementsystem.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Filtered, keyset-paginated booking search for the IT support dashboard.
+ *
+ * Filters are {@link Specification}s so they run in the database, and rows are read as a single
+ * scalar projection over booking -> customer/trip -> boat/guide left joins, so no entity graphs
+ * are loaded. Pages continue from an opaque cursor (the sort key of the last row) instead of an
+ * OFFSET, which keeps every page equally cheap however deep the caller reads.
+ */
+@Service
+public class BookingSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Sort key for bookings without a trip, so tripDate ordering is the same on every database
+    private static final LocalDate NO_DATE = LocalDate.of(1900, 1, 1);
+
+    public enum SortField { BOOKING_ID, TRIP_DATE }
+
+    public record Filter(String status, String customerEmail, String customerName, Long tripId,
+                         LocalDate fromDate, LocalDate toDate) {
+    }
+
+    public record Page(List<BookingDetailDTO> items, String nextCursor) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BookingRepository bookingRepository;
+
+    public BookingSearchService(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * One page of matching bookings
+     * @param sort "bookingId" or "tripDate", optionally suffixed with ",asc" / ",desc" (default bookingId,desc)
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException for an unknown sort or a malformed cursor
+     */
+    @Transactional(readOnly = true)
+    public Page search(Filter filter, String sort, String cursor, int size) {
+        SortField field = parseSortField(sort);
+        boolean ascending = sort != null && sort.toLowerCase().endsWith(",asc");
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Booking> b = query.from(Booking.class);
+        Join<Booking, User> customer = join(b, "customer");
+        Join<Booking, Trip> trip = join(b, "trip");
+        Join<Trip, Boat> boat = join(trip, "boat");
+        Join<Trip, SafariGuide> guide = join(trip, "guide");
+
+        Expression<Long> id = b.get("bookingId");
+        Expression<LocalDate> tripDate = cb.coalesce(trip.<LocalDate>get("date"), NO_DATE);
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate matching = matching(filter).toPredicate(b, query, cb);
+        if (matching != null) where.add(matching);
+        if (cursor != null && !cursor.isBlank()) {
+            where.add(after(cb, field, ascending, decodeCursor(cursor, field), id, tripDate));
+        }
+
+        List<Order> orderBy = new ArrayList<>();
+        if (field == SortField.TRIP_DATE) {
+            orderBy.add(ascending ? cb.asc(tripDate) : cb.desc(tripDate));
+        }
+        orderBy.add(ascending ? cb.asc(id) : cb.desc(id));
+
+        query.multiselect(
+                id.alias("bookingId"), b.get("status").alias("status"), b.get("passengers").alias("passengers"),
+                customer.get("userId").alias("customerId"), customer.get("firstName").alias("firstName"),
+                customer.get("secondName").alias("secondName"), customer.get("email").alias("email"),
+                customer.get("contactNo").alias("contactNo"),
+                trip.get("tripId").alias("tripId"), trip.get("name").alias("tripName"),
+                trip.get("date").alias("tripDate"), trip.get("location").alias("location"),
+                trip.get("price").alias("price"),
+                boat.get("boatName").alias("boatName"), boat.get("capacity").alias("boatCapacity"),
+                guide.get("firstName").alias("guideFirstName"), guide.get("secondName").alias("guideSecondName"))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(orderBy);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDetailDTO> items = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            items.add(toDto(rows.get(i), now));
+        }
+        String nextCursor = rows.size() > limit ? encodeCursor(field, items.get(items.size() - 1)) : null;
+        return new Page(items, nextCursor);
+    }
+
+    /**
+     * Total number of bookings matching the filter (separate query, only when asked for)
+     */
+    @Transactional(readOnly = true)
+    public long count(Filter filter) {
+        return bookingRepository.count(matching(filter));
+    }
+
+    /**
+     * Booking filters as a specification; joins are shared with the projection when present
+     */
+    public static Specification<Booking> matching(Filter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status().toUpperCase()));
+            }
+            if (filter.customerEmail() != null) {
+                Join<Booking, User> customer = join(root, "customer");
+                predicates.add(cb.like(cb.lower(customer.get("email")), contains(filter.customerEmail()), '\\'));
+            }
+            if (filter.customerName() != null) {
+                Join<Booking, User> customer = join(root, "customer");
+                Expression<String> fullName = cb.concat(cb.concat(customer.get("firstName"), " "), customer.get("secondName"));
+                predicates.add(cb.like(cb.lower(fullName), contains(filter.customerName()), '\\'));
+            }
+            if (filter.tripId() != null) {
+                predicates.add(cb.equal(join(root, "trip").get("tripId"), filter.tripId()));
+            }
+            if (filter.fromDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(join(root, "trip").<LocalDate>get("date"), filter.fromDate()));
+            }
+            if (filter.toDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(join(root, "trip").<LocalDate>get("date"), filter.toDate()));
+            }
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static Predicate after(CriteriaBuilder cb, SortField field, boolean ascending, Object[] key,
+                                   Expression<Long> id, Expression<LocalDate> tripDate) {
+        Long lastId = (Long) key[key.length - 1];
+        Predicate idAfter = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+        if (field == SortField.BOOKING_ID) {
+            return idAfter;
+        }
+        LocalDate lastDate = (LocalDate) key[0];
+        Predicate dateAfter = ascending ? cb.greaterThan(tripDate, lastDate) : cb.lessThan(tripDate, lastDate);
+        return cb.or(dateAfter, cb.and(cb.equal(tripDate, lastDate), idAfter));
+    }
+
+    private static BookingDetailDTO toDto(Tuple row, LocalDateTime now) {
+        BookingDetailDTO dto = new BookingDetailDTO();
+        dto.setBookingId(row.get("bookingId", Long.class));
+        dto.setStatus(row.get("status", String.class));
+        dto.setNumberOfPassengers(row.get("passengers", Integer.class));
+        dto.setBookingDate(now); // Booking date not stored in model, using current time
+
+        Long customerId = row.get("customerId", Long.class);
+        if (customerId != null) {
+            dto.setCustomerId(customerId);
+            dto.setCustomerName(row.get("firstName", String.class) + " " + row.get("secondName", String.class));
+            dto.setCustomerEmail(row.get("email", String.class));
+            dto.setCustomerPhone(row.get("contactNo", String.class));
+        }
+
+        Long tripId = row.get("tripId", Long.class);
+        if (tripId != null) {
+            dto.setTripId(tripId);
+            dto.setTripName(row.get("tripName", String.class));
+            dto.setTripDate(row.get("tripDate", LocalDate.class));
+            dto.setTripLocation(row.get("location", String.class));
+            dto.setTripPrice(row.get("price", Double.class));
+            dto.setBoatName(row.get("boatName", String.class));
+            dto.setBoatCapacity(row.get("boatCapacity", Integer.class));
+            String guideFirstName = row.get("guideFirstName", String.class);
+            String guideSecondName = row.get("guideSecondName", String.class);
+            if (guideFirstName != null || guideSecondName != null) {
+                dto.setGuideName(guideFirstName + " " + guideSecondName);
+            }
+        }
+        return dto;
+    }
+
+    // ---- cursor: base64url of "id" or "yyyy-MM-dd|id" ----
+
+    private static String encodeCursor(SortField field, BookingDetailDTO last) {
+        String key = field == SortField.TRIP_DATE
+                ? (last.getTripDate() != null ? last.getTripDate() : NO_DATE) + "|" + last.getBookingId()
+                : String.valueOf(last.getBookingId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor, SortField field) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (field == SortField.BOOKING_ID) {
+                return new Object[] { Long.parseLong(key) };
+            }
+            String[] parts = key.split("\\|", 2);
+            return new Object[] { LocalDate.parse(parts[0]), Long.parseLong(parts[1]) };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static SortField parseSortField(String sort) {
+        String name = sort == null ? "bookingId" : sort.split(",", 2)[0].trim();
+        switch (name) {
+            case "bookingId":
+            case "":
+                return SortField.BOOKING_ID;
+            case "tripDate":
+                return SortField.TRIP_DATE;
+            default:
+                throw new IllegalArgumentException("Unsupported sort: " + name + " (use bookingId or tripDate)");
+        }
+    }
+
+    private static String contains(String value) {
+        String escaped = value.toLowerCase()
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <X, Y> Join<X, Y> join(From<?, X> from, String attribute) {
+        for (Join<X, ?> existing : from.getJoins()) {
+            if (existing.getAttribute().getName().equals(attribute)) {
+                return (Join<X, Y>) existing;
+            }
+        }
+        return from.join(attribute, JoinType.LEFT);
+    }
+}
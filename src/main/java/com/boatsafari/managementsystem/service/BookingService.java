@@ -8,6 +8,8 @@ import com.boatsafari.managementsystem.repository.BookingRepository;
 import com.boatsafari.managementsystem.repository.TripRepository;
 import com.boatsafari.managementsystem.util.CurrentUserUtil;
 import com.boatsafari.managementsystem.observer.BookingObserver;
+import com.boatsafari.managementsystem.observer.BookingObserverDispatcher;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 @Service
@@ -34,9 +37,18 @@ public class BookingService {
     @Autowired
     private CurrentUserUtil currentUserUtil;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
     // Observer Pattern Implementation
     private final List<BookingObserver> observers = new ArrayList<>();
 
+    // Runs observers after commit on their own executors, so slow ones never hold booking locks
+    private final BookingObserverDispatcher observerDispatcher;
+
+    // Durable alternative: notifications are written with the booking and delivered by the outbox relay
+    private final BookingOutboxService bookingOutboxService;
+
     /**
      * Constructor injection for observers - demonstrates Observer pattern with Spring DI
      */
@@ -44,10 +56,16 @@ public class BookingService {
     public BookingService(BookingRepository bookingRepository, 
                          TripRepository tripRepository,
                          CurrentUserUtil currentUserUtil,
+                         SeatInventoryService seatInventoryService,
+                         BookingObserverDispatcher observerDispatcher,
+                         BookingOutboxService bookingOutboxService,
                          List<BookingObserver> observers) {
         this.bookingRepository = bookingRepository;
         this.tripRepository = tripRepository;
         this.currentUserUtil = currentUserUtil;
+        this.seatInventoryService = seatInventoryService;
+        this.observerDispatcher = observerDispatcher;
+        this.bookingOutboxService = bookingOutboxService;
         this.observers.addAll(observers);
         
         log.info("BookingService initialized with {} observers: {}", 
@@ -55,6 +73,7 @@ public class BookingService {
                 observers.stream().map(BookingObserver::getObserverName).toList());
     }
 
+    @Timed(value = "booking.create", description = "Provisional booking with seat hold", histogram = true)
     @Transactional
     public Booking createProvisionalBooking(Long tripId, String name, String contact, String email, int passengers) {
         User user = currentUserUtil.getCurrentUser(); // throws IllegalArgumentException with clear message
@@ -75,17 +94,12 @@ public class BookingService {
             throw new IllegalArgumentException("Number of passengers must be at least 1");
         }
 
+        // Atomic conditional hold - rolled back with this transaction if anything below fails
+        seatInventoryService.holdSeats(tripId, passengers);
+
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new IllegalArgumentException("Trip not found"));
 
-        int bookedSeats = bookingRepository.findByTrip_TripId(tripId).stream()
-                .mapToInt(Booking::getPassengers).sum();
-
-        if (bookedSeats + passengers > trip.getCapacity()) {
-            int available = Math.max(0, trip.getCapacity() - bookedSeats);
-            throw new IllegalArgumentException("Not enough seats available. Available: " + available);
-        }
-
         BigDecimal totalCost = BigDecimal.valueOf(trip.getPrice())
                 .multiply(BigDecimal.valueOf(passengers));
 
@@ -109,6 +123,7 @@ public class BookingService {
         return saved;
     }
 
+    @Timed(value = "booking.confirm", description = "Provisional to confirmed booking", histogram = true)
     @Transactional
     public void confirmBooking(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
@@ -122,6 +137,7 @@ public class BookingService {
         }
 
         String oldStatus = booking.getStatus();
+        seatInventoryService.applyStatusChange(booking, oldStatus, "CONFIRMED");
         booking.setStatus("CONFIRMED");
         bookingRepository.save(booking);
         log.info("Booking confirmed: id={}", bookingId);
@@ -130,6 +146,42 @@ public class BookingService {
         notifyBookingStatusChanged(booking, oldStatus, "CONFIRMED");
     }
 
+    /**
+     * Confirm a booking that is being paid for. Unlike {@link #confirmBooking(Long)}, a lapsed hold
+     * is accepted, but only if the trip still has room for the booking's seats.
+     * @throws IllegalStateException if the seats are no longer available (nothing is changed)
+     */
+    @Transactional
+    public void confirmPaidBooking(Booking booking) {
+        String oldStatus = booking.getStatus();
+        if ("CONFIRMED".equalsIgnoreCase(oldStatus)) {
+            return;
+        }
+        seatInventoryService.applyStatusChange(booking, oldStatus, "CONFIRMED");
+        booking.setStatus("CONFIRMED");
+        bookingRepository.save(booking);
+        log.info("Booking confirmed on payment: id={}, was {}", booking.getBookingId(), oldStatus);
+
+        notifyBookingStatusChanged(booking, oldStatus, "CONFIRMED");
+    }
+
+    /**
+     * Delete a booking and give its seats back in the same transaction, so a failed delete
+     * leaves the trip's counters untouched
+     * @return false if the booking does not exist
+     */
+    @Transactional
+    public boolean deleteBooking(Long bookingId) {
+        Optional<Booking> booking = bookingRepository.findById(bookingId);
+        if (booking.isEmpty()) {
+            return false;
+        }
+        seatInventoryService.releaseSeats(booking.get());
+        bookingRepository.delete(booking.get());
+        log.info("Booking deleted: id={}", bookingId);
+        return true;
+    }
+
     /**
      * Update booking status and notify observers
      * This method demonstrates the Observer pattern in action
@@ -140,6 +192,7 @@ public class BookingService {
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
 
         String oldStatus = booking.getStatus();
+        seatInventoryService.applyStatusChange(booking, oldStatus, newStatus);
         booking.setStatus(newStatus);
         bookingRepository.save(booking);
         
@@ -157,13 +210,11 @@ public class BookingService {
     private void notifyBookingCreated(Booking booking) {
         log.info("Notifying {} observers about booking creation: {}", observers.size(), booking.getBookingId());
         
-        observers.forEach(observer -> {
-            try {
-                observer.onBookingCreated(booking);
-            } catch (Exception e) {
-                log.error("Error notifying observer {}: {}", observer.getObserverName(), e.getMessage());
-            }
-        });
+        if (bookingOutboxService.isEnabled()) {
+            bookingOutboxService.recordCreated(booking, observers);
+        } else {
+            observerDispatcher.dispatch(observers, observer -> observer.onBookingCreated(booking));
+        }
     }
     
     /**
@@ -173,13 +224,11 @@ public class BookingService {
         log.info("Notifying {} observers about status change: {} -> {}", 
                 observers.size(), oldStatus, newStatus);
         
-        observers.forEach(observer -> {
-            try {
-                observer.onBookingStatusChanged(booking, oldStatus, newStatus);
-            } catch (Exception e) {
-                log.error("Error notifying observer {}: {}", observer.getObserverName(), e.getMessage());
-            }
-        });
+        if (bookingOutboxService.isEnabled()) {
+            bookingOutboxService.recordStatusChanged(booking, oldStatus, newStatus, observers);
+        } else {
+            observerDispatcher.dispatch(observers, observer -> observer.onBookingStatusChanged(booking, oldStatus, newStatus));
+        }
     }
     
     /**
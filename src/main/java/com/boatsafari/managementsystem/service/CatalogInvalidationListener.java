@@ -0,0 +1,87 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.model.Boat;
+import com.boatsafari.managementsystem.model.Trip;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clears the catalogs served from memory when a boat or trip change commits: any boat change
+ * clears {@link BoatCatalogCache}, and any boat or trip change clears the public
+ * {@link TripCatalogService} snapshot. Boats and trips are written from several controllers,
+ * and this is the one place that sees all of them. Bulk JPQL and JDBC writes bypass these
+ * events and invalidate explicitly.
+ */
+@Component
+public class CatalogInvalidationListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final BoatCatalogCache boatCatalogCache;
+    private final TripCatalogService tripCatalogService;
+
+    public CatalogInvalidationListener(EntityManagerFactory entityManagerFactory, BoatCatalogCache boatCatalogCache,
+                                       TripCatalogService tripCatalogService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.boatCatalogCache = boatCatalogCache;
+        this.tripCatalogService = tripCatalogService;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Boat.class || type == Trip.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void invalidate(Object entity) {
+        if (entity instanceof Boat) boatCatalogCache.invalidate();
+        tripCatalogService.invalidate();
+    }
+}
@@ -0,0 +1,302 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.repository.BoatRepository;
+import com.boatsafari.managementsystem.repository.BookingRepository;
+import com.boatsafari.managementsystem.repository.FeedbackRepository;
+import com.boatsafari.managementsystem.repository.KeyCount;
+import com.boatsafari.managementsystem.repository.SupportTicketRepository;
+import com.boatsafari.managementsystem.repository.TripRepository;
+import com.boatsafari.managementsystem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory dashboard counters so dashboard polling never scans tables.
+ *
+ * Counters are seeded from GROUP BY queries, then kept current by
+ * {@code DashboardStatsEventListener} (post-commit Hibernate events) and by explicit calls for
+ * bulk JPQL updates that bypass those events. All changes go through {@link #apply(Consumer)}
+ * under one lock; readers get an immutable {@link Snapshot} that is only rebuilt after a change.
+ * A periodic resync from the database corrects any drift (e.g. rows edited by hand).
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    public record Snapshot(long version, Instant asOf,
+                           long totalBookings, Map<String, Long> bookingsByStatus, double revenue,
+                           long totalBoats, Map<String, Long> boatsByStatus,
+                           long totalTrips,
+                           long totalUsers, Map<String, Long> usersByRole,
+                           long totalFeedbacks, long repliedFeedbacks,
+                           long totalTickets, Map<String, Long> ticketsByStatus,
+                           Map<String, Long> ticketsByPriority, Map<String, Long> ticketsByCategory) {
+
+        public long bookings(String status) {
+            return bookingsByStatus.getOrDefault(status, 0L);
+        }
+
+        public long boats(String status) {
+            return boatsByStatus.getOrDefault(status, 0L);
+        }
+
+        public long users(String role) {
+            return usersByRole.getOrDefault(role, 0L);
+        }
+
+        public long tickets(String status) {
+            return ticketsByStatus.getOrDefault(status, 0L);
+        }
+    }
+
+    /**
+     * Mutable counters, only reachable inside {@link #apply(Consumer)}.
+     * Each method adds (sign = 1) or removes (sign = -1) one row's contribution.
+     */
+    public static final class Counters {
+        private final Map<String, Long> bookingsByStatus = new HashMap<>();
+        private double revenue;
+        private final Map<String, Long> boatsByStatus = new HashMap<>();
+        private long totalTrips;
+        private final Map<String, Long> usersByRole = new HashMap<>();
+        private long totalFeedbacks;
+        private long repliedFeedbacks;
+        private final Map<String, Long> ticketsByStatus = new HashMap<>();
+        private final Map<String, Long> ticketsByPriority = new HashMap<>();
+        private final Map<String, Long> ticketsByCategory = new HashMap<>();
+
+        public void booking(String status, double totalCost, int sign) {
+            add(bookingsByStatus, bookingKey(status), sign);
+            if (totalCost > 0) revenue += sign * totalCost;
+        }
+
+        public void bookingStatus(String from, String to, long count) {
+            add(bookingsByStatus, bookingKey(from), -count);
+            add(bookingsByStatus, bookingKey(to), count);
+        }
+
+        public void boat(String status, int sign) {
+            add(boatsByStatus, key(status), sign);
+        }
+
+        public void trip(int sign) {
+            totalTrips += sign;
+        }
+
+        public void user(String role, int sign) {
+            add(usersByRole, key(role), sign);
+        }
+
+        public void feedback(boolean replied, int sign) {
+            totalFeedbacks += sign;
+            if (replied) repliedFeedbacks += sign;
+        }
+
+        public void ticket(String status, String priority, String category, int sign) {
+            add(ticketsByStatus, key(status), sign);
+            add(ticketsByPriority, key(priority), sign);
+            add(ticketsByCategory, key(category), sign);
+        }
+
+        private Snapshot toSnapshot(long version) {
+            return new Snapshot(version, Instant.now(),
+                    sum(bookingsByStatus), Map.copyOf(bookingsByStatus), revenue,
+                    sum(boatsByStatus), Map.copyOf(boatsByStatus),
+                    totalTrips,
+                    sum(usersByRole), Map.copyOf(usersByRole),
+                    totalFeedbacks, repliedFeedbacks,
+                    sum(ticketsByStatus), Map.copyOf(ticketsByStatus),
+                    Map.copyOf(ticketsByPriority), Map.copyOf(ticketsByCategory));
+        }
+
+        private static void add(Map<String, Long> counts, String key, long delta) {
+            long value = counts.getOrDefault(key, 0L) + delta;
+            if (value == 0) {
+                counts.remove(key);
+            } else {
+                counts.put(key, value);
+            }
+        }
+
+        private static long sum(Map<String, Long> counts) {
+            long total = 0;
+            for (long value : counts.values()) total += value;
+            return total;
+        }
+    }
+
+    private final BookingRepository bookingRepository;
+    private final BoatRepository boatRepository;
+    private final TripRepository tripRepository;
+    private final UserRepository userRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final SupportTicketRepository supportTicketRepository;
+
+    @Value("${app.dashboard.resync-interval-ms:600000}")
+    private long resyncIntervalMs;
+
+    // Guards counters and version. The first snapshot seeds the counters from the database while
+    // holding it, which would pin a virtual thread's carrier inside a synchronized block
+    private final ReentrantLock lock = new ReentrantLock();
+    private Counters counters;
+    private long version;
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+    private volatile long lastSeededAt;
+
+    public DashboardStatsService(BookingRepository bookingRepository, BoatRepository boatRepository,
+                                 TripRepository tripRepository, UserRepository userRepository,
+                                 FeedbackRepository feedbackRepository,
+                                 SupportTicketRepository supportTicketRepository) {
+        this.bookingRepository = bookingRepository;
+        this.boatRepository = boatRepository;
+        this.tripRepository = tripRepository;
+        this.userRepository = userRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.supportTicketRepository = supportTicketRepository;
+    }
+
+    /**
+     * Current counters; O(1) unless something changed since the last call
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) return current;
+        lock.lock();
+        try {
+            if (counters == null) {
+                reseed();
+            }
+            if (snapshot == null) {
+                snapshot = counters.toSnapshot(version);
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply an incremental change atomically with respect to snapshots
+     */
+    public void apply(Consumer<Counters> change) {
+        lock.lock();
+        try {
+            if (counters == null) return; // not seeded yet - the seed will include this change
+            change.accept(counters);
+            version++;
+            snapshot = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record a bulk booking status change once the surrounding transaction commits
+     */
+    public void recordBulkStatusChange(String from, String to, long count) {
+        if (count <= 0) return;
+        afterCommit(() -> apply(c -> c.bookingStatus(from, to, count)));
+    }
+
+    /**
+     * Flag the counters for a full resync on the next check (used when a delta cannot be computed)
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        reseed();
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.resync-check-ms:30000}",
+               initialDelayString = "${app.dashboard.resync-check-ms:30000}")
+    public void resyncIfNeeded() {
+        if (stale || System.currentTimeMillis() - lastSeededAt >= resyncIntervalMs) {
+            reseed();
+        }
+    }
+
+    /**
+     * Rebuild every counter from SQL aggregates. Changes committed while the queries run may be
+     * counted twice or missed; the next resync corrects them.
+     */
+    public void reseed() {
+        stale = false;
+        Counters fresh = new Counters();
+        for (KeyCount row : bookingRepository.countByStatus()) {
+            Counters.add(fresh.bookingsByStatus, bookingKey(row.getGroupKey()), row.getTotal());
+        }
+        Double revenue = bookingRepository.sumPositiveTotalCost();
+        fresh.revenue = revenue != null ? revenue : 0.0;
+        for (KeyCount row : boatRepository.countByStatus()) {
+            Counters.add(fresh.boatsByStatus, key(row.getGroupKey()), row.getTotal());
+        }
+        fresh.totalTrips = tripRepository.count();
+        for (KeyCount row : userRepository.countByRole()) {
+            Counters.add(fresh.usersByRole, key(row.getGroupKey()), row.getTotal());
+        }
+        fresh.totalFeedbacks = feedbackRepository.count();
+        Long replied = feedbackRepository.countFeedbacksWithNonBlankReplies();
+        fresh.repliedFeedbacks = replied != null ? replied : 0L;
+        fill(fresh.ticketsByStatus, supportTicketRepository.countByStatus());
+        fill(fresh.ticketsByPriority, supportTicketRepository.countByPriority());
+        fill(fresh.ticketsByCategory, supportTicketRepository.countByCategory());
+
+        lock.lock();
+        try {
+            counters = fresh;
+            version++;
+            snapshot = null;
+            lastSeededAt = System.currentTimeMillis();
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Dashboard stats reseeded (version {})", version);
+    }
+
+    private static void fill(Map<String, Long> counts, List<KeyCount> rows) {
+        for (KeyCount row : rows) {
+            Counters.add(counts, key(row.getGroupKey()), row.getTotal());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Booking statuses are compared case-insensitively by the dashboards
+    private static String bookingKey(String status) {
+        return status == null ? "" : status.toUpperCase();
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -5,13 +5,17 @@ import com.boatsafari.managementsystem.model.User;
 import com.boatsafari.managementsystem.model.Booking;
 import com.boatsafari.managementsystem.repository.FeedbackRepository;
 import com.boatsafari.managementsystem.repository.BookingRepository;
+import com.boatsafari.managementsystem.repository.CustomerCount;
 import com.boatsafari.managementsystem.util.CurrentUserUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -172,6 +176,18 @@ public class FeedbackService {
         return feedbackRepository.findByUser_UserIdOrderByCreatedAtDesc(userId);
     }
 
+    /**
+     * Feedback counts for several users in one grouped query (users without feedback are absent)
+     */
+    public Map<Long, Long> countFeedbacksByUserIds(Collection<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (userIds.isEmpty()) return counts;
+        for (CustomerCount row : feedbackRepository.countByUserIds(userIds)) {
+            counts.put(row.getCustomerId(), row.getTotal());
+        }
+        return counts;
+    }
+
     /**
      * Get feedback by ID
      */
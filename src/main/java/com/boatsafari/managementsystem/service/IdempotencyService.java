@@ -0,0 +1,331 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.model.IdempotencyRecord;
+import com.boatsafari.managementsystem.repository.IdempotencyRepository;
+import com.boatsafari.managementsystem.repository.IdempotencyState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for POST endpoints that create things (bookings, payments).
+ *
+ * The first request with a key claims it in the idempotency_keys table, runs, and stores its
+ * status and JSON body; later requests with the same key get that response replayed instead of
+ * running again. A duplicate that arrives while the first is still running waits for it: on this
+ * node through an in-memory future, across nodes by polling the table. If the first gives the
+ * key back, a waiting duplicate claims it and runs instead. Completed responses are also kept in
+ * a small in-memory cache for {@code app.idempotency.cache-ttl-ms}.
+ *
+ * Keys are scoped to endpoint and caller. Reusing a key with a different body is a 422.
+ * Exceptions and 5xx responses give the key back, so the client's retry runs the request again.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int CLEANUP_BATCH = 1000;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private record Stored(String requestHash, int status, String body, String location, long cacheUntil) {
+    }
+
+    private record Claim(String token, Stored completed, boolean mismatch) {
+    }
+
+    private final IdempotencyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final long ttlHours;
+    private final long lockMs;
+    private final long waitTimeoutMs;
+    private final long cacheTtlMs;
+    private final int cacheSize;
+
+    private final Map<String, Stored> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Stored>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRepository repository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${app.idempotency.lock-ms:60000}") long lockMs,
+                              @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+                              @Value("${app.idempotency.cache-ttl-ms:600000}") long cacheTtlMs,
+                              @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttlHours = ttlHours;
+        this.lockMs = lockMs;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.cacheTtlMs = cacheTtlMs;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Run the action once per key, replaying its response for repeats
+     * @param scope endpoint, e.g. "POST /api/bookings"
+     * @param owner authenticated user name, or null
+     * @param key Idempotency-Key header; without one the action simply runs
+     * @param request request body, fingerprinted to detect a key reused for a different request
+     */
+    public ResponseEntity<?> execute(String scope, String owner, String key, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("error", HEADER + " must be at most " + MAX_KEY_LENGTH + " characters"));
+        }
+        String keyHash = sha256(scope + '\n' + (owner != null ? owner : "") + '\n' + key);
+        String requestHash = sha256(toJson(request));
+
+        Stored cached = cache.get(keyHash);
+        if (cached != null && cached.cacheUntil() > System.currentTimeMillis()) {
+            return replay(scope, cached, requestHash);
+        }
+
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        CompletableFuture<Stored> mine = new CompletableFuture<>();
+        CompletableFuture<Stored> running;
+        while ((running = inFlight.putIfAbsent(keyHash, mine)) != null) {
+            // Same key already running on this node: wait for its response
+            try {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                return replay(scope, running.get(remaining, TimeUnit.MILLISECONDS), requestHash);
+            } catch (ExecutionException e) {
+                // It failed and gave the key back: try to claim it for this request
+            } catch (TimeoutException e) {
+                return stillRunning(scope);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return stillRunning(scope);
+            }
+        }
+        try {
+            Claim claim = claim(keyHash, scope, requestHash, deadline);
+            if (claim.mismatch()) {
+                return mismatch(scope);
+            }
+            if (claim.completed() != null) {
+                remember(keyHash, claim.completed());
+                mine.complete(claim.completed());
+                return replay(scope, claim.completed(), requestHash);
+            }
+            if (claim.token() == null) {
+                return stillRunning(scope);
+            }
+            return runClaimed(scope, keyHash, claim.token(), requestHash, action, mine);
+        } finally {
+            inFlight.remove(keyHash, mine);
+            if (!mine.isDone()) {
+                mine.completeExceptionally(new IllegalStateException("Original request did not complete"));
+            }
+        }
+    }
+
+    // Expired keys, in the table and in the hot cache
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:3600000}",
+               initialDelayString = "${app.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(stored -> stored.cacheUntil() <= now);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = repository.deleteExpired(LocalDateTime.now(), CLEANUP_BATCH);
+            total += deleted;
+        } while (deleted == CLEANUP_BATCH);
+        if (total > 0) log.info("IdempotencyService: deleted {} expired keys", total);
+    }
+
+    private ResponseEntity<?> runClaimed(String scope, String keyHash, String token, String requestHash,
+                                         Supplier<ResponseEntity<?>> action, CompletableFuture<Stored> mine) {
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(keyHash, token);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            release(keyHash, token);
+            return response;
+        }
+
+        URI location = response.getHeaders().getLocation();
+        Stored stored = new Stored(requestHash, response.getStatusCode().value(),
+                response.getBody() != null ? toJson(response.getBody()) : null,
+                location != null ? location.toString() : null,
+                System.currentTimeMillis() + cacheTtlMs);
+        try {
+            if (repository.complete(keyHash, token, stored.status(), stored.body(), stored.location()) == 0) {
+                log.warn("Idempotency key for {} was taken over before its response could be stored", scope);
+            }
+        } catch (RuntimeException e) {
+            // The request itself succeeded; a retry after the lock expires would run it again
+            log.error("Could not store idempotent response for {}: {}", scope, e.getMessage());
+        }
+        remember(keyHash, stored);
+        mine.complete(stored);
+        count(scope, "executed");
+        return response;
+    }
+
+    // Claim the key, or find out that it is taken, finished or used for another request
+    private Claim claim(String keyHash, String scope, String requestHash, long deadline) {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            String token = UUID.randomUUID().toString();
+            Optional<IdempotencyState> existing = repository.findState(keyHash);
+            if (existing.isEmpty()) {
+                try {
+                    repository.insertClaim(keyHash, scope, requestHash, token, now,
+                            now.plusNanos(lockMs * 1_000_000), now.plusHours(ttlHours));
+                    return new Claim(token, null, false);
+                } catch (DataIntegrityViolationException e) {
+                    // Only a duplicate key (claimed by a concurrent request on another node) is worth
+                    // another look; any other constraint failure would repeat on every pass
+                    if (repository.findState(keyHash).isEmpty() || System.currentTimeMillis() >= deadline) {
+                        throw e;
+                    }
+                    continue;
+                }
+            }
+
+            IdempotencyState state = existing.get();
+            boolean expired = state.getExpiresAt().isBefore(now);
+            boolean abandoned = IdempotencyRecord.IN_PROGRESS.equals(state.getStatus())
+                    && state.getLockedUntil() != null && state.getLockedUntil().isBefore(now);
+            if (expired || abandoned) {
+                if (repository.takeOver(keyHash, requestHash, token, now,
+                        now.plusNanos(lockMs * 1_000_000), now.plusHours(ttlHours)) == 1) {
+                    return new Claim(token, null, false);
+                }
+                continue;
+            }
+            if (!state.getRequestHash().equals(requestHash)) {
+                return new Claim(null, null, true);
+            }
+            if (IdempotencyRecord.COMPLETED.equals(state.getStatus())) {
+                return new Claim(null, new Stored(state.getRequestHash(), state.getResponseStatus(),
+                        state.getResponseBody(), state.getResponseLocation(),
+                        System.currentTimeMillis() + cacheTtlMs), false);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return new Claim(null, null, false);
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS); // first request is running on another node
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Claim(null, null, false);
+            }
+        }
+    }
+
+    private ResponseEntity<?> replay(String scope, Stored stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            return mismatch(scope);
+        }
+        count(scope, "replayed");
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(stored.status())
+                .header("Idempotent-Replayed", "true");
+        if (stored.location() != null) {
+            response.location(URI.create(stored.location()));
+        }
+        if (stored.body() == null) {
+            return response.build();
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).body(stored.body());
+    }
+
+    private ResponseEntity<?> stillRunning(String scope) {
+        count(scope, "conflict");
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header("Retry-After", "1")
+                .body(Map.of("error", "A request with this " + HEADER + " is still being processed"));
+    }
+
+    private ResponseEntity<?> mismatch(String scope) {
+        count(scope, "mismatch");
+        return ResponseEntity.unprocessableEntity()
+                .body(Map.of("error", HEADER + " was already used for a different request"));
+    }
+
+    private void release(String keyHash, String token) {
+        try {
+            repository.release(keyHash, token);
+        } catch (RuntimeException e) {
+            log.warn("Could not release idempotency key: {}", e.getMessage()); // it frees up at locked_until
+        }
+    }
+
+    private void remember(String keyHash, Stored stored) {
+        if (cacheSize <= 0) return;
+        if (cache.size() >= cacheSize) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(s -> s.cacheUntil() <= now);
+        }
+        if (cache.size() >= cacheSize) {
+            // Still full: drop roughly a tenth of the entries to amortise the next few puts
+            int toDrop = cache.size() - cacheSize + Math.max(1, cacheSize / 10);
+            Iterator<String> it = cache.keySet().iterator();
+            while (toDrop-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        cache.put(keyHash, stored);
+    }
+
+    private void count(String scope, String outcome) {
+        meterRegistry.counter("idempotency.requests", "scope", scope, "outcome", outcome).increment();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize for idempotency", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,64 +1,112 @@
 package com.boatsafari.managementsystem.service;
 
-import com.boatsafari.managementsystem.dto.PaymentHistoryDTO;
+import com.boatsafari.managementsystem.dto.PaymentRevenueBucketDTO;
 import com.boatsafari.managementsystem.dto.PaymentStatsDTO;
-import com.boatsafari.managementsystem.repository.BookingRepository;
+import com.boatsafari.managementsystem.repository.PaymentGroupTotal;
+import com.boatsafari.managementsystem.repository.PaymentPeriodTotal;
 import com.boatsafari.managementsystem.repository.PaymentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class PaymentAdminService {
 
-    @Autowired
-    private PaymentRepository paymentRepository;
+    private static final int MAX_SERIES_BUCKETS = 400;
 
     @Autowired
-    private BookingRepository bookingRepository;
-
-    public List<PaymentHistoryDTO> getPaymentHistory() {
-        return bookingRepository.findPaymentHistoryWithDetails();
-    }
+    private PaymentRepository paymentRepository;
 
+    /**
+     * All payment counters from one GROUP BY payment_method, status query.
+     * Method and status are matched case-insensitively, like the database collation.
+     */
     public PaymentStatsDTO getPaymentStats() {
         PaymentStatsDTO stats = new PaymentStatsDTO();
-        
-        // Get total revenue and payment count
-        Double totalRevenue = paymentRepository.getTotalRevenue();
-        stats.setTotalRevenue(totalRevenue != null ? totalRevenue : 0.0);
-        
-        Long totalPayments = paymentRepository.getTotalPaymentCount();
-        stats.setTotalPayments(totalPayments != null ? totalPayments : 0);
-        
-        // Get payment method statistics
-        Long cardPayments = paymentRepository.getPaymentCountByMethod("Card");
-        stats.setCardPayments(cardPayments != null ? cardPayments : 0);
-        
-        Double cardAmount = paymentRepository.getRevenueByMethod("Card");
-        stats.setCardPaymentAmount(cardAmount != null ? cardAmount : 0.0);
-        
-        Long onArrivalPayments = paymentRepository.getPaymentCountByMethod("On Arrival");
-        stats.setOnArrivalPayments(onArrivalPayments != null ? onArrivalPayments : 0);
-        
-        Double onArrivalAmount = paymentRepository.getRevenueByMethod("On Arrival");
-        stats.setOnArrivalPaymentAmount(onArrivalAmount != null ? onArrivalAmount : 0.0);
-        
-        // Get payment status statistics
-        Long completedPayments = paymentRepository.getPaymentCountByStatus("Completed");
-        stats.setCompletedPayments(completedPayments != null ? completedPayments : 0);
-        
-        Long pendingPayments = paymentRepository.getPaymentCountByStatus("Pending");
-        stats.setPendingPayments(pendingPayments != null ? pendingPayments : 0);
-        
-        Long failedPayments = paymentRepository.getPaymentCountByStatus("Failed");
-        stats.setFailedPayments(failedPayments != null ? failedPayments : 0);
-        
+        for (PaymentGroupTotal row : paymentRepository.getTotalsByMethodAndStatus()) {
+            long count = row.getTotal();
+            double revenue = row.getCompletedAmount() != null ? row.getCompletedAmount() : 0.0;
+
+            stats.setTotalPayments(stats.getTotalPayments() + count);
+            stats.setTotalRevenue(stats.getTotalRevenue() + revenue);
+
+            if ("Card".equalsIgnoreCase(row.getMethod())) {
+                stats.setCardPayments(stats.getCardPayments() + count);
+                stats.setCardPaymentAmount(stats.getCardPaymentAmount() + revenue);
+            } else if ("On Arrival".equalsIgnoreCase(row.getMethod())) {
+                stats.setOnArrivalPayments(stats.getOnArrivalPayments() + count);
+                stats.setOnArrivalPaymentAmount(stats.getOnArrivalPaymentAmount() + revenue);
+            }
+
+            if ("Completed".equalsIgnoreCase(row.getStatus())) {
+                stats.setCompletedPayments(stats.getCompletedPayments() + count);
+            } else if ("Pending".equalsIgnoreCase(row.getStatus())) {
+                stats.setPendingPayments(stats.getPendingPayments() + count);
+            } else if ("Failed".equalsIgnoreCase(row.getStatus())) {
+                stats.setFailedPayments(stats.getFailedPayments() + count);
+            }
+        }
         return stats;
     }
 
-    public List<PaymentHistoryDTO> searchPayments(String customerName, String email, String status, String paymentMethod) {
-        return bookingRepository.searchPaymentHistory(customerName, email, status, paymentMethod);
+    /**
+     * Revenue per day or month between from and to (inclusive), with empty buckets filled in
+     * so charts get a continuous series. Defaults to the last 30 days / 12 months.
+     * @throws IllegalArgumentException for an unknown granularity or a range that is reversed or too long
+     */
+    public List<PaymentRevenueBucketDTO> getRevenueSeries(String granularity, LocalDate from, LocalDate to) {
+        boolean monthly;
+        if (granularity == null || "daily".equalsIgnoreCase(granularity)) {
+            monthly = false;
+        } else if ("monthly".equalsIgnoreCase(granularity)) {
+            monthly = true;
+        } else {
+            throw new IllegalArgumentException("granularity must be daily or monthly");
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : (monthly ? end.minusMonths(11) : end.minusDays(29));
+        if (monthly) {
+            start = start.withDayOfMonth(1);
+            end = end.withDayOfMonth(1);
+        }
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        long buckets = (monthly ? ChronoUnit.MONTHS : ChronoUnit.DAYS).between(start, end) + 1;
+        if (buckets > MAX_SERIES_BUCKETS) {
+            throw new IllegalArgumentException("Range too long: at most " + MAX_SERIES_BUCKETS + " buckets");
+        }
+
+        LocalDate endExclusive = monthly ? end.plusMonths(1) : end.plusDays(1);
+        List<PaymentPeriodTotal> rows = monthly
+                ? paymentRepository.getMonthlyTotals(start.atStartOfDay(), endExclusive.atStartOfDay())
+                : paymentRepository.getDailyTotals(start.atStartOfDay(), endExclusive.atStartOfDay());
+
+        Map<LocalDate, PaymentPeriodTotal> byPeriod = new HashMap<>();
+        for (PaymentPeriodTotal row : rows) {
+            byPeriod.put(LocalDate.of(row.getYear(), row.getMonth(), row.getDay()), row);
+        }
+
+        List<PaymentRevenueBucketDTO> series = new ArrayList<>((int) buckets);
+        for (LocalDate period = start; period.isBefore(endExclusive);
+             period = monthly ? period.plusMonths(1) : period.plusDays(1)) {
+            PaymentRevenueBucketDTO bucket = new PaymentRevenueBucketDTO();
+            bucket.setPeriod(period);
+            PaymentPeriodTotal row = byPeriod.get(period);
+            if (row != null) {
+                bucket.setPayments(row.getTotal());
+                bucket.setCompletedPayments(row.getCompletedCount());
+                bucket.setRevenue(row.getCompletedAmount() != null ? row.getCompletedAmount() : 0.0);
+            }
+            series.add(bucket);
+        }
+        return series;
     }
 }
\ No newline at end of file
@@ -0,0 +1,305 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.dto.PaymentHistoryDTO;
+import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.model.Payment;
+import com.boatsafari.managementsystem.model.Trip;
+import com.boatsafari.managementsystem.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Payment history for the admin payments screen: keyset-paginated search and a streaming CSV export.
+ *
+ * Rows are read newest first as a scalar projection over payment -> booking -> customer/trip.
+ * Name and email filters are prefix matches on the lower-cased columns the database maintains
+ * (users.first_name_lc / email_lc, bookings.name_lc / email_lc), so they can use an index seek.
+ * Like the old query, the customer's account details win over the name/email typed on the booking.
+ * Until the columns are confirmed to be computed (db/add_payment_history_search.sql), for example
+ * when a schema update created them as plain, empty columns, the filters fall back to LOWER(column).
+ */
+@Service
+public class PaymentHistorySearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String NO_DATE = "-";
+    private static final String CSV_HEADER = "paymentId,bookingId,customerName,customerEmail,customerContact," +
+            "paymentMethod,status,amount,paymentDate,tripName,tripDate,passengers\n";
+
+    public record Filter(String customerName, String email, String status, String paymentMethod,
+                         LocalDate fromDate, LocalDate toDate) {
+    }
+
+    public record Page(List<PaymentHistoryDTO> items, String nextCursor) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentHistorySearchService.class);
+
+    private static final String COMPUTED_COLUMNS_SQL = "select count(*) from sys.columns where is_computed = 1 and (" +
+            "(object_id = object_id('users') and name in ('email_lc', 'first_name_lc')) or " +
+            "(object_id = object_id('bookings') and name in ('name_lc', 'email_lc')))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // True once the *_lc columns are known to be computed by the database
+    private volatile boolean computedColumns;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkSearchColumns() {
+        try {
+            Number computed = (Number) entityManager.createNativeQuery(COMPUTED_COLUMNS_SQL).getSingleResult();
+            computedColumns = computed.intValue() == 4;
+        } catch (RuntimeException e) {
+            computedColumns = false; // not SQL Server
+        }
+        if (!computedColumns) {
+            log.error("Payment history search: users/bookings *_lc columns are not computed columns; " +
+                    "run db/add_payment_history_search.sql. Name and email filters use LOWER(...) scans until then.");
+        }
+    }
+
+    /**
+     * One page of matching payments, newest first
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException for a malformed cursor
+     */
+    @Transactional(readOnly = true)
+    public Page search(Filter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Object[] after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+
+        // Fetch one extra row to learn whether another page exists without a COUNT
+        List<Tuple> rows = entityManager.createQuery(historyQuery(filter, after))
+                .setMaxResults(limit + 1)
+                .getResultList();
+
+        List<PaymentHistoryDTO> items = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            items.add(toDto(rows.get(i)));
+        }
+        String nextCursor = rows.size() > limit ? encodeCursor(items.get(items.size() - 1)) : null;
+        return new Page(items, nextCursor);
+    }
+
+    /**
+     * Total number of payments matching the filter (separate query, only when asked for)
+     */
+    @Transactional(readOnly = true)
+    public long count(Filter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Booking> b = query.from(Booking.class);
+        Join<Booking, Payment> p = b.join("payment", JoinType.INNER);
+        Join<Booking, User> u = b.join("customer", JoinType.LEFT);
+        query.select(cb.count(p)).where(matching(cb, filter, b, p, u).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Write every matching payment as CSV while the rows are being read, so memory use does not
+     * grow with the size of the export
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(Filter filter, Writer out) throws IOException {
+        long written = 0;
+        out.write(CSV_HEADER);
+        try (Stream<Tuple> rows = entityManager.createQuery(historyQuery(filter, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<Tuple> it = rows.iterator();
+            while (it.hasNext()) {
+                writeCsvRow(out, toDto(it.next()));
+                if (++written % EXPORT_FETCH_SIZE == 0) {
+                    out.flush();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return written;
+    }
+
+    private CriteriaQuery<Tuple> historyQuery(Filter filter, Object[] after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Booking> b = query.from(Booking.class);
+        Join<Booking, Payment> p = b.join("payment", JoinType.INNER);
+        Join<Booking, User> u = b.join("customer", JoinType.LEFT);
+        Join<Booking, Trip> t = b.join("trip", JoinType.LEFT);
+
+        Expression<LocalDateTime> paymentDate = p.get("paymentDate");
+        Expression<Long> paymentId = p.get("paymentId");
+
+        List<Predicate> where = matching(cb, filter, b, p, u);
+        if (after != null) {
+            where.add(after(cb, (LocalDateTime) after[0], (Long) after[1], paymentDate, paymentId));
+        }
+
+        return query.multiselect(
+                        paymentId.alias("paymentId"), b.get("bookingId").alias("bookingId"),
+                        cb.coalesce(u.<String>get("firstName"), b.<String>get("name")).alias("customerName"),
+                        cb.coalesce(u.<String>get("email"), b.<String>get("email")).alias("customerEmail"),
+                        cb.coalesce(u.<String>get("contactNo"), b.<String>get("contact")).alias("customerContact"),
+                        p.get("paymentMethod").alias("paymentMethod"), p.get("status").alias("status"),
+                        p.get("amount").alias("amount"), paymentDate.alias("paymentDate"),
+                        t.get("name").alias("tripName"), t.get("date").alias("tripDate"),
+                        b.get("passengers").alias("passengers"))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(paymentDate), cb.desc(paymentId));
+    }
+
+    private List<Predicate> matching(CriteriaBuilder cb, Filter filter, Root<Booking> b,
+                                     Join<Booking, Payment> p, Join<Booking, User> u) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (hasText(filter.customerName())) {
+            // COALESCE(u.first_name, b.name) split in two so each side can seek its own index
+            String prefix = startsWith(filter.customerName());
+            predicates.add(cb.or(
+                    cb.like(lowerCased(cb, u, "firstName"), prefix, '\\'),
+                    cb.and(u.get("firstName").isNull(), cb.like(lowerCased(cb, b, "name"), prefix, '\\'))));
+        }
+        if (hasText(filter.email())) {
+            String prefix = startsWith(filter.email());
+            predicates.add(cb.or(
+                    cb.like(lowerCased(cb, u, "email"), prefix, '\\'),
+                    cb.and(u.get("email").isNull(), cb.like(lowerCased(cb, b, "email"), prefix, '\\'))));
+        }
+        if (hasText(filter.status())) {
+            predicates.add(cb.equal(p.get("status"), filter.status()));
+        }
+        if (hasText(filter.paymentMethod())) {
+            predicates.add(cb.equal(p.get("paymentMethod"), filter.paymentMethod()));
+        }
+        if (filter.fromDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(p.get("paymentDate"), filter.fromDate().atStartOfDay()));
+        }
+        if (filter.toDate() != null) {
+            predicates.add(cb.lessThan(p.get("paymentDate"), filter.toDate().plusDays(1).atStartOfDay()));
+        }
+        return predicates;
+    }
+
+    // The indexed computed column (field + "Lc"), or LOWER(field) while that is not in place
+    private Expression<String> lowerCased(CriteriaBuilder cb, From<?, ?> from, String field) {
+        return computedColumns ? from.get(field + "Lc") : cb.lower(from.get(field));
+    }
+
+    // Rows after (lastDate, lastId) in paymentDate DESC, paymentId DESC order.
+    // Payments without a date sort last (NULL is the lowest value on SQL Server and H2).
+    private static Predicate after(CriteriaBuilder cb, LocalDateTime lastDate, Long lastId,
+                                   Expression<LocalDateTime> paymentDate, Expression<Long> paymentId) {
+        if (lastDate == null) {
+            return cb.and(cb.isNull(paymentDate), cb.lessThan(paymentId, lastId));
+        }
+        return cb.or(
+                cb.lessThan(paymentDate, lastDate),
+                cb.and(cb.equal(paymentDate, lastDate), cb.lessThan(paymentId, lastId)),
+                cb.isNull(paymentDate));
+    }
+
+    private static PaymentHistoryDTO toDto(Tuple row) {
+        LocalDate tripDate = row.get("tripDate", LocalDate.class);
+        Double amount = row.get("amount", Double.class);
+        Integer passengers = row.get("passengers", Integer.class);
+        return new PaymentHistoryDTO(
+                row.get("paymentId", Long.class), row.get("bookingId", Long.class),
+                row.get("customerName", String.class), row.get("customerEmail", String.class),
+                row.get("customerContact", String.class),
+                row.get("paymentMethod", String.class), row.get("status", String.class),
+                amount != null ? amount : 0.0, row.get("paymentDate", LocalDateTime.class),
+                row.get("tripName", String.class), tripDate != null ? tripDate.toString() : null,
+                passengers != null ? passengers : 0);
+    }
+
+    private static void writeCsvRow(Writer out, PaymentHistoryDTO row) throws IOException {
+        StringBuilder line = new StringBuilder(160);
+        line.append(row.getPaymentId()).append(',')
+                .append(row.getBookingId()).append(',');
+        appendCsv(line, row.getCustomerName()).append(',');
+        appendCsv(line, row.getCustomerEmail()).append(',');
+        appendCsv(line, row.getCustomerContact()).append(',');
+        appendCsv(line, row.getPaymentMethod()).append(',');
+        appendCsv(line, row.getStatus()).append(',');
+        line.append(row.getAmount()).append(',');
+        line.append(row.getPaymentDate() != null ? row.getPaymentDate().toString() : "").append(',');
+        appendCsv(line, row.getTripName()).append(',');
+        line.append(row.getTripDate() != null ? row.getTripDate() : "").append(',');
+        line.append(row.getPassengers()).append('\n');
+        out.write(line.toString());
+    }
+
+    // Quote when needed, and defuse values a spreadsheet would run as a formula
+    private static StringBuilder appendCsv(StringBuilder line, String value) {
+        if (value == null || value.isEmpty()) {
+            return line;
+        }
+        String text = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    // ---- cursor: base64url of "paymentDate|paymentId", "-" for payments without a date ----
+
+    private static String encodeCursor(PaymentHistoryDTO last) {
+        String date = last.getPaymentDate() != null ? last.getPaymentDate().toString() : NO_DATE;
+        String key = date + "|" + last.getPaymentId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = key.split("\\|", 2);
+            LocalDateTime date = NO_DATE.equals(parts[0]) ? null : LocalDateTime.parse(parts[0]);
+            return new Object[] { date, Long.parseLong(parts[1]) };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String startsWith(String value) {
+        String escaped = value.trim().toLowerCase()
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return escaped + "%";
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
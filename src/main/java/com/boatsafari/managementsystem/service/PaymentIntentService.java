@@ -0,0 +1,215 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.config.WorkerThreads;
+import com.boatsafari.managementsystem.strategy.PaymentResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous payments. A payment intent is accepted immediately and charged in the background
+ * through {@link PaymentProcessingService}, so no request thread waits on the gateway. Clients
+ * poll the intent or subscribe for its result over Server-Sent Events.
+ *
+ * Intents live in memory and are dropped {@code app.payments.intents.retention-ms} after they
+ * finish; each is visible only to the user who created it.
+ */
+@Service
+public class PaymentIntentService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentIntentService.class);
+
+    public static final String PROCESSING = "PROCESSING";
+    public static final String SUCCEEDED = "SUCCEEDED";
+    public static final String FAILED = "FAILED";
+
+    public record IntentStatus(String intentId, String paymentMethod, BigDecimal amount, String status,
+                               String message, String transactionId, double processingFee,
+                               LocalDateTime createdAt, LocalDateTime completedAt) {
+    }
+
+    private final PaymentProcessingService processingService;
+    private final long retentionMs;
+    private final long streamTimeoutMs;
+
+    private final Map<String, Intent> intents = new ConcurrentHashMap<>();
+    // Sends results to SSE subscribers, off the thread that completed the gateway call
+    private final ThreadPoolExecutor notifier;
+
+    public PaymentIntentService(PaymentProcessingService processingService,
+                                @Value("${app.payments.intents.retention-ms:900000}") long retentionMs,
+                                @Value("${app.payments.intents.stream-timeout-ms:60000}") long streamTimeoutMs,
+                                @Value("${app.payments.intents.notifier-threads:2}") int notifierThreads,
+                                WorkerThreads workerThreads) {
+        this.processingService = processingService;
+        this.retentionMs = retentionMs;
+        this.streamTimeoutMs = streamTimeoutMs;
+
+        this.notifier = new ThreadPoolExecutor(notifierThreads, notifierThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(1000), workerThreads.factory("payment-intents-"));
+    }
+
+    /**
+     * Accept a payment and start charging it
+     * @param owner name of the authenticated user; only they can read the intent
+     * @throws IllegalArgumentException for an unknown payment method or a non-positive amount
+     * @throws RejectedExecutionException when the method's gateway is saturated or unavailable
+     */
+    public IntentStatus submit(String owner, String paymentMethod, BigDecimal amount,
+                               String customerEmail, String paymentDetails) {
+        if (paymentMethod == null
+                || !processingService.getAvailablePaymentMethods().contains(paymentMethod.toUpperCase())) {
+            throw new IllegalArgumentException("Unsupported payment method: " + paymentMethod);
+        }
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero");
+        }
+
+        CompletableFuture<PaymentResult> result =
+                processingService.processPaymentAsync(paymentMethod, amount, customerEmail, paymentDetails);
+        if (result.isCompletedExceptionally()) {
+            try {
+                result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RejectedExecutionException rejected) {
+                    throw rejected;
+                }
+            }
+        }
+
+        Intent intent = new Intent(UUID.randomUUID().toString(), owner, paymentMethod.toUpperCase(), amount);
+        intents.put(intent.id, intent);
+        result.whenComplete((paymentResult, error) ->
+                complete(intent, paymentResult != null ? paymentResult : PaymentProcessingService.failureResult(error)));
+        return intent.status();
+    }
+
+    public Optional<IntentStatus> find(String owner, String intentId) {
+        Intent intent = intents.get(intentId);
+        return intent != null && Objects.equals(intent.owner, owner) ? Optional.of(intent.status()) : Optional.empty();
+    }
+
+    /**
+     * Stream that delivers one "result" event when the payment finishes (immediately if it already has)
+     * @return the emitter, or null if there is no such intent for this user
+     */
+    public SseEmitter subscribe(String owner, String intentId) {
+        Intent intent = intents.get(intentId);
+        if (intent == null || !Objects.equals(intent.owner, owner)) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        synchronized (intent) {
+            if (intent.completedAt == null) {
+                intent.listeners.add(emitter);
+                Runnable remove = () -> {
+                    synchronized (intent) {
+                        intent.listeners.remove(emitter);
+                    }
+                };
+                emitter.onCompletion(remove);
+                emitter.onTimeout(remove);
+                return emitter;
+            }
+        }
+        notify(emitter, intent.status());
+        return emitter;
+    }
+
+    // Finished intents past their retention period
+    @Scheduled(fixedDelayString = "${app.payments.intents.cleanup-ms:60000}")
+    public void evictExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(retentionMs * 1_000_000);
+        intents.values().removeIf(intent -> {
+            LocalDateTime completedAt = intent.completedAt;
+            return completedAt != null && completedAt.isBefore(cutoff);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    private void complete(Intent intent, PaymentResult result) {
+        List<SseEmitter> listeners;
+        synchronized (intent) {
+            intent.status = result.isSuccess() ? SUCCEEDED : FAILED;
+            intent.message = result.getMessage();
+            intent.transactionId = result.getTransactionId();
+            intent.processingFee = result.getProcessingFee();
+            intent.completedAt = LocalDateTime.now();
+            listeners = new ArrayList<>(intent.listeners);
+            intent.listeners.clear();
+        }
+        IntentStatus status = intent.status();
+        listeners.forEach(emitter -> notify(emitter, status));
+    }
+
+    private void notify(SseEmitter emitter, IntentStatus status) {
+        try {
+            notifier.execute(() -> {
+                try {
+                    emitter.send(SseEmitter.event()
+                            .id(status.intentId())
+                            .name("result")
+                            .data(status, MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Payment intent {} subscriber went away", status.intentId());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            emitter.complete(); // the client can still poll for the result
+        }
+    }
+
+    private static final class Intent {
+        final String id;
+        final String owner;
+        final String paymentMethod;
+        final BigDecimal amount;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final List<SseEmitter> listeners = new ArrayList<>(1);
+
+        volatile String status = PROCESSING;
+        volatile String message;
+        volatile String transactionId;
+        volatile double processingFee;
+        volatile LocalDateTime completedAt;
+
+        Intent(String id, String owner, String paymentMethod, BigDecimal amount) {
+            this.id = id;
+            this.owner = owner;
+            this.paymentMethod = paymentMethod;
+            this.amount = amount;
+        }
+
+        synchronized IntentStatus status() {
+            return new IntentStatus(id, paymentMethod, amount, status, message, transactionId, processingFee,
+                    createdAt, completedAt);
+        }
+    }
+}
@@ -2,64 +2,116 @@ package com.boatsafari.managementsystem.service;
 
 import com.boatsafari.managementsystem.strategy.PaymentStrategy;
 import com.boatsafari.managementsystem.strategy.PaymentResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Context class for Strategy Pattern
  * This demonstrates how to use Strategy pattern in Spring Boot
- * 
+ *
  * Benefits:
  * 1. Easy to add new payment methods without changing existing code
  * 2. Each payment method is encapsulated in its own class
  * 3. Runtime selection of payment strategy
  * 4. Follows Open/Closed Principle
+ *
+ * Gateway calls are guarded per payment method: a bulkhead caps calls in flight, each call has a
+ * timeout, and a circuit breaker rejects calls for a while after consecutive gateway errors
+ * (declines do not count), then lets a single trial call through. Rejected calls fail with
+ * RejectedExecutionException without reaching the gateway.
  */
 @Service
 public class PaymentProcessingService {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentProcessingService.class);
+
     private final Map<String, PaymentStrategy> paymentStrategies;
-    
+    private final Map<String, GatewayGuard> guards;
+
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+    private final int failureThreshold;
+    private final long openMs;
+
     /**
      * Constructor injection - Spring automatically injects all PaymentStrategy implementations
      * This is the beauty of Strategy pattern with Spring DI
      */
     @Autowired
-    public PaymentProcessingService(List<PaymentStrategy> strategies) {
+    public PaymentProcessingService(List<PaymentStrategy> strategies,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.payments.gateway.timeout-ms:5000}") long timeoutMs,
+                                    @Value("${app.payments.gateway.max-concurrent-calls:100}") int maxConcurrentCalls,
+                                    @Value("${app.payments.gateway.breaker.failure-threshold:5}") int failureThreshold,
+                                    @Value("${app.payments.gateway.breaker.open-ms:30000}") long openMs) {
         this.paymentStrategies = strategies.stream()
             .collect(Collectors.toMap(
                 PaymentStrategy::getPaymentMethodName,
                 Function.identity()
             ));
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMs = openMs;
+        this.guards = paymentStrategies.keySet().stream()
+            .collect(Collectors.toMap(Function.identity(), method -> new GatewayGuard(method, maxConcurrentCalls)));
     }
-    
+
     /**
      * Process payment using the specified strategy
-     * This method delegates to the appropriate strategy at runtime
+     * The future completes when the gateway answers; it fails with RejectedExecutionException when
+     * the method's bulkhead is full or its circuit is open, TimeoutException when the gateway is too slow.
      */
-    public PaymentResult processPayment(String paymentMethod, BigDecimal amount, 
-                                      String customerEmail, String paymentDetails) {
+    public CompletableFuture<PaymentResult> processPaymentAsync(String paymentMethod, BigDecimal amount,
+                                                                String customerEmail, String paymentDetails) {
         PaymentStrategy strategy = getPaymentStrategy(paymentMethod);
-        
+
         if (strategy == null) {
-            return new PaymentResult(false, 
-                "Unsupported payment method: " + paymentMethod, 
-                null, 0.0);
+            return CompletableFuture.completedFuture(new PaymentResult(false,
+                "Unsupported payment method: " + paymentMethod,
+                null, 0.0));
+        }
+
+        log.debug("Processing {} payment of {} (fee {})", strategy.getPaymentMethodName(), amount,
+            strategy.getProcessingFee(amount));
+
+        return guards.get(strategy.getPaymentMethodName())
+            .call(() -> strategy.processPayment(amount, customerEmail, paymentDetails));
+    }
+
+    /**
+     * Process payment and wait for the result; gateway errors, timeouts and rejections come back
+     * as an unsuccessful result
+     */
+    public PaymentResult processPayment(String paymentMethod, BigDecimal amount,
+                                      String customerEmail, String paymentDetails) {
+        try {
+            return processPaymentAsync(paymentMethod, amount, customerEmail, paymentDetails).join();
+        } catch (CompletionException e) {
+            return failureResult(e.getCause());
         }
-        
-        // Log the processing (for demonstration)
-        System.out.println("Processing payment using: " + strategy.getPaymentMethodName());
-        System.out.println("Amount: $" + amount);
-        System.out.println("Processing fee: $" + strategy.getProcessingFee(amount));
-        
-        return strategy.processPayment(amount, customerEmail, paymentDetails);
     }
-    
+
     /**
      * Get available payment methods
      */
@@ -68,7 +120,7 @@ public class PaymentProcessingService {
             .sorted()
             .collect(Collectors.toList());
     }
-    
+
     /**
      * Calculate processing fee for a given method and amount
      */
@@ -76,7 +128,7 @@ public class PaymentProcessingService {
         PaymentStrategy strategy = getPaymentStrategy(paymentMethod);
         return strategy != null ? strategy.getProcessingFee(amount) : 0.0;
     }
-    
+
     /**
      * Validate payment details for a specific method
      */
@@ -84,8 +136,121 @@ public class PaymentProcessingService {
         PaymentStrategy strategy = getPaymentStrategy(paymentMethod);
         return strategy != null && strategy.validatePaymentDetails(paymentDetails);
     }
-    
+
+    // Unsuccessful result for a payment whose gateway call did not produce an answer
+    static PaymentResult failureResult(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        String message;
+        if (error instanceof RejectedExecutionException) {
+            message = error.getMessage();
+        } else if (error instanceof TimeoutException) {
+            message = "Payment provider did not respond in time";
+        } else {
+            message = "Payment provider error";
+        }
+        return new PaymentResult(false, message, null, 0.0);
+    }
+
     private PaymentStrategy getPaymentStrategy(String paymentMethod) {
-        return paymentStrategies.get(paymentMethod.toUpperCase());
+        return paymentMethod != null ? paymentStrategies.get(paymentMethod.toUpperCase()) : null;
+    }
+
+    /**
+     * Bulkhead, timeout and circuit breaker for one payment method's gateway calls
+     */
+    private final class GatewayGuard {
+        final String method;
+        final int maxConcurrentCalls;
+        final Semaphore bulkhead;
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        final AtomicBoolean trialInFlight = new AtomicBoolean();
+        volatile long openUntil; // 0 while closed
+
+        GatewayGuard(String method, int maxConcurrentCalls) {
+            this.method = method;
+            this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+            this.bulkhead = new Semaphore(this.maxConcurrentCalls);
+            Gauge.builder("payment.gateway.in_flight", bulkhead, b -> this.maxConcurrentCalls - b.availablePermits())
+                .description("Gateway calls in progress")
+                .tag("method", method)
+                .register(meterRegistry);
+            Gauge.builder("payment.gateway.circuit.state", this, GatewayGuard::state)
+                .description("0 closed, 1 open, 2 half-open")
+                .tag("method", method)
+                .register(meterRegistry);
+        }
+
+        CompletableFuture<PaymentResult> call(Supplier<CompletableFuture<PaymentResult>> attempt) {
+            boolean trial = false;
+            if (openUntil != 0) {
+                if (System.currentTimeMillis() < openUntil || !trialInFlight.compareAndSet(false, true)) {
+                    return reject("circuit_open", method + " payments are temporarily unavailable, please retry shortly");
+                }
+                trial = true; // half-open: this call decides whether the circuit closes
+            }
+            if (!bulkhead.tryAcquire()) {
+                if (trial) {
+                    trialInFlight.set(false);
+                }
+                return reject("bulkhead", "Too many " + method + " payments in progress, please retry shortly");
+            }
+
+            long start = System.nanoTime();
+            boolean isTrial = trial;
+            CompletableFuture<PaymentResult> call;
+            try {
+                call = attempt.get();
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            return call.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((result, error) -> {
+                bulkhead.release();
+                onOutcome(error == null, isTrial);
+                Timer.builder("payment.gateway.call")
+                    .tag("method", method)
+                    .tag("outcome", outcome(result, error))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        }
+
+        void onOutcome(boolean answered, boolean trial) {
+            if (answered) {
+                consecutiveFailures.set(0);
+                if (openUntil != 0) {
+                    log.info("{} payment gateway answered again; closing circuit", method);
+                    openUntil = 0;
+                }
+            } else if (trial || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                if (openUntil == 0) {
+                    log.warn("{} payment gateway failed {} times in a row; rejecting calls for {} ms",
+                        method, consecutiveFailures.get(), openMs);
+                }
+                openUntil = System.currentTimeMillis() + openMs;
+            }
+            if (trial) {
+                trialInFlight.set(false);
+            }
+        }
+
+        int state() {
+            long until = openUntil;
+            return until == 0 ? 0 : System.currentTimeMillis() < until ? 1 : 2;
+        }
+
+        CompletableFuture<PaymentResult> reject(String reason, String message) {
+            meterRegistry.counter("payment.gateway.rejected", "method", method, "reason", reason).increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(message));
+        }
+
+        String outcome(PaymentResult result, Throwable error) {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                return cause instanceof TimeoutException ? "timeout" : "error";
+            }
+            return result.isSuccess() ? "approved" : "declined";
+        }
     }
-}
\ No newline at end of file
+}
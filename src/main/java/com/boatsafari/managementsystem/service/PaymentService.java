@@ -5,8 +5,11 @@ import com.boatsafari.managementsystem.model.Booking;
 import com.boatsafari.managementsystem.model.Payment;
 import com.boatsafari.managementsystem.repository.BookingRepository;
 import com.boatsafari.managementsystem.repository.PaymentRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -23,15 +26,32 @@ public class PaymentService {
     @Autowired
     private BookingService bookingService; // to confirm booking on success
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Record a payment and confirm its booking in one transaction. The booking's seats are
+     * secured before the payment is saved, so a payment is never kept for a booking that could
+     * not be confirmed.
+     * @throws IllegalStateException if the booking's hold lapsed and the trip has since filled up
+     */
+    @Timed(value = "payment.process", description = "Payment including booking confirmation", histogram = true)
+    @Transactional
     public Map<String, Object> processPayment(PaymentRequest req) {
         Map<String, Object> res = new HashMap<>();
 
         Booking booking = bookingRepository.findById(req.getBookingId())
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
 
-        // Idempotency: if already paid successfully, just return success
-        if (booking.getPayment() != null && "SUCCESS".equalsIgnoreCase(booking.getPayment().getStatus())) {
-            res.put("message", "Payment already completed");
+        // Idempotency: a successful payment, or a pending one for the same method (pay on arrival),
+        // is not recorded twice
+        Payment existing = booking.getPayment();
+        boolean alreadyPaid = existing != null && "SUCCESS".equalsIgnoreCase(existing.getStatus());
+        boolean alreadyPending = existing != null && "PENDING".equalsIgnoreCase(existing.getStatus())
+                && req.getMethod() != null && req.getMethod().equalsIgnoreCase(existing.getPaymentMethod());
+        if (alreadyPaid || alreadyPending) {
+            countPayment(req.getMethod(), "DUPLICATE");
+            res.put("message", alreadyPaid ? "Payment already completed" : "Payment already recorded");
             res.put("bookingId", booking.getBookingId());
             res.put("paymentId", booking.getPayment().getPaymentId());
             res.put("bookingStatus", booking.getStatus());
@@ -47,6 +67,8 @@ public class PaymentService {
 
         if ("CARD".equalsIgnoreCase(req.getMethod())) {
             validateCard(req);
+            bookingService.confirmPaidBooking(booking);
+
             // Simulate gateway call -> success
             payment.setStatus("SUCCESS");
             payment.setCardNumber(req.getCardNumber());
@@ -56,14 +78,7 @@ public class PaymentService {
 
             Payment saved = paymentRepository.save(payment);
             booking.setPayment(saved);
-
-            // Confirm booking if within hold window and provisional
-            try {
-                bookingService.confirmBooking(booking.getBookingId());
-            } catch (Exception e) {
-                // If confirmation fails, still mark booking as confirmed since payment succeeded
-                booking.setStatus("CONFIRMED");
-            }
+            countPayment("CARD", saved.getStatus());
             bookingRepository.save(booking);
 
             res.put("message", "Payment successful. Booking confirmed.");
@@ -74,15 +89,13 @@ public class PaymentService {
             return res;
 
         } else if ("PAY_ON_ARRIVAL".equalsIgnoreCase(req.getMethod())) {
+            // Confirm seat but mark payment pending
+            bookingService.confirmPaidBooking(booking);
+
             payment.setStatus("PENDING"); // will be paid at dock
             Payment saved = paymentRepository.save(payment);
             booking.setPayment(saved);
-
-            // Confirm seat but mark payment pending
-            if (!"CONFIRMED".equalsIgnoreCase(booking.getStatus())) {
-                // Allow confirmation for cash too (skip hold check if you prefer)
-                booking.setStatus("CONFIRMED");
-            }
+            countPayment("PAY_ON_ARRIVAL", saved.getStatus());
             bookingRepository.save(booking);
 
             res.put("message", "Booking confirmed. Please pay at the dock on arrival.");
@@ -107,5 +120,12 @@ public class PaymentService {
             throw new IllegalArgumentException("CVV must be 3 digits");
     }
 
+    // Payments by method and resulting status; the method tag is limited to known values
+    private void countPayment(String method, String status) {
+        String methodTag = "CARD".equalsIgnoreCase(method) || "PAY_ON_ARRIVAL".equalsIgnoreCase(method)
+                ? method.toUpperCase() : "OTHER";
+        meterRegistry.counter("payments.processed", "method", methodTag, "status", status).increment();
+    }
+
     private boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.model.Booking;
+import com.boatsafari.managementsystem.model.Trip;
+import com.boatsafari.managementsystem.repository.BookingRepository;
+import com.boatsafari.managementsystem.repository.BookingRepository.ExpiringHold;
+import com.boatsafari.managementsystem.repository.TripRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-trip seat inventory backed by the held_seats / booked_seats counters on the trips table.
+ *
+ * Every change is a single conditional UPDATE, so availability checks are O(1) and two
+ * concurrent requests can never both take the last seats of a departure.
+ * PROVISIONAL bookings count as held, CONFIRMED and COMPLETED bookings count as booked.
+ * The updates bypass Hibernate, so each changed trip is evicted from the second-level cache.
+ */
+@Service
+public class SeatInventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatInventoryService.class);
+
+    private enum SeatBucket { NONE, HELD, BOOKED }
+
+    private static final Long NO_TRIP = -1L;
+
+    private final TripRepository tripRepository;
+    private final BookingRepository bookingRepository;
+    private final DashboardStatsService dashboardStatsService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SeatInventoryService(TripRepository tripRepository, BookingRepository bookingRepository,
+                                DashboardStatsService dashboardStatsService,
+                                EntityManagerFactory entityManagerFactory) {
+        this.tripRepository = tripRepository;
+        this.bookingRepository = bookingRepository;
+        this.dashboardStatsService = dashboardStatsService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Hold seats for a new provisional booking
+     * @throws IllegalArgumentException if the trip does not exist or lacks free seats
+     */
+    @Transactional
+    public void holdSeats(Long tripId, int seats) {
+        if (tripRepository.tryHoldSeats(tripId, seats) == 1) {
+            evictTrip(tripId);
+            return;
+        }
+        Integer available = tripRepository.findAvailableSeats(tripId);
+        if (available == null) {
+            throw new IllegalArgumentException("Trip not found");
+        }
+        throw new IllegalArgumentException("Not enough seats available. Available: " + Math.max(0, available));
+    }
+
+    /**
+     * Move a booking's seats between buckets when its status changes
+     */
+    @Transactional
+    public void applyStatusChange(Booking booking, String oldStatus, String newStatus) {
+        reallocate(booking, oldStatus, booking.getPassengers(), newStatus, booking.getPassengers());
+    }
+
+    /**
+     * Re-account a booking whose status and/or passenger count changed (admin edits)
+     * @throws IllegalStateException if the new allocation does not fit on the trip
+     */
+    @Transactional
+    public void reallocate(Booking booking, String oldStatus, int oldSeats, String newStatus, int newSeats) {
+        if (booking.getTrip() == null || booking.getTrip().getTripId() == null) {
+            return;
+        }
+        Long tripId = booking.getTrip().getTripId();
+        SeatBucket from = bucketOf(oldStatus);
+        SeatBucket to = bucketOf(newStatus);
+
+        if (from == to && oldSeats == newSeats) {
+            return;
+        }
+        evictTrip(tripId);
+        if (from == SeatBucket.HELD && to == SeatBucket.BOOKED && oldSeats == newSeats) {
+            tripRepository.convertHeldToBooked(tripId, newSeats);
+            return;
+        }
+
+        // Release first so a shrinking or moving allocation can reuse its own seats;
+        // a failed acquire below rolls the release back with the surrounding transaction
+        release(tripId, from, oldSeats);
+        if (to != SeatBucket.NONE && newSeats > 0) {
+            int updated = to == SeatBucket.HELD
+                    ? tripRepository.tryHoldSeats(tripId, newSeats)
+                    : tripRepository.tryBookSeats(tripId, newSeats);
+            if (updated == 0) {
+                throw new IllegalStateException("Not enough seats available on trip " + tripId);
+            }
+        }
+    }
+
+    /**
+     * Give back whatever a booking currently occupies (used before deleting it)
+     */
+    @Transactional
+    public void releaseSeats(Booking booking) {
+        if (booking.getTrip() != null && booking.getTrip().getTripId() != null) {
+            release(booking.getTrip().getTripId(), bucketOf(booking.getStatus()), booking.getPassengers());
+            evictTrip(booking.getTrip().getTripId());
+        }
+    }
+
+    /**
+     * Free seats for a trip, or -1 if the trip does not exist
+     */
+    @Transactional(readOnly = true)
+    public int getAvailableSeats(Long tripId) {
+        Integer available = tripRepository.findAvailableSeats(tripId);
+        return available == null ? -1 : Math.max(0, available);
+    }
+
+    /**
+     * Expire a batch of provisional holds and give their seats back.
+     * Issues one bulk UPDATE per trip; if a booking was confirmed between the read and the
+     * conditional UPDATE, that trip's counters are recomputed instead of guessed.
+     * @return number of bookings moved to EXPIRED
+     */
+    @Transactional
+    public int expireHolds(Collection<Long> bookingIds, LocalDateTime now) {
+        if (bookingIds.isEmpty()) return 0;
+
+        Map<Long, List<ExpiringHold>> byTrip = bookingRepository.findExpiredHolds(bookingIds, now).stream()
+                .collect(Collectors.groupingBy(h -> h.getTripId() != null ? h.getTripId() : NO_TRIP));
+
+        int expired = 0;
+        for (Map.Entry<Long, List<ExpiringHold>> group : byTrip.entrySet()) {
+            Long tripId = group.getKey();
+            List<ExpiringHold> holds = group.getValue();
+            List<Long> ids = holds.stream().map(ExpiringHold::getBookingId).toList();
+
+            int updated = bookingRepository.expireHolds(ids, now);
+            expired += updated;
+            if (tripId.equals(NO_TRIP) || updated == 0) {
+                continue;
+            }
+            evictTrip(tripId);
+            if (updated == holds.size()) {
+                tripRepository.releaseHeldSeats(tripId, holds.stream().mapToInt(ExpiringHold::getPassengers).sum());
+            } else {
+                log.warn("Concurrent change while expiring holds on trip {}; recomputing its seat counters", tripId);
+                tripRepository.resyncSeatInventory(tripId);
+            }
+        }
+        // Bulk UPDATE bypasses entity events, so tell the dashboard counters directly
+        dashboardStatsService.recordBulkStatusChange("PROVISIONAL", "EXPIRED", expired);
+        return expired;
+    }
+
+    /**
+     * Rebuild all counters from the bookings table
+     * @return number of trips updated
+     */
+    @Transactional
+    public int reconcile() {
+        int updated = tripRepository.resyncSeatInventory();
+        afterCommit(() -> entityManagerFactory.getCache().evict(Trip.class));
+        log.info("Seat inventory reconciled for {} trips", updated);
+        return updated;
+    }
+
+    private void release(Long tripId, SeatBucket bucket, int seats) {
+        if (seats <= 0) return;
+        if (bucket == SeatBucket.HELD) {
+            tripRepository.releaseHeldSeats(tripId, seats);
+        } else if (bucket == SeatBucket.BOOKED) {
+            tripRepository.releaseBookedSeats(tripId, seats);
+        }
+    }
+
+    // Evict now so this transaction's own reads miss the cache, and again after commit so a
+    // concurrent load of the pre-commit row cannot stay cached
+    private void evictTrip(Long tripId) {
+        entityManagerFactory.getCache().evict(Trip.class, tripId);
+        afterCommit(() -> entityManagerFactory.getCache().evict(Trip.class, tripId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static SeatBucket bucketOf(String status) {
+        if (status == null) return SeatBucket.NONE;
+        switch (status.toUpperCase()) {
+            case "PROVISIONAL":
+                return SeatBucket.HELD;
+            case "CONFIRMED":
+            case "COMPLETED":
+                return SeatBucket.BOOKED;
+            default:
+                return SeatBucket.NONE;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.config.WorkerThreads;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process event bus behind the staff dashboard live feed.
+ *
+ * Publishing never blocks the caller: the event is appended to a bounded replay buffer and
+ * offered to every subscriber's own bounded queue, which a small sender pool drains into the
+ * subscriber's SSE connection. A subscriber that falls a full queue behind is disconnected
+ * rather than buffered without limit; its browser reconnects with Last-Event-ID and catches up
+ * from the replay buffer. The number of concurrent subscribers is capped.
+ */
+@Service
+public class StaffEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(StaffEventBus.class);
+
+    private static final Object HEARTBEAT = new Object();
+
+    // Tells the client to reload the feed; id is the last event id it has now caught up to
+    private record Reset(long id) {
+    }
+
+    public record Event(long id, String time, String category, String type, String message) {
+    }
+
+    private final int maxSubscribers;
+    private final int replaySize;
+    private final int clientQueueSize;
+    private final int initialBacklog;
+    private final long timeoutMs;
+
+    private final ArrayDeque<Event> replay = new ArrayDeque<>();
+    // Ids start from a per-boot epoch (start time in ms * 1000), so every id of an earlier run is
+    // below this run's first id and a client reconnecting across a restart can be recognised
+    private final long firstId = System.currentTimeMillis() * 1000;
+    private long lastId = firstId;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor sender;
+
+    // Metrics
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong rejectedSubscribers = new AtomicLong();
+    private final AtomicLong slowDisconnects = new AtomicLong();
+
+    public StaffEventBus(@Value("${app.staff-events.max-subscribers:50}") int maxSubscribers,
+                         @Value("${app.staff-events.replay-size:256}") int replaySize,
+                         @Value("${app.staff-events.client-queue-size:64}") int clientQueueSize,
+                         @Value("${app.staff-events.initial-backlog:20}") int initialBacklog,
+                         @Value("${app.staff-events.timeout-ms:1800000}") long timeoutMs,
+                         @Value("${app.staff-events.sender-threads:2}") int senderThreads,
+                         WorkerThreads workerThreads) {
+        this.maxSubscribers = maxSubscribers;
+        this.replaySize = replaySize;
+        this.clientQueueSize = clientQueueSize;
+        this.initialBacklog = Math.min(initialBacklog, replaySize);
+        this.timeoutMs = timeoutMs;
+
+        // At most one pending drain per subscriber, so the work queue never needs more room than that
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, maxSubscribers)), workerThreads.factory("staff-events-"));
+    }
+
+    /**
+     * Publish an event to all connected dashboards; inside a transaction it is sent after commit
+     * @param type info, success or warning (matches the dashboard's feed styles)
+     */
+    public void publish(String category, String type, String message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(category, type, message);
+                }
+            });
+        } else {
+            dispatch(category, type, message);
+        }
+    }
+
+    /**
+     * Open a stream for one dashboard
+     * @param lastEventId id of the last event the client saw (reconnect), or null for a fresh connection
+     * @return the emitter, or null if the subscriber cap is reached
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        int current;
+        do {
+            current = subscriberCount.get();
+            if (current >= maxSubscribers) {
+                rejectedSubscribers.incrementAndGet();
+                return null;
+            }
+        } while (!subscriberCount.compareAndSet(current, current + 1));
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), clientQueueSize + replaySize + 1);
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+
+        // Backlog and registration happen under the publish lock so no event is missed or repeated
+        synchronized (this) {
+            if (lastEventId == null) {
+                int skip = Math.max(0, replay.size() - initialBacklog);
+                replay.stream().skip(skip).forEach(subscriber.queue::offer);
+            } else {
+                Event oldest = replay.peekFirst();
+                boolean otherRun = lastEventId < firstId || lastEventId > lastId;
+                if (otherRun || (oldest != null && lastEventId < oldest.id() - 1)) {
+                    // From before a restart, or too far behind - the client reloads the feed
+                    subscriber.queue.offer(new Reset(lastId));
+                } else {
+                    for (Event event : replay) {
+                        if (event.id() > lastEventId) subscriber.queue.offer(event);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return subscriber.emitter;
+    }
+
+    /**
+     * Most recent events, newest first (for clients that do not stream)
+     */
+    public synchronized List<Event> recent(int limit) {
+        List<Event> events = new ArrayList<>(Math.min(limit, replay.size()));
+        var it = replay.descendingIterator();
+        while (it.hasNext() && events.size() < limit) {
+            events.add(it.next());
+        }
+        return events;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscriberCount.get());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("published", published.get());
+        stats.put("rejectedSubscribers", rejectedSubscribers.get());
+        stats.put("slowDisconnects", slowDisconnects.get());
+        return stats;
+    }
+
+    // Keeps idle connections open through proxies and surfaces dead ones
+    @Scheduled(fixedDelayString = "${app.staff-events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        sender.shutdownNow();
+    }
+
+    private void dispatch(String category, String type, String message) {
+        published.incrementAndGet();
+        synchronized (this) {
+            Event event = new Event(++lastId, LocalTime.now().truncatedTo(ChronoUnit.SECONDS).toString(),
+                    category, type, message);
+            replay.addLast(event);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Object> queue;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Object item) {
+            if (closed.get()) return;
+            if (!queue.offer(item)) {
+                slowDisconnects.incrementAndGet();
+                log.debug("Staff event subscriber fell behind; disconnecting so it can resume from Last-Event-ID");
+                close();
+                emitter.complete();
+                return;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (closed.get() || !scheduled.compareAndSet(false, true)) return;
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                close();
+                emitter.complete();
+            }
+        }
+
+        void drain() {
+            try {
+                Object item;
+                while (!closed.get() && (item = queue.poll()) != null) {
+                    send(item);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(); // client went away
+            } finally {
+                scheduled.set(false);
+                if (!closed.get() && !queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } else if (item instanceof Reset reset) {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(reset.id()))
+                        .name("reset")
+                        .data("{}", MediaType.APPLICATION_JSON));
+            } else {
+                Event event = (Event) item;
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.id()))
+                        .name("update")
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                subscriberCount.decrementAndGet();
+                queue.clear();
+            }
+        }
+    }
+}
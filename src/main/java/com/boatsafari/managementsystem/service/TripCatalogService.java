@@ -0,0 +1,176 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.dto.TripCatalogItemDTO;
+import com.boatsafari.managementsystem.model.Boat;
+import com.boatsafari.managementsystem.model.Trip;
+import com.boatsafari.managementsystem.repository.TripRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pre-rendered JSON snapshot of the public trip catalog.
+ *
+ * The snapshot holds the serialized bytes and a strong ETag (a hash of those bytes), so serving
+ * it does no database access and no JSON serialization. Trip and boat changes invalidate it and
+ * the next request rebuilds it. Entries also expire after ttl-ms, which bounds staleness from
+ * changes made on other nodes.
+ */
+@Service
+public class TripCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(TripCatalogService.class);
+
+    public record Snapshot(byte[] body, String etag, long builtAt) {
+    }
+
+    private final TripRepository tripRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.trips.catalog-ttl-ms:300000}")
+    private long ttlMs;
+
+    private volatile Snapshot current;
+
+    // A lock rather than synchronized: the rebuild queries the database, and a virtual thread
+    // blocking inside a monitor would pin its carrier thread
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Bumped by every invalidation; a rebuild that raced with one is not installed
+    private final AtomicLong version = new AtomicLong();
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile long lastBuildMs;
+
+    public TripCatalogService(TripRepository tripRepository, ObjectMapper objectMapper) {
+        this.tripRepository = tripRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot snapshot = current;
+        if (snapshot != null && System.currentTimeMillis() - snapshot.builtAt() <= ttlMs) {
+            hits.incrementAndGet();
+            return snapshot;
+        }
+        return rebuild();
+    }
+
+    /**
+     * Drop the snapshot now and again once the surrounding transaction commits
+     */
+    public void invalidate() {
+        reset();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reset();
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot snapshot = current;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cached", snapshot != null);
+        stats.put("bytes", snapshot != null ? snapshot.body().length : 0);
+        stats.put("etag", snapshot != null ? snapshot.etag() : null);
+        stats.put("hits", hits.get());
+        stats.put("rebuilds", rebuilds.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("lastBuildMs", lastBuildMs);
+        return stats;
+    }
+
+    // One rebuild at a time; requests that queue behind it reuse its result
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            Snapshot snapshot = current;
+            if (snapshot != null && System.currentTimeMillis() - snapshot.builtAt() <= ttlMs) {
+                hits.incrementAndGet();
+                return snapshot;
+            }
+            long startVersion = version.get();
+            long started = System.currentTimeMillis();
+            List<TripCatalogItemDTO> items = tripRepository.findAll().stream()
+                    .sorted(Comparator.comparing(Trip::getTripId))
+                    .map(TripCatalogService::toItem)
+                    .toList();
+            byte[] body;
+            try {
+                body = objectMapper.writeValueAsBytes(items);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not render trip catalog", e);
+            }
+            Snapshot built = new Snapshot(body, etagOf(body), started);
+            if (version.get() == startVersion) {
+                current = built;
+            }
+            rebuilds.incrementAndGet();
+            lastBuildMs = System.currentTimeMillis() - started;
+            log.debug("Trip catalog rebuilt: {} trips, {} bytes in {} ms", items.size(), body.length, lastBuildMs);
+            return built;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void reset() {
+        version.incrementAndGet();
+        invalidations.incrementAndGet();
+        current = null;
+    }
+
+    private static TripCatalogItemDTO toItem(Trip trip) {
+        TripCatalogItemDTO item = new TripCatalogItemDTO();
+        item.setTripId(trip.getTripId());
+        item.setName(trip.getName());
+        item.setDescription(trip.getDescription());
+        item.setDate(trip.getDate());
+        item.setStartTime(trip.getStartTime());
+        item.setEndTime(trip.getEndTime());
+        item.setDuration(trip.getDuration());
+        item.setCapacity(trip.getCapacity());
+        item.setPrice(trip.getPrice());
+        item.setLocation(trip.getLocation());
+        item.setRoute(trip.getRoute());
+        item.setImageUrl(trip.getImageUrl());
+        item.setStatus(trip.getStatus());
+        Boat boat = trip.getBoat();
+        if (boat != null) {
+            item.setBoatName(boat.getBoatName());
+            item.setBoatType(boat.getType());
+        }
+        return item;
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
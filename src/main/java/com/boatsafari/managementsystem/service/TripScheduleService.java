@@ -0,0 +1,396 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.dto.TripScheduleRequest;
+import com.boatsafari.managementsystem.model.Boat;
+import com.boatsafari.managementsystem.model.Trip;
+import com.boatsafari.managementsystem.repository.BoatRepository;
+import com.boatsafari.managementsystem.repository.SafariGuideRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Expands recurring departure templates into trips and inserts them in one transaction.
+ *
+ * Rows go straight to the trips table with JDBC batch inserts, skipping entity instantiation and
+ * dirty checking. Ids come from the same pooled trips_seq generator Hibernate uses, so they never
+ * collide with trips saved through JPA. Departures that already exist (same date, start time
+ * and route) are skipped, so publishing an overlapping season again only adds what is missing.
+ * Runs that insert are serialised across nodes by a transaction-owned application lock, so two
+ * overlapping runs cannot both pass the duplicate check and insert the same departures.
+ * The inserts bypass Hibernate, so cached trip queries and the public catalog are cleared after
+ * commit.
+ */
+@Service
+public class TripScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(TripScheduleService.class);
+
+    private static final String INSERT_SQL = "insert into trips " +
+            "(trip_id, name, description, date, start_time, end_time, duration, capacity, price, location, route, " +
+            "image_url, status, booked_seats, held_seats, boat_id, guide_id) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', 0, 0, ?, ?)";
+
+    // Released by SQL Server when the surrounding transaction commits or rolls back
+    private static final String LOCK_SQL = "declare @result int; " +
+            "exec @result = sp_getapplock @Resource = 'trip-schedule', @LockMode = 'Exclusive', " +
+            "@LockOwner = 'Transaction', @LockTimeout = ?; select @result";
+
+    private record Departure(TripScheduleRequest.Template template, LocalDate date, LocalTime start, int capacity,
+                             Long id) {
+
+        Departure withId(Long id) {
+            return new Departure(template, date, start, capacity, id);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BoatRepository boatRepository;
+    private final SafariGuideRepository safariGuideRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TripCatalogService tripCatalogService;
+    private final DashboardStatsService dashboardStatsService;
+
+    @Value("${app.trips.schedule-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.trips.schedule-max-trips:50000}")
+    private int maxTrips;
+
+    @Value("${app.trips.schedule-lock-timeout-ms:30000}")
+    private int lockTimeoutMs;
+
+    public TripScheduleService(JdbcTemplate jdbcTemplate, BoatRepository boatRepository,
+                               SafariGuideRepository safariGuideRepository,
+                               EntityManagerFactory entityManagerFactory,
+                               TripCatalogService tripCatalogService,
+                               DashboardStatsService dashboardStatsService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.boatRepository = boatRepository;
+        this.safariGuideRepository = safariGuideRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.tripCatalogService = tripCatalogService;
+        this.dashboardStatsService = dashboardStatsService;
+    }
+
+    /**
+     * Generate the season and report counts and throughput
+     * @throws IllegalArgumentException for an invalid request (nothing is inserted)
+     * @throws IllegalStateException if another run kept the schedule lock past lock-timeout-ms
+     */
+    @Transactional
+    public Map<String, Object> generate(TripScheduleRequest request) {
+        long started = System.nanoTime();
+        validate(request);
+
+        List<Departure> departures = expand(request);
+        if (!request.isDryRun()) {
+            lockSchedule();
+        }
+        Set<String> existing = existingDepartures(request.getStartDate(), request.getEndDate());
+        List<Departure> toInsert = new ArrayList<>(departures.size());
+        for (Departure d : departures) {
+            if (existing.add(key(d.date(), d.start(), d.template().getRoute()))) {
+                toInsert.add(d);
+            }
+        }
+        long expandedAt = System.nanoTime();
+
+        int batches = 0;
+        if (!request.isDryRun() && !toInsert.isEmpty()) {
+            assignIds(toInsert);
+            batches = jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, batchSize, (ps, d) -> {
+                TripScheduleRequest.Template t = d.template();
+                ps.setLong(1, d.id());
+                ps.setString(2, t.getName());
+                ps.setString(3, t.getDescription());
+                ps.setDate(4, Date.valueOf(d.date()));
+                ps.setTime(5, Time.valueOf(d.start()));
+                ps.setTime(6, Time.valueOf(d.start().plusHours(t.getDurationHours())));
+                ps.setInt(7, t.getDurationHours());
+                ps.setInt(8, d.capacity());
+                ps.setDouble(9, t.getPrice());
+                ps.setString(10, t.getLocation());
+                ps.setString(11, t.getRoute());
+                ps.setString(12, t.getImageUrl());
+                ps.setObject(13, t.getBoatId(), Types.BIGINT);
+                ps.setObject(14, t.getGuideId(), Types.BIGINT);
+            }).length;
+            afterCommit(this::evictTripQueries);
+        }
+        long finished = System.nanoTime();
+
+        long elapsedMs = (finished - started) / 1_000_000;
+        long insertMs = (finished - expandedAt) / 1_000_000;
+        int inserted = request.isDryRun() ? 0 : toInsert.size();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("dryRun", request.isDryRun());
+        report.put("generated", departures.size());
+        report.put("skippedExisting", departures.size() - toInsert.size());
+        report.put("inserted", inserted);
+        report.put("batches", batches);
+        report.put("batchSize", batchSize);
+        report.put("elapsedMs", elapsedMs);
+        report.put("insertMs", insertMs);
+        report.put("tripsPerSecond", insertMs > 0 ? Math.round(inserted * 1000.0 / insertMs) : inserted);
+        log.info("Trip schedule {}: {} departures, {} new, {} inserted in {} batches, {} ms",
+                request.isDryRun() ? "dry run" : "generated", departures.size(), toInsert.size(), inserted, batches, elapsedMs);
+        return report;
+    }
+
+    private void validate(TripScheduleRequest request) {
+        if (request.getStartDate() == null || request.getEndDate() == null) {
+            throw new IllegalArgumentException("startDate and endDate are required");
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        if (request.getTemplates() == null || request.getTemplates().isEmpty()) {
+            throw new IllegalArgumentException("At least one template is required");
+        }
+        for (TripScheduleRequest.Template t : request.getTemplates()) {
+            if (t.getName() == null || t.getName().isBlank()) {
+                throw new IllegalArgumentException("Every template needs a name");
+            }
+            if (t.getDepartureTimes() == null || t.getDepartureTimes().isEmpty()) {
+                throw new IllegalArgumentException("Template '" + t.getName() + "' has no departure times");
+            }
+            if (t.getDurationHours() < 0 || t.getDurationHours() > 23) {
+                throw new IllegalArgumentException("Template '" + t.getName() + "' has an invalid duration");
+            }
+            if (t.getPrice() < 0) {
+                throw new IllegalArgumentException("Template '" + t.getName() + "' has a negative price");
+            }
+            if (t.getGuideId() != null && !safariGuideRepository.existsById(t.getGuideId())) {
+                throw new IllegalArgumentException("Safari guide not found: " + t.getGuideId());
+            }
+            Recurrence.parse(t.getRecurrence());
+        }
+    }
+
+    private List<Departure> expand(TripScheduleRequest request) {
+        Map<Long, Optional<Boat>> boats = new HashMap<>();
+        List<Departure> departures = new ArrayList<>();
+        for (TripScheduleRequest.Template t : request.getTemplates()) {
+            int capacity = capacityOf(t, boats);
+            Recurrence recurrence = Recurrence.parse(t.getRecurrence());
+            Set<LocalDate> excluded = t.getExcludeDates() != null ? new HashSet<>(t.getExcludeDates()) : Set.of();
+            int occurrences = 0;
+            for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+                if (!recurrence.matches(request.getStartDate(), date)) {
+                    continue;
+                }
+                // Excluded dates still count towards COUNT, as EXDATE does
+                if (recurrence.count() != null && occurrences++ >= recurrence.count()) {
+                    break;
+                }
+                if (excluded.contains(date)) {
+                    continue;
+                }
+                for (LocalTime start : t.getDepartureTimes()) {
+                    departures.add(new Departure(t, date, start, capacity, null));
+                    if (departures.size() > maxTrips) {
+                        throw new IllegalArgumentException("Schedule expands to more than " + maxTrips + " trips");
+                    }
+                }
+            }
+        }
+        return departures;
+    }
+
+    // One sequence round trip per allocation block (pooled-lo), shared with JPA inserts
+    private void assignIds(List<Departure> departures) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Trip.class).getGenerator();
+        for (int i = 0; i < departures.size(); i++) {
+            departures.set(i, departures.get(i).withId(((Number) generator.generate(session, null)).longValue()));
+        }
+    }
+
+    private int capacityOf(TripScheduleRequest.Template t, Map<Long, Optional<Boat>> boats) {
+        Boat boat = null;
+        if (t.getBoatId() != null) {
+            boat = boats.computeIfAbsent(t.getBoatId(), boatRepository::findById)
+                    .orElseThrow(() -> new IllegalArgumentException("Boat not found: " + t.getBoatId()));
+        }
+        Integer capacity = t.getCapacity() != null ? t.getCapacity() : boat != null ? boat.getCapacity() : null;
+        if (capacity == null || capacity <= 0) {
+            throw new IllegalArgumentException("Template '" + t.getName() + "' needs a capacity or a boat");
+        }
+        return capacity;
+    }
+
+    // Taken before reading existing departures, so a concurrent run's inserts are committed and seen
+    private void lockSchedule() {
+        Integer result = jdbcTemplate.queryForObject(LOCK_SQL, Integer.class, lockTimeoutMs);
+        if (result == null || result < 0) {
+            throw new IllegalStateException("Another trip schedule is being generated; try again shortly");
+        }
+    }
+
+    private Set<String> existingDepartures(LocalDate from, LocalDate to) {
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query("select date, start_time, route from trips where date between ? and ?",
+                rs -> {
+                    Date date = rs.getDate(1);
+                    Time start = rs.getTime(2);
+                    if (date != null && start != null) {
+                        keys.add(key(date.toLocalDate(), start.toLocalTime(), rs.getString(3)));
+                    }
+                }, Date.valueOf(from), Date.valueOf(to));
+        return keys;
+    }
+
+    private static String key(LocalDate date, LocalTime start, String route) {
+        return date + "|" + start.withNano(0) + "|" + (route != null ? route : "");
+    }
+
+    private void evictTripQueries() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        tripCatalogService.invalidate();
+        dashboardStatsService.markStale();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * FREQ=DAILY|WEEKLY with optional INTERVAL, (weekly) BYDAY and either COUNT or UNTIL,
+     * counted from the season start
+     * @param count occurrence dates from the season start, or null
+     * @param until last date (inclusive), or null
+     */
+    record Recurrence(boolean weekly, int interval, Set<DayOfWeek> days, Integer count, LocalDate until) {
+
+        static Recurrence parse(String rule) {
+            String freq = "DAILY";
+            int interval = 1;
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            Integer count = null;
+            LocalDate until = null;
+            if (rule != null && !rule.isBlank()) {
+                for (String part : rule.trim().toUpperCase().split(";")) {
+                    String[] kv = part.split("=", 2);
+                    if (kv.length != 2) {
+                        throw new IllegalArgumentException("Invalid recurrence rule: " + rule);
+                    }
+                    switch (kv[0].trim()) {
+                        case "FREQ" -> freq = kv[1].trim();
+                        case "INTERVAL" -> interval = parsePositive(kv[1].trim(), "interval", rule);
+                        case "COUNT" -> count = parsePositive(kv[1].trim(), "count", rule);
+                        case "UNTIL" -> until = parseUntil(kv[1].trim(), rule);
+                        case "BYDAY" -> {
+                            for (String day : kv[1].split(",")) {
+                                days.add(dayOf(day.trim(), rule));
+                            }
+                        }
+                        default -> throw new IllegalArgumentException("Unsupported recurrence part: " + kv[0]);
+                    }
+                }
+            }
+            if (!freq.equals("DAILY") && !freq.equals("WEEKLY")) {
+                throw new IllegalArgumentException("Unsupported recurrence frequency: " + freq + " (use DAILY or WEEKLY)");
+            }
+            if (freq.equals("DAILY") && !days.isEmpty()) {
+                throw new IllegalArgumentException("BYDAY needs FREQ=WEEKLY");
+            }
+            if (count != null && until != null) {
+                throw new IllegalArgumentException("COUNT and UNTIL cannot be combined");
+            }
+            return new Recurrence(freq.equals("WEEKLY"), interval, days, count, until);
+        }
+
+        boolean matches(LocalDate start, LocalDate date) {
+            if (until != null && date.isAfter(until)) {
+                return false;
+            }
+            if (!weekly) {
+                return ChronoUnit.DAYS.between(start, date) % interval == 0;
+            }
+            Set<DayOfWeek> on = days.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : days;
+            long weeks = ChronoUnit.WEEKS.between(start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                    date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+            return on.contains(date.getDayOfWeek()) && weeks % interval == 0;
+        }
+
+        private static int parsePositive(String value, String name, String rule) {
+            try {
+                int parsed = Integer.parseInt(value);
+                if (parsed >= 1) {
+                    return parsed;
+                }
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+            throw new IllegalArgumentException("Invalid recurrence " + name + ": " + rule);
+        }
+
+        // 20250531 or 20250531T235959Z; only the date is used
+        private static LocalDate parseUntil(String value, String rule) {
+            try {
+                return LocalDate.parse(value.length() > 8 && value.charAt(8) == 'T' ? value.substring(0, 8) : value,
+                        DateTimeFormatter.BASIC_ISO_DATE);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid recurrence UNTIL date: " + rule);
+            }
+        }
+
+        private static DayOfWeek dayOf(String code, String rule) {
+            return switch (code) {
+                case "MO" -> DayOfWeek.MONDAY;
+                case "TU" -> DayOfWeek.TUESDAY;
+                case "WE" -> DayOfWeek.WEDNESDAY;
+                case "TH" -> DayOfWeek.THURSDAY;
+                case "FR" -> DayOfWeek.FRIDAY;
+                case "SA" -> DayOfWeek.SATURDAY;
+                case "SU" -> DayOfWeek.SUNDAY;
+                default -> throw new IllegalArgumentException("Invalid BYDAY value in recurrence rule: " + rule);
+            };
+        }
+    }
+}
@@ -1,22 +1,56 @@
 // src/main/java/com/boatsafari/managementsystem/service/TripService.java
 package com.boatsafari.managementsystem.service;
 
+import com.boatsafari.managementsystem.dto.TripAvailabilityDTO;
+import com.boatsafari.managementsystem.model.Boat;
 import com.boatsafari.managementsystem.model.Trip;
 import com.boatsafari.managementsystem.repository.TripRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class TripService {
 
+    public static final int DEFAULT_SEARCH_PAGE_SIZE = 50;
+    public static final int MAX_SEARCH_PAGE_SIZE = 200;
+
+    /**
+     * Availability search criteria; every field is optional. fromDate defaults to today and
+     * minSeats to 1, so by default only bookable trips are returned.
+     */
+    public record AvailabilityFilter(LocalDate fromDate, LocalDate toDate, String location, String route,
+                                     Double minPrice, Double maxPrice, Integer minSeats) {
+    }
+
+    public record AvailabilityPage(List<TripAvailabilityDTO> items, String nextCursor) {
+    }
+
     @Autowired
     private TripRepository tripRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Trip> getAllTrips() {
         return tripRepository.findAll();
     }
@@ -85,4 +119,118 @@ public class TripService {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Active trips matching the filter, ordered by date then id, as a single projection query.
+     * Remaining seats come from the trip's seat counters (see SeatInventoryService), which already
+     * hold the sums of PROVISIONAL and CONFIRMED/COMPLETED passengers, so no bookings aggregate is
+     * needed per row. Pages continue from an opaque (date, id) cursor.
+     * @throws IllegalArgumentException for an inverted date or price range or a malformed cursor
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityPage searchAvailableTrips(AvailabilityFilter filter, String cursor, int size) {
+        LocalDate from = filter.fromDate() != null ? filter.fromDate() : LocalDate.now();
+        if (filter.toDate() != null && filter.toDate().isBefore(from)) {
+            throw new IllegalArgumentException("toDate must not be before fromDate");
+        }
+        if (filter.minPrice() != null && filter.maxPrice() != null && filter.minPrice() > filter.maxPrice()) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        int minSeats = filter.minSeats() != null ? Math.max(1, filter.minSeats()) : 1;
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Trip> t = query.from(Trip.class);
+        Join<Trip, Boat> boat = t.join("boat", JoinType.LEFT);
+
+        Path<Long> id = t.get("tripId");
+        Path<LocalDate> date = t.get("date");
+        Expression<Integer> remaining = cb.diff(cb.diff(t.<Integer>get("capacity"), t.<Integer>get("bookedSeats")),
+                t.<Integer>get("heldSeats"));
+
+        // date + status first so ix_trips_date_status can drive the scan
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.greaterThanOrEqualTo(date, from));
+        if (filter.toDate() != null) {
+            where.add(cb.lessThanOrEqualTo(date, filter.toDate()));
+        }
+        where.add(cb.equal(t.get("status"), "ACTIVE"));
+        where.add(cb.greaterThanOrEqualTo(remaining, minSeats));
+        if (filter.location() != null && !filter.location().isBlank()) {
+            where.add(cb.like(cb.lower(t.get("location")), contains(filter.location()), '\\'));
+        }
+        if (filter.route() != null && !filter.route().isBlank()) {
+            where.add(cb.like(cb.lower(t.get("route")), contains(filter.route()), '\\'));
+        }
+        if (filter.minPrice() != null) {
+            where.add(cb.greaterThanOrEqualTo(t.get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            where.add(cb.lessThanOrEqualTo(t.get("price"), filter.maxPrice()));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Object[] key = decodeCursor(cursor);
+            LocalDate lastDate = (LocalDate) key[0];
+            Long lastId = (Long) key[1];
+            where.add(cb.or(cb.greaterThan(date, lastDate), cb.and(cb.equal(date, lastDate), cb.greaterThan(id, lastId))));
+        }
+
+        query.multiselect(
+                id.alias("tripId"), t.get("name").alias("name"), date.alias("date"),
+                t.get("startTime").alias("startTime"), t.get("endTime").alias("endTime"),
+                t.get("location").alias("location"), t.get("route").alias("route"),
+                t.get("price").alias("price"), t.get("capacity").alias("capacity"),
+                remaining.alias("remainingSeats"), boat.get("boatName").alias("boatName"))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.asc(date), cb.asc(id));
+
+        // One extra row tells whether another page exists
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        List<TripAvailabilityDTO> items = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            items.add(toAvailability(rows.get(i)));
+        }
+        String nextCursor = rows.size() > limit ? encodeCursor(items.get(items.size() - 1)) : null;
+        return new AvailabilityPage(items, nextCursor);
+    }
+
+    private static TripAvailabilityDTO toAvailability(Tuple row) {
+        TripAvailabilityDTO dto = new TripAvailabilityDTO();
+        dto.setTripId(row.get("tripId", Long.class));
+        dto.setName(row.get("name", String.class));
+        dto.setDate(row.get("date", LocalDate.class));
+        dto.setStartTime(row.get("startTime", LocalTime.class));
+        dto.setEndTime(row.get("endTime", LocalTime.class));
+        dto.setLocation(row.get("location", String.class));
+        dto.setRoute(row.get("route", String.class));
+        dto.setPrice(row.get("price", Double.class));
+        dto.setCapacity(row.get("capacity", Integer.class));
+        dto.setRemainingSeats(row.get("remainingSeats", Integer.class));
+        dto.setBoatName(row.get("boatName", String.class));
+        return dto;
+    }
+
+    // ---- cursor: base64url of "yyyy-MM-dd|tripId" ----
+
+    private static String encodeCursor(TripAvailabilityDTO last) {
+        String key = last.getDate() + "|" + last.getTripId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = key.split("\\|", 2);
+            return new Object[] { LocalDate.parse(parts[0]), Long.parseLong(parts[1]) };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String contains(String value) {
+        String escaped = value.trim().toLowerCase()
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
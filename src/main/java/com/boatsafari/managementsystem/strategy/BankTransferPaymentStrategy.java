@@ -2,7 +2,7 @@ package com.boatsafari.managementsystem.strategy;
 
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Concrete Strategy for Bank Transfer Payment
@@ -10,28 +10,24 @@ import java.util.UUID;
  */
 @Component("bankTransferPayment")
 public class BankTransferPaymentStrategy implements PaymentStrategy {
+
+    private final PaymentGateway gateway;
+
+    public BankTransferPaymentStrategy(PaymentGateway gateway) {
+        this.gateway = gateway;
+    }
     
     @Override
-    public PaymentResult processPayment(BigDecimal amount, String customerEmail, String paymentDetails) {
+    public CompletableFuture<PaymentResult> processPayment(BigDecimal amount, String customerEmail, String paymentDetails) {
         if (!validatePaymentDetails(paymentDetails)) {
-            return new PaymentResult(false, "Invalid bank account details", null, 0.0);
+            return CompletableFuture.completedFuture(new PaymentResult(false, "Invalid bank account details", null, 0.0));
         }
         
-        // Simulate bank transfer processing
-        try {
-            Thread.sleep(3000); // Bank transfers take longer
-            
-            String transactionId = "BT-" + UUID.randomUUID().toString().substring(0, 8);
-            double fee = getProcessingFee(amount);
-            
-            return new PaymentResult(true, 
-                "Bank transfer initiated successfully", 
-                transactionId, 
-                fee);
-                
-        } catch (InterruptedException e) {
-            return new PaymentResult(false, "Bank transfer failed", null, 0.0);
-        }
+        double fee = getProcessingFee(amount);
+        return gateway.charge(getPaymentMethodName(), amount, customerEmail)
+            .thenApply(response -> response.approved()
+                ? new PaymentResult(true, "Bank transfer initiated successfully", "BT-" + response.reference(), fee)
+                : new PaymentResult(false, response.message(), null, 0.0));
     }
     
     @Override
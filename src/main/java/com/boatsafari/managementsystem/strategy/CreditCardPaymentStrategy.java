@@ -2,7 +2,7 @@ package com.boatsafari.managementsystem.strategy;
 
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
 /**
@@ -14,29 +14,24 @@ public class CreditCardPaymentStrategy implements PaymentStrategy {
     
     private static final Pattern CREDIT_CARD_PATTERN = 
         Pattern.compile("^[0-9]{13,19}$");
+
+    private final PaymentGateway gateway;
+
+    public CreditCardPaymentStrategy(PaymentGateway gateway) {
+        this.gateway = gateway;
+    }
     
     @Override
-    public PaymentResult processPayment(BigDecimal amount, String customerEmail, String paymentDetails) {
+    public CompletableFuture<PaymentResult> processPayment(BigDecimal amount, String customerEmail, String paymentDetails) {
         if (!validatePaymentDetails(paymentDetails)) {
-            return new PaymentResult(false, "Invalid credit card number", null, 0.0);
+            return CompletableFuture.completedFuture(new PaymentResult(false, "Invalid credit card number", null, 0.0));
         }
         
-        // Simulate credit card processing
-        try {
-            Thread.sleep(2000); // Simulate processing delay
-            
-            // Generate transaction ID
-            String transactionId = "CC-" + UUID.randomUUID().toString().substring(0, 8);
-            double fee = getProcessingFee(amount);
-            
-            return new PaymentResult(true, 
-                "Credit card payment successful", 
-                transactionId, 
-                fee);
-                
-        } catch (InterruptedException e) {
-            return new PaymentResult(false, "Payment processing interrupted", null, 0.0);
-        }
+        double fee = getProcessingFee(amount);
+        return gateway.charge(getPaymentMethodName(), amount, customerEmail)
+            .thenApply(response -> response.approved()
+                ? new PaymentResult(true, "Credit card payment successful", "CC-" + response.reference(), fee)
+                : new PaymentResult(false, response.message(), null, 0.0));
     }
     
     @Override
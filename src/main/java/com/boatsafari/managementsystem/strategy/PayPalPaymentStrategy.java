@@ -2,7 +2,7 @@ package com.boatsafari.managementsystem.strategy;
 
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Concrete Strategy for PayPal Payment
@@ -10,28 +10,24 @@ import java.util.UUID;
  */
 @Component("paypalPayment")
 public class PayPalPaymentStrategy implements PaymentStrategy {
+
+    private final PaymentGateway gateway;
+
+    public PayPalPaymentStrategy(PaymentGateway gateway) {
+        this.gateway = gateway;
+    }
     
     @Override
-    public PaymentResult processPayment(BigDecimal amount, String customerEmail, String paymentDetails) {
+    public CompletableFuture<PaymentResult> processPayment(BigDecimal amount, String customerEmail, String paymentDetails) {
         if (!validatePaymentDetails(paymentDetails)) {
-            return new PaymentResult(false, "Invalid PayPal email", null, 0.0);
+            return CompletableFuture.completedFuture(new PaymentResult(false, "Invalid PayPal email", null, 0.0));
         }
         
-        // Simulate PayPal API call
-        try {
-            Thread.sleep(1500); // Simulate API delay
-            
-            String transactionId = "PP-" + UUID.randomUUID().toString().substring(0, 8);
-            double fee = getProcessingFee(amount);
-            
-            return new PaymentResult(true, 
-                "PayPal payment successful", 
-                transactionId, 
-                fee);
-                
-        } catch (InterruptedException e) {
-            return new PaymentResult(false, "PayPal processing failed", null, 0.0);
-        }
+        double fee = getProcessingFee(amount);
+        return gateway.charge(getPaymentMethodName(), amount, customerEmail)
+            .thenApply(response -> response.approved()
+                ? new PaymentResult(true, "PayPal payment successful", "PP-" + response.reference(), fee)
+                : new PaymentResult(false, response.message(), null, 0.0));
     }
     
     @Override
@@ -0,0 +1,17 @@
+package com.boatsafari.managementsystem.strategy;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outbound call to the payment provider used by the payment strategies.
+ * Implementations complete the future when the provider answers and never block the caller;
+ * transport errors complete it exceptionally, a declined payment completes it normally.
+ */
+public interface PaymentGateway {
+
+    CompletableFuture<GatewayResponse> charge(String paymentMethod, BigDecimal amount, String customerEmail);
+
+    record GatewayResponse(boolean approved, String reference, String message) {
+    }
+}
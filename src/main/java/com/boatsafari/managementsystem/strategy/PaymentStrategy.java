@@ -1,14 +1,18 @@
 package com.boatsafari.managementsystem.strategy;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Strategy Pattern Implementation for Payment Processing
  * This follows the Strategy design pattern learned in class
+ *
+ * processPayment completes when the gateway answers; it does not block the calling thread.
+ * Invalid details and declines complete with an unsuccessful result, gateway errors exceptionally.
  */
 public interface PaymentStrategy {
-    PaymentResult processPayment(BigDecimal amount, String customerEmail, String paymentDetails);
+    CompletableFuture<PaymentResult> processPayment(BigDecimal amount, String customerEmail, String paymentDetails);
     boolean validatePaymentDetails(String paymentDetails);
     String getPaymentMethodName();
     double getProcessingFee(BigDecimal amount);
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.boatsafari.managementsystem.strategy;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for the payment provider until a real one is integrated. Answers after a configurable
+ * per-method latency (card 2 s, PayPal 1.5 s, bank transfer 3 s by default, as the strategies'
+ * original delays) without holding a thread while "waiting" (the answer is scheduled), and can
+ * fail a share of calls to exercise timeouts and the circuit breaker.
+ */
+@Component
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final Map<String, Long> latencyByMethod;
+    private final long defaultLatencyMs;
+    private final double failureRate;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public SimulatedPaymentGateway(
+            @Value("${app.payments.gateway.simulated.credit-card-latency-ms:2000}") long creditCardLatencyMs,
+            @Value("${app.payments.gateway.simulated.paypal-latency-ms:1500}") long payPalLatencyMs,
+            @Value("${app.payments.gateway.simulated.bank-transfer-latency-ms:3000}") long bankTransferLatencyMs,
+            @Value("${app.payments.gateway.simulated.failure-rate:0.0}") double failureRate) {
+        this(Map.of("CREDIT_CARD", creditCardLatencyMs, "PAYPAL", payPalLatencyMs,
+                "BANK_TRANSFER", bankTransferLatencyMs), creditCardLatencyMs, failureRate);
+    }
+
+    /**
+     * The same latency for every method (tests, benchmarks)
+     */
+    public SimulatedPaymentGateway(long latencyMs, double failureRate) {
+        this(Map.of(), latencyMs, failureRate);
+    }
+
+    private SimulatedPaymentGateway(Map<String, Long> latencyByMethod, long defaultLatencyMs, double failureRate) {
+        this.latencyByMethod = latencyByMethod;
+        this.defaultLatencyMs = defaultLatencyMs;
+        this.failureRate = failureRate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "payment-gateway-sim");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public CompletableFuture<GatewayResponse> charge(String paymentMethod, BigDecimal amount, String customerEmail) {
+        CompletableFuture<GatewayResponse> response = new CompletableFuture<>();
+        boolean fail = failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+        scheduler.schedule(() -> {
+            if (fail) {
+                response.completeExceptionally(new IllegalStateException("Simulated gateway error"));
+            } else {
+                response.complete(new GatewayResponse(true, UUID.randomUUID().toString().substring(0, 8), "Approved"));
+            }
+        }, latencyByMethod.getOrDefault(paymentMethod, defaultLatencyMs), TimeUnit.MILLISECONDS);
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,13 @@
+package com.boatsafari.managementsystem.util;
+
+import java.util.Date;
+
+/**
+ * Verified claims of a JWT, decoded once by {@link JwtUtils#verifyAndDecode(String)}
+ */
+public record JwtClaims(String email, String role, Long userId, Date expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt == null || !expiresAt.after(new Date());
+    }
+}
@@ -6,11 +6,17 @@ import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.text.ParseException;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
@@ -18,6 +24,48 @@ public class JwtUtils {
     @Value("${jwt.secret}")
     private String secret; // Must be at least 256 bits (32 characters) for HS256
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    // MACSigner/MACVerifier are immutable and thread-safe, so build them once
+    private JWSSigner signer;
+    private JWSVerifier verifier;
+    private JwtVerificationCache cache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // auth.jwt.verify by result: cached (cache hit), verified (full HMAC check) or rejected
+    private Timer cachedTimer;
+    private Timer verifiedTimer;
+    private Timer rejectedTimer;
+
+    @PostConstruct
+    void init() throws JOSEException {
+        signer = new MACSigner(secret.getBytes());
+        verifier = new MACVerifier(secret.getBytes());
+        cache = new JwtVerificationCache(cacheMaxSize);
+
+        cachedTimer = verifyTimer("cached");
+        verifiedTimer = verifyTimer("verified");
+        rejectedTimer = verifyTimer("rejected");
+        FunctionCounter.builder("auth.jwt.cache.requests", cache, JwtVerificationCache::getHits)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("auth.jwt.cache.requests", cache, JwtVerificationCache::getMisses)
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("auth.jwt.cache.evictions", cache, JwtVerificationCache::getEvictions)
+                .register(meterRegistry);
+        Gauge.builder("auth.jwt.cache.size", cache, JwtVerificationCache::size).register(meterRegistry);
+    }
+
+    private Timer verifyTimer(String result) {
+        return Timer.builder("auth.jwt.verify")
+                .description("JWT signature/expiry validation")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public String generateToken(User user) {
         try {
             // Create claims
@@ -34,7 +82,6 @@ public class JwtUtils {
                     new JWSHeader(JWSAlgorithm.HS256),
                     claimsSet);
 
-            JWSSigner signer = new MACSigner(secret.getBytes());
             signedJWT.sign(signer);
 
             return signedJWT.serialize();
@@ -70,63 +117,73 @@ public class JwtUtils {
         }
     }
 
-    public String getEmailFromToken(String token) {
-        try {
-            SignedJWT signedJWT = SignedJWT.parse(token);
-            JWSVerifier verifier = new MACVerifier(secret.getBytes());
+    /**
+     * Verify the signature and expiry of a token and decode its claims in a single parse.
+     * Results are cached by token hash, so repeat requests with the same token skip parsing
+     * and HMAC verification entirely.
+     * @return the claims, or null if the token is malformed, forged or expired
+     */
+    public JwtClaims verifyAndDecode(String token) {
+        if (token == null || token.isEmpty()) return null;
+
+        long start = System.nanoTime();
+        String key = JwtVerificationCache.keyFor(token);
+        JwtClaims cached = cache.get(key);
+        if (cached != null) {
+            cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
 
-            if (signedJWT.verify(verifier)) {
-                return signedJWT.getJWTClaimsSet().getSubject();
-            }
-            return null;
-        } catch (ParseException | JOSEException e) {
-            return null;
+        JwtClaims claims = verify(token);
+        if (claims != null) {
+            cache.put(key, claims);
         }
+        (claims != null ? verifiedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
     }
 
-    public Long getUserIdFromToken(String token) {
+    private JwtClaims verify(String token) {
         try {
             SignedJWT signedJWT = SignedJWT.parse(token);
-            JWSVerifier verifier = new MACVerifier(secret.getBytes());
-
-            if (signedJWT.verify(verifier)) {
-                JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
-                return claims.getLongClaim("userId");
+            if (!signedJWT.verify(verifier)) {
+                return null;
             }
-            return null;
-        } catch (ParseException | JOSEException e) {
+            JWTClaimsSet claimsSet = signedJWT.getJWTClaimsSet();
+            JwtClaims claims = new JwtClaims(
+                    claimsSet.getSubject(),
+                    claimsSet.getStringClaim("role"),
+                    claimsSet.getLongClaim("userId"),
+                    claimsSet.getExpirationTime());
+            return claims.isExpired() ? null : claims;
+        } catch (Exception e) {
             return null;
         }
     }
 
-    public String getRoleFromToken(String token) {
-        try {
-            SignedJWT signedJWT = SignedJWT.parse(token);
-            JWSVerifier verifier = new MACVerifier(secret.getBytes());
+    public String getEmailFromToken(String token) {
+        JwtClaims claims = verifyAndDecode(token);
+        return claims != null ? claims.email() : null;
+    }
 
-            if (signedJWT.verify(verifier)) {
-                JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
-                return claims.getStringClaim("role");
-            }
-            return null;
-        } catch (ParseException | JOSEException e) {
-            return null;
-        }
+    public Long getUserIdFromToken(String token) {
+        JwtClaims claims = verifyAndDecode(token);
+        return claims != null ? claims.userId() : null;
+    }
+
+    public String getRoleFromToken(String token) {
+        JwtClaims claims = verifyAndDecode(token);
+        return claims != null ? claims.role() : null;
     }
 
     public boolean validateToken(String token) {
-        try {
-            SignedJWT signedJWT = SignedJWT.parse(token);
-            JWSVerifier verifier = new MACVerifier(secret.getBytes());
+        return verifyAndDecode(token) != null;
+    }
 
-            if (!signedJWT.verify(verifier)) {
-                return false;
-            }
+    public long getCacheHits() { return cache.getHits(); }
 
-            Date expiration = signedJWT.getJWTClaimsSet().getExpirationTime();
-            return expiration != null && expiration.after(new Date());
-        } catch (Exception e) {
-            return false;
-        }
-    }
-}
\ No newline at end of file
+    public long getCacheMisses() { return cache.getMisses(); }
+
+    public long getCacheEvictions() { return cache.getEvictions(); }
+
+    public int getCacheSize() { return cache.size(); }
+}
@@ -0,0 +1,83 @@
+package com.boatsafari.managementsystem.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of verified JWT claims keyed by the SHA-256 of the token.
+ *
+ * Entries are dropped as soon as the token expires, and when the cache is full expired entries
+ * are purged first before arbitrary ones are evicted. Only tokens that passed signature
+ * verification are ever stored, so a hit is as good as a fresh HMAC check.
+ */
+class JwtVerificationCache {
+
+    private final int maxSize;
+    private final Map<String, JwtClaims> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    JwtVerificationCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    JwtClaims get(String key) {
+        JwtClaims claims = entries.get(key);
+        if (claims == null) {
+            misses.increment();
+            return null;
+        }
+        if (claims.isExpired()) {
+            entries.remove(key, claims);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return claims;
+    }
+
+    void put(String key, JwtClaims claims) {
+        if (maxSize <= 0) return;
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, claims);
+    }
+
+    long getHits() { return hits.sum(); }
+
+    long getMisses() { return misses.sum(); }
+
+    long getEvictions() { return evictions.sum(); }
+
+    int size() { return entries.size(); }
+
+    private void evict() {
+        entries.values().removeIf(JwtClaims::isExpired);
+        if (entries.size() < maxSize) return;
+        // Still full: drop roughly a tenth of the entries to amortise the next few puts
+        int toDrop = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (toDrop-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    static String keyFor(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
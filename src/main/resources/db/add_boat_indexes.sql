@@ -0,0 +1,21 @@
+-- Indexes behind BoatRepository.findByStatus / findByType / findByCapacityGreaterThanEqual
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_boat_status' AND object_id = OBJECT_ID('boat'))
+BEGIN
+    CREATE INDEX ix_boat_status ON boat (status)
+    PRINT 'Created ix_boat_status index'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_boat_type' AND object_id = OBJECT_ID('boat'))
+BEGIN
+    CREATE INDEX ix_boat_type ON boat (type)
+    PRINT 'Created ix_boat_type index'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_boat_capacity' AND object_id = OBJECT_ID('boat'))
+BEGIN
+    CREATE INDEX ix_boat_capacity ON boat (capacity)
+    PRINT 'Created ix_boat_capacity index'
+END
+
+PRINT 'Boat indexes update completed successfully'
@@ -0,0 +1,100 @@
+-- Lower-cased search columns behind the payment history search (PaymentHistorySearchService).
+-- Prefix LIKE on an indexed lower-cased column replaces LOWER(COALESCE(...)) LIKE '%x%'.
+-- The columns are computed and persisted, so rows written by scripts stay searchable.
+-- Hibernate schema update adds them as plain columns on a fresh database; those are replaced.
+
+-- Drop plain (non-computed) versions together with their indexes
+IF EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID('users') AND name = 'email_lc' AND is_computed = 0)
+BEGIN
+    IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_users_email_lc' AND object_id = OBJECT_ID('users'))
+        DROP INDEX ix_users_email_lc ON users
+    ALTER TABLE users DROP COLUMN email_lc
+    PRINT 'Dropped plain users.email_lc column'
+END
+
+IF EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID('users') AND name = 'first_name_lc' AND is_computed = 0)
+BEGIN
+    IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_users_first_name_lc' AND object_id = OBJECT_ID('users'))
+        DROP INDEX ix_users_first_name_lc ON users
+    ALTER TABLE users DROP COLUMN first_name_lc
+    PRINT 'Dropped plain users.first_name_lc column'
+END
+
+IF EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID('bookings') AND name = 'email_lc' AND is_computed = 0)
+BEGIN
+    IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_bookings_email_lc' AND object_id = OBJECT_ID('bookings'))
+        DROP INDEX ix_bookings_email_lc ON bookings
+    ALTER TABLE bookings DROP COLUMN email_lc
+    PRINT 'Dropped plain bookings.email_lc column'
+END
+
+IF EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID('bookings') AND name = 'name_lc' AND is_computed = 0)
+BEGIN
+    IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_bookings_name_lc' AND object_id = OBJECT_ID('bookings'))
+        DROP INDEX ix_bookings_name_lc ON bookings
+    ALTER TABLE bookings DROP COLUMN name_lc
+    PRINT 'Dropped plain bookings.name_lc column'
+END
+GO
+
+-- Computed columns
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID('users') AND name = 'email_lc')
+BEGIN
+    ALTER TABLE users ADD email_lc AS LOWER(email) PERSISTED
+    PRINT 'Added users.email_lc computed column'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID('users') AND name = 'first_name_lc')
+BEGIN
+    ALTER TABLE users ADD first_name_lc AS LOWER(first_name) PERSISTED
+    PRINT 'Added users.first_name_lc computed column'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID('bookings') AND name = 'email_lc')
+BEGIN
+    ALTER TABLE bookings ADD email_lc AS LOWER(email) PERSISTED
+    PRINT 'Added bookings.email_lc computed column'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID('bookings') AND name = 'name_lc')
+BEGIN
+    ALTER TABLE bookings ADD name_lc AS LOWER(name) PERSISTED
+    PRINT 'Added bookings.name_lc computed column'
+END
+GO
+
+-- Indexes
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_users_email_lc' AND object_id = OBJECT_ID('users'))
+BEGIN
+    CREATE INDEX ix_users_email_lc ON users (email_lc)
+    PRINT 'Created ix_users_email_lc index'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_users_first_name_lc' AND object_id = OBJECT_ID('users'))
+BEGIN
+    CREATE INDEX ix_users_first_name_lc ON users (first_name_lc)
+    PRINT 'Created ix_users_first_name_lc index'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_bookings_email_lc' AND object_id = OBJECT_ID('bookings'))
+BEGIN
+    CREATE INDEX ix_bookings_email_lc ON bookings (email_lc)
+    PRINT 'Created ix_bookings_email_lc index'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_bookings_name_lc' AND object_id = OBJECT_ID('bookings'))
+BEGIN
+    CREATE INDEX ix_bookings_name_lc ON bookings (name_lc)
+    PRINT 'Created ix_bookings_name_lc index'
+END
+
+-- Bookings are reached from payments (newest first) through payment_id
+IF NOT EXISTS (SELECT * FROM sys.index_columns ic
+               JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+               WHERE ic.object_id = OBJECT_ID('bookings') AND c.name = 'payment_id' AND ic.key_ordinal = 1)
+BEGIN
+    CREATE INDEX ix_bookings_payment ON bookings (payment_id)
+    PRINT 'Created ix_bookings_payment index'
+END
+
+PRINT 'Payment history search columns update completed successfully'
@@ -0,0 +1,22 @@
+-- Index behind the payment revenue series (PaymentAdminService.getRevenueSeries): date range seek,
+-- and a narrow covering index for the GROUP BY payment_method, status stats query
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_payments_date_status' AND object_id = OBJECT_ID('Payments'))
+BEGIN
+    CREATE INDEX ix_payments_date_status ON Payments (payment_date, status)
+        INCLUDE (amount, payment_method)
+    PRINT 'Created ix_payments_date_status index'
+END
+ELSE IF NOT EXISTS (SELECT * FROM sys.indexes i
+                   JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+                   WHERE i.name = 'ix_payments_date_status' AND i.object_id = OBJECT_ID('Payments')
+                     AND ic.is_included_column = 1)
+BEGIN
+    -- Hibernate schema update creates it without the included columns
+    CREATE INDEX ix_payments_date_status ON Payments (payment_date, status)
+        INCLUDE (amount, payment_method)
+        WITH (DROP_EXISTING = ON)
+    PRINT 'Rebuilt ix_payments_date_status index with included columns'
+END
+
+PRINT 'Payment stats index update completed successfully'
@@ -0,0 +1,37 @@
+-- Indexes behind the trip availability search (TripService.searchAvailableTrips) and the
+-- per-trip booking sums used to reconcile seat counters (TripRepository.resyncSeatInventory)
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_trips_date_status' AND object_id = OBJECT_ID('trips'))
+BEGIN
+    CREATE INDEX ix_trips_date_status ON trips (date, status)
+        INCLUDE (capacity, booked_seats, held_seats, price, location, route)
+    PRINT 'Created ix_trips_date_status index'
+END
+ELSE IF NOT EXISTS (SELECT * FROM sys.indexes i
+                   JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+                   WHERE i.name = 'ix_trips_date_status' AND i.object_id = OBJECT_ID('trips')
+                     AND ic.is_included_column = 1)
+BEGIN
+    -- Hibernate schema update creates it without the included columns
+    CREATE INDEX ix_trips_date_status ON trips (date, status)
+        INCLUDE (capacity, booked_seats, held_seats, price, location, route)
+        WITH (DROP_EXISTING = ON)
+    PRINT 'Rebuilt ix_trips_date_status index with included columns'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_bookings_trip_status' AND object_id = OBJECT_ID('bookings'))
+BEGIN
+    CREATE INDEX ix_bookings_trip_status ON bookings (trip_id, status) INCLUDE (passengers)
+    PRINT 'Created ix_bookings_trip_status index'
+END
+ELSE IF NOT EXISTS (SELECT * FROM sys.indexes i
+                   JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+                   WHERE i.name = 'ix_bookings_trip_status' AND i.object_id = OBJECT_ID('bookings')
+                     AND ic.is_included_column = 1)
+BEGIN
+    CREATE INDEX ix_bookings_trip_status ON bookings (trip_id, status) INCLUDE (passengers)
+        WITH (DROP_EXISTING = ON)
+    PRINT 'Rebuilt ix_bookings_trip_status index with included columns'
+END
+
+PRINT 'Trip search indexes update completed successfully'
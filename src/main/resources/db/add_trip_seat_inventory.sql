@@ -0,0 +1,33 @@
+-- Add per-trip seat inventory counters used by SeatInventoryService
+-- held_seats   = passengers on PROVISIONAL bookings
+-- booked_seats = passengers on CONFIRMED / COMPLETED bookings
+
+IF NOT EXISTS (SELECT * FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'trips' AND COLUMN_NAME = 'booked_seats')
+BEGIN
+    ALTER TABLE trips ADD booked_seats INT NOT NULL DEFAULT 0
+    PRINT 'Added booked_seats column to trips table'
+END
+ELSE
+BEGIN
+    PRINT 'booked_seats column already exists in trips table'
+END
+
+IF NOT EXISTS (SELECT * FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'trips' AND COLUMN_NAME = 'held_seats')
+BEGIN
+    ALTER TABLE trips ADD held_seats INT NOT NULL DEFAULT 0
+    PRINT 'Added held_seats column to trips table'
+END
+ELSE
+BEGIN
+    PRINT 'held_seats column already exists in trips table'
+END
+GO
+
+-- Backfill counters from existing bookings
+UPDATE trips SET
+    held_seats = COALESCE((SELECT SUM(b.passengers) FROM bookings b
+                           WHERE b.trip_id = trips.trip_id AND b.status = 'PROVISIONAL'), 0),
+    booked_seats = COALESCE((SELECT SUM(b.passengers) FROM bookings b
+                             WHERE b.trip_id = trips.trip_id AND b.status IN ('CONFIRMED', 'COMPLETED')), 0)
+
+PRINT 'Seat inventory columns update completed successfully'
@@ -0,0 +1,215 @@
+-- Move entity ids from IDENTITY columns to sequences so Hibernate can batch inserts
+-- (entities use @SequenceGenerator with allocationSize = 50 and the pooled-lo optimizer).
+--
+-- Run once, right BEFORE deploying the sequence-mapped entities: the old version cannot insert
+-- into a converted table. Each table is converted in its own short transaction:
+--   1. the table is locked and its sequence created (or moved) above the current max id
+--   2. an empty copy without the IDENTITY property is built with the same columns and indexes
+--   3. ALTER TABLE ... SWITCH moves the rows into the copy (metadata only, no data is copied)
+--   4. the copy takes the original name; defaults, checks and foreign keys are re-created
+-- Only re-validating the constraints in step 4 reads data, so no table is rebuilt and writers
+-- are blocked for seconds rather than for a full copy.
+-- Re-running is safe: tables without an IDENTITY column only get their sequence checked.
+-- Computed columns (e.g. the persisted _lc search columns of add_payment_history_search.sql) are
+-- re-created on the copy with the same definition after the regular columns, which is where
+-- ALTER TABLE ... ADD puts them, so the scripts can run in either order.
+-- Requires SQL Server 2017 or later (STRING_AGG).
+-- audit_log keeps IDENTITY: it is written with plain JDBC batches, which work with IDENTITY.
+
+CREATE OR ALTER PROCEDURE dbo.usp_identity_to_sequence
+    @table SYSNAME,
+    @sequence SYSNAME
+AS
+BEGIN
+    SET NOCOUNT ON;
+    SET XACT_ABORT ON;
+
+    DECLARE @object_id INT = OBJECT_ID(N'dbo.' + QUOTENAME(@table), N'U');
+    IF @object_id IS NULL
+    BEGIN
+        PRINT 'Table ' + @table + ' not found, skipped';
+        RETURN;
+    END
+
+    DECLARE @pk_name SYSNAME, @pk_type NVARCHAR(60), @id_column SYSNAME;
+    SELECT @pk_name = i.name, @pk_type = i.type_desc COLLATE DATABASE_DEFAULT, @id_column = c.name
+    FROM sys.indexes i
+    JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id AND ic.key_ordinal = 1
+    JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+    WHERE i.object_id = @object_id AND i.is_primary_key = 1;
+
+    DECLARE @copy SYSNAME = @table + N'__seq';
+    DECLARE @sql NVARCHAR(MAX), @next BIGINT;
+    DECLARE @after TABLE (step INT IDENTITY PRIMARY KEY, stmt NVARCHAR(MAX));
+
+    BEGIN TRANSACTION;
+
+    -- 1. Block writers until the table is converted, then start the sequence above every existing id
+    SET @sql = N'SELECT @next = ISNULL(MAX(' + QUOTENAME(@id_column) + N'), 0) + 1 FROM dbo.'
+             + QUOTENAME(@table) + N' WITH (TABLOCKX, HOLDLOCK)';
+    EXEC sp_executesql @sql, N'@next BIGINT OUTPUT', @next = @next OUTPUT;
+
+    IF OBJECT_ID(N'dbo.' + QUOTENAME(@sequence), N'SO') IS NULL
+    BEGIN
+        SET @sql = N'CREATE SEQUENCE dbo.' + QUOTENAME(@sequence) + N' AS BIGINT START WITH '
+                 + CAST(@next AS NVARCHAR(20)) + N' INCREMENT BY 50';
+        EXEC (@sql);
+        PRINT 'Created sequence ' + @sequence + ' starting at ' + CAST(@next AS VARCHAR(20));
+    END
+    ELSE IF (SELECT CAST(current_value AS BIGINT) FROM sys.sequences
+             WHERE object_id = OBJECT_ID(N'dbo.' + QUOTENAME(@sequence))) < @next
+    BEGIN
+        -- e.g. created at 1 by a schema update that ran before this script
+        SET @sql = N'ALTER SEQUENCE dbo.' + QUOTENAME(@sequence) + N' RESTART WITH '
+                 + CAST(@next AS NVARCHAR(20)) + N' INCREMENT BY 50';
+        EXEC (@sql);
+        PRINT 'Restarted sequence ' + @sequence + ' at ' + CAST(@next AS VARCHAR(20));
+    END
+
+    IF NOT EXISTS (SELECT * FROM sys.identity_columns WHERE object_id = @object_id)
+    BEGIN
+        COMMIT;
+        PRINT @table + ' has no IDENTITY column, nothing to convert';
+        RETURN;
+    END
+
+    -- 2. Empty copy. SELECT INTO over a UNION does not carry the IDENTITY property over. It would turn
+    -- computed columns into plain ones, which SWITCH rejects, so those are left out here and added below.
+    DECLARE @columns NVARCHAR(MAX) = (SELECT STRING_AGG(CAST(QUOTENAME(c.name) AS NVARCHAR(MAX)), N', ')
+                                             WITHIN GROUP (ORDER BY c.column_id)
+                                      FROM sys.columns c
+                                      WHERE c.object_id = @object_id AND c.is_computed = 0);
+    SET @sql = N'SELECT ' + @columns + N' INTO dbo.' + QUOTENAME(@copy) + N' FROM dbo.' + QUOTENAME(@table) + N' WHERE 1 = 0 '
+             + N'UNION ALL SELECT ' + @columns + N' FROM dbo.' + QUOTENAME(@table) + N' WHERE 1 = 0';
+    EXEC (@sql);
+
+    -- SWITCH needs identical nullability (and collation), so pin every NOT NULL column explicitly
+    SELECT @sql = STRING_AGG(CAST(N'ALTER TABLE dbo.' + QUOTENAME(@copy) + N' ALTER COLUMN ' + QUOTENAME(c.name) + N' '
+            + t.name + CASE
+                WHEN t.name IN (N'varchar', N'char', N'varbinary', N'binary')
+                    THEN N'(' + CASE WHEN c.max_length = -1 THEN N'MAX' ELSE CAST(c.max_length AS NVARCHAR(10)) END + N')'
+                WHEN t.name IN (N'nvarchar', N'nchar')
+                    THEN N'(' + CASE WHEN c.max_length = -1 THEN N'MAX' ELSE CAST(c.max_length / 2 AS NVARCHAR(10)) END + N')'
+                WHEN t.name IN (N'decimal', N'numeric')
+                    THEN N'(' + CAST(c.precision AS NVARCHAR(10)) + N', ' + CAST(c.scale AS NVARCHAR(10)) + N')'
+                WHEN t.name IN (N'datetime2', N'time', N'datetimeoffset')
+                    THEN N'(' + CAST(c.scale AS NVARCHAR(10)) + N')'
+                ELSE N'' END
+            + ISNULL(N' COLLATE ' + c.collation_name, N'') + N' NOT NULL' AS NVARCHAR(MAX)), N'; ')
+    FROM sys.columns c
+    JOIN sys.types t ON t.user_type_id = c.user_type_id
+    WHERE c.object_id = @object_id AND c.is_nullable = 0 AND c.is_computed = 0;
+    IF @sql IS NOT NULL EXEC (@sql);
+
+    -- Computed columns last: their columns must already have the final nullability
+    SELECT @sql = STRING_AGG(CAST(N'ALTER TABLE dbo.' + QUOTENAME(@copy) + N' ADD ' + QUOTENAME(cc.name)
+            + N' AS ' + cc.definition + CASE WHEN cc.is_persisted = 1 THEN N' PERSISTED' ELSE N'' END AS NVARCHAR(MAX)), N'; ')
+            WITHIN GROUP (ORDER BY cc.column_id)
+    FROM sys.computed_columns cc
+    WHERE cc.object_id = @object_id;
+    IF @sql IS NOT NULL EXEC (@sql);
+
+    SET @sql = N'ALTER TABLE dbo.' + QUOTENAME(@copy) + N' ADD CONSTRAINT ' + QUOTENAME(@pk_name + N'__seq')
+             + N' PRIMARY KEY ' + @pk_type + N' (' + QUOTENAME(@id_column) + N')';
+    EXEC (@sql);
+
+    -- Index names are per table, so the copy's indexes keep their names
+    SELECT @sql = STRING_AGG(CAST(N'CREATE ' + CASE WHEN i.is_unique = 1 THEN N'UNIQUE ' ELSE N'' END
+            + i.type_desc COLLATE DATABASE_DEFAULT + N' INDEX ' + QUOTENAME(i.name)
+            + N' ON dbo.' + QUOTENAME(@copy) + N' (' + k.cols + N')'
+            + ISNULL(N' INCLUDE (' + inc.cols + N')', N'')
+            + ISNULL(N' WHERE ' + i.filter_definition COLLATE DATABASE_DEFAULT, N'') AS NVARCHAR(MAX)), N'; ')
+    FROM sys.indexes i
+    CROSS APPLY (SELECT STRING_AGG(QUOTENAME(c.name) + CASE WHEN ic.is_descending_key = 1 THEN N' DESC' ELSE N'' END, N', ')
+                        WITHIN GROUP (ORDER BY ic.key_ordinal)
+                 FROM sys.index_columns ic
+                 JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+                 WHERE ic.object_id = i.object_id AND ic.index_id = i.index_id AND ic.is_included_column = 0) k(cols)
+    OUTER APPLY (SELECT STRING_AGG(QUOTENAME(c.name), N', ')
+                 FROM sys.index_columns ic
+                 JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+                 WHERE ic.object_id = i.object_id AND ic.index_id = i.index_id AND ic.is_included_column = 1) inc(cols)
+    WHERE i.object_id = @object_id AND i.is_primary_key = 0 AND i.type IN (1, 2) AND i.is_hypothetical = 0;
+    IF @sql IS NOT NULL EXEC (@sql);
+
+    -- Constraints to re-create once the copy has the original name (defaults, checks, then foreign keys)
+    INSERT INTO @after (stmt)
+    SELECT N'ALTER TABLE dbo.' + QUOTENAME(@table) + N' ADD CONSTRAINT ' + QUOTENAME(d.name)
+         + N' DEFAULT ' + d.definition + N' FOR ' + QUOTENAME(c.name)
+    FROM sys.default_constraints d
+    JOIN sys.columns c ON c.object_id = d.parent_object_id AND c.column_id = d.parent_column_id
+    WHERE d.parent_object_id = @object_id;
+
+    INSERT INTO @after (stmt)
+    SELECT N'ALTER TABLE dbo.' + QUOTENAME(@table) + N' WITH CHECK ADD CONSTRAINT ' + QUOTENAME(k.name)
+         + N' CHECK ' + k.definition
+    FROM sys.check_constraints k
+    WHERE k.parent_object_id = @object_id;
+
+    INSERT INTO @after (stmt)
+    SELECT N'ALTER TABLE ' + QUOTENAME(OBJECT_SCHEMA_NAME(fk.parent_object_id)) + N'.' + QUOTENAME(OBJECT_NAME(fk.parent_object_id))
+         + N' WITH CHECK ADD CONSTRAINT ' + QUOTENAME(fk.name) + N' FOREIGN KEY (' + cols.parent_cols + N') REFERENCES '
+         + QUOTENAME(OBJECT_SCHEMA_NAME(fk.referenced_object_id)) + N'.' + QUOTENAME(OBJECT_NAME(fk.referenced_object_id))
+         + N' (' + cols.ref_cols + N')'
+         + CASE WHEN fk.delete_referential_action <> 0
+                THEN N' ON DELETE ' + REPLACE(fk.delete_referential_action_desc COLLATE DATABASE_DEFAULT, N'_', N' ') ELSE N'' END
+         + CASE WHEN fk.update_referential_action <> 0
+                THEN N' ON UPDATE ' + REPLACE(fk.update_referential_action_desc COLLATE DATABASE_DEFAULT, N'_', N' ') ELSE N'' END
+    FROM sys.foreign_keys fk
+    CROSS APPLY (SELECT STRING_AGG(QUOTENAME(pc.name), N', ') WITHIN GROUP (ORDER BY fkc.constraint_column_id),
+                        STRING_AGG(QUOTENAME(rc.name), N', ') WITHIN GROUP (ORDER BY fkc.constraint_column_id)
+                 FROM sys.foreign_key_columns fkc
+                 JOIN sys.columns pc ON pc.object_id = fkc.parent_object_id AND pc.column_id = fkc.parent_column_id
+                 JOIN sys.columns rc ON rc.object_id = fkc.referenced_object_id AND rc.column_id = fkc.referenced_column_id
+                 WHERE fkc.constraint_object_id = fk.object_id) cols(parent_cols, ref_cols)
+    WHERE fk.parent_object_id = @object_id OR fk.referenced_object_id = @object_id;
+
+    -- 3. Foreign keys from or to the table block SWITCH, so they are dropped for the move
+    SELECT @sql = STRING_AGG(CAST(N'ALTER TABLE ' + QUOTENAME(OBJECT_SCHEMA_NAME(fk.parent_object_id)) + N'.'
+            + QUOTENAME(OBJECT_NAME(fk.parent_object_id)) + N' DROP CONSTRAINT ' + QUOTENAME(fk.name) AS NVARCHAR(MAX)), N'; ')
+    FROM sys.foreign_keys fk
+    WHERE fk.parent_object_id = @object_id OR fk.referenced_object_id = @object_id;
+    IF @sql IS NOT NULL EXEC (@sql);
+
+    SET @sql = N'ALTER TABLE dbo.' + QUOTENAME(@table) + N' SWITCH TO dbo.' + QUOTENAME(@copy);
+    EXEC (@sql);
+
+    -- 4. Swap names and restore constraints
+    SET @sql = N'DROP TABLE dbo.' + QUOTENAME(@table);
+    EXEC (@sql);
+    SET @sql = N'dbo.' + QUOTENAME(@copy);
+    EXEC sp_rename @sql, @table;
+    SET @sql = N'dbo.' + QUOTENAME(@pk_name + N'__seq');
+    EXEC sp_rename @sql, @pk_name, N'OBJECT';
+
+    -- Hand-written inserts (e.g. the seed scripts in this folder) still get ids; each uses up one allocation block
+    SET @sql = N'ALTER TABLE dbo.' + QUOTENAME(@table) + N' ADD CONSTRAINT ' + QUOTENAME(N'DF_' + @table + N'_' + @id_column)
+             + N' DEFAULT (NEXT VALUE FOR dbo.' + QUOTENAME(@sequence) + N') FOR ' + QUOTENAME(@id_column);
+    EXEC (@sql);
+
+    DECLARE @step INT = 1, @steps INT = (SELECT COUNT(*) FROM @after);
+    WHILE @step <= @steps
+    BEGIN
+        SELECT @sql = stmt FROM @after WHERE step = @step;
+        EXEC (@sql);
+        SET @step += 1;
+    END
+
+    COMMIT;
+    PRINT 'Converted ' + @table + ' to sequence ' + @sequence;
+END
+GO
+
+EXEC dbo.usp_identity_to_sequence N'users', N'users_seq';
+EXEC dbo.usp_identity_to_sequence N'boat', N'boat_seq';
+EXEC dbo.usp_identity_to_sequence N'trips', N'trips_seq';
+EXEC dbo.usp_identity_to_sequence N'Payments', N'payments_seq';
+EXEC dbo.usp_identity_to_sequence N'bookings', N'bookings_seq';
+EXEC dbo.usp_identity_to_sequence N'PassengerCheckIns', N'passenger_check_ins_seq';
+EXEC dbo.usp_identity_to_sequence N'Feedbacks', N'feedbacks_seq';
+EXEC dbo.usp_identity_to_sequence N'SupportTickets', N'support_tickets_seq';
+EXEC dbo.usp_identity_to_sequence N'booking_outbox', N'booking_outbox_seq';
+GO
+
+DROP PROCEDURE dbo.usp_identity_to_sequence;
+PRINT 'Identity to sequence migration completed successfully'
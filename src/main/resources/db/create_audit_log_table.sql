@@ -0,0 +1,44 @@
+-- Booking audit trail written by AuditLogWriter and searched from /api/itsupport/audit-log
+-- customer_email is stored lower-cased
+
+IF NOT EXISTS (SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'audit_log')
+BEGIN
+    CREATE TABLE audit_log (
+        id BIGINT IDENTITY(1,1) PRIMARY KEY,
+        event_time DATETIME2 NOT NULL,
+        event_type VARCHAR(30) NOT NULL,
+        booking_id BIGINT NULL,
+        trip_id BIGINT NULL,
+        customer_email VARCHAR(255) NULL,
+        old_status VARCHAR(50) NULL,
+        new_status VARCHAR(50) NULL,
+        details VARCHAR(1000) NULL
+    )
+    PRINT 'Created audit_log table'
+END
+ELSE
+BEGIN
+    PRINT 'audit_log table already exists'
+END
+GO
+
+-- Lookups page newest-first by id within a booking or an email
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_audit_log_booking')
+BEGIN
+    CREATE INDEX ix_audit_log_booking ON audit_log (booking_id, id)
+    PRINT 'Created ix_audit_log_booking index'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_audit_log_email')
+BEGIN
+    CREATE INDEX ix_audit_log_email ON audit_log (customer_email, id)
+    PRINT 'Created ix_audit_log_email index'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_audit_log_time')
+BEGIN
+    CREATE INDEX ix_audit_log_time ON audit_log (event_time)
+    PRINT 'Created ix_audit_log_time index'
+END
+
+PRINT 'Audit log setup completed successfully'
@@ -0,0 +1,51 @@
+-- Transactional outbox for booking notifications (BookingOutboxService / BookingOutboxRelay)
+-- One row per booking event and observer; status PENDING -> DONE, or DEAD after max attempts
+
+-- Ids come from a pooled sequence (allocationSize 50, see BookingOutboxEvent)
+IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = 'booking_outbox_seq')
+BEGIN
+    CREATE SEQUENCE booking_outbox_seq AS BIGINT START WITH 1 INCREMENT BY 50
+    PRINT 'Created booking_outbox_seq sequence'
+END
+GO
+
+IF NOT EXISTS (SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'booking_outbox')
+BEGIN
+    CREATE TABLE booking_outbox (
+        id BIGINT NOT NULL DEFAULT (NEXT VALUE FOR booking_outbox_seq) PRIMARY KEY,
+        event_type VARCHAR(20) NOT NULL,
+        observer_name VARCHAR(100) NOT NULL,
+        booking_id BIGINT NOT NULL,
+        old_status VARCHAR(50) NULL,
+        new_status VARCHAR(50) NULL,
+        status VARCHAR(10) NOT NULL DEFAULT 'PENDING',
+        attempts INT NOT NULL DEFAULT 0,
+        next_attempt_at DATETIME2 NOT NULL,
+        claim_token VARCHAR(36) NULL,
+        claimed_until DATETIME2 NULL,
+        last_error VARCHAR(1000) NULL,
+        created_at DATETIME2 NOT NULL,
+        processed_at DATETIME2 NULL
+    )
+    PRINT 'Created booking_outbox table'
+END
+ELSE
+BEGIN
+    PRINT 'booking_outbox table already exists'
+END
+GO
+
+-- The relay's claim query scans due PENDING rows in id order
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_booking_outbox_pending')
+BEGIN
+    CREATE INDEX ix_booking_outbox_pending ON booking_outbox (status, next_attempt_at) INCLUDE (claimed_until)
+    PRINT 'Created ix_booking_outbox_pending index'
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_booking_outbox_claim')
+BEGIN
+    CREATE INDEX ix_booking_outbox_claim ON booking_outbox (claim_token) WHERE claim_token IS NOT NULL
+    PRINT 'Created ix_booking_outbox_claim index'
+END
+
+PRINT 'Booking outbox setup completed successfully'
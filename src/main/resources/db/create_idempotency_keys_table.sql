@@ -0,0 +1,35 @@
+-- Idempotency-Key store for POST /api/bookings and POST /api/payments (IdempotencyService)
+-- One row per endpoint + caller + key; status IN_PROGRESS while the first request runs, then COMPLETED
+-- with the response to replay. Rows are deleted once expires_at has passed.
+
+IF NOT EXISTS (SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'idempotency_keys')
+BEGIN
+    CREATE TABLE idempotency_keys (
+        key_hash VARCHAR(64) NOT NULL PRIMARY KEY,
+        scope VARCHAR(50) NOT NULL,
+        request_hash VARCHAR(64) NOT NULL,
+        status VARCHAR(12) NOT NULL,
+        response_status INT NULL,
+        response_body NVARCHAR(MAX) NULL,
+        response_location VARCHAR(500) NULL,
+        claim_token VARCHAR(36) NULL,
+        created_at DATETIME2 NOT NULL,
+        locked_until DATETIME2 NULL,
+        expires_at DATETIME2 NOT NULL
+    )
+    PRINT 'Created idempotency_keys table'
+END
+ELSE
+BEGIN
+    PRINT 'idempotency_keys table already exists'
+END
+GO
+
+-- Retention cleanup deletes by expiry
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_idempotency_keys_expires')
+BEGIN
+    CREATE INDEX ix_idempotency_keys_expires ON idempotency_keys (expires_at)
+    PRINT 'Created ix_idempotency_keys_expires index'
+END
+
+PRINT 'Idempotency key store setup completed successfully'
@@ -8,9 +8,17 @@ BEGIN
     PRINT 'Dropped existing users table';
 END
 
+-- Ids come from a pooled sequence (allocationSize 50, see User); the default covers the inserts below
+IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = 'users_seq')
+BEGIN
+    CREATE SEQUENCE users_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+    PRINT 'Created users_seq sequence';
+END
+GO
+
 -- Create users table with correct column names
 CREATE TABLE users (
-    user_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    user_id BIGINT NOT NULL DEFAULT (NEXT VALUE FOR users_seq) PRIMARY KEY,
     first_name NVARCHAR(255),
     second_name NVARCHAR(255),
     password NVARCHAR(255) NOT NULL,
@@ -1,11 +1,18 @@
 -- Create PassengerCheckIn table for guide check-in functionality
 -- Using SQL Server compatible syntax with Spring Boot script format
 
+-- Ids come from a pooled sequence (allocationSize 50, see PassengerCheckIn)
+IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = 'passenger_check_ins_seq')
+BEGIN
+    CREATE SEQUENCE passenger_check_ins_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+END;
+GO
+
 -- SQL Server compatible version of CREATE TABLE IF NOT EXISTS
 IF NOT EXISTS (SELECT * FROM sys.tables WHERE name = 'passenger_check_ins')
 BEGIN
     CREATE TABLE passenger_check_ins (
-        check_in_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+        check_in_id BIGINT NOT NULL DEFAULT (NEXT VALUE FOR passenger_check_ins_seq) PRIMARY KEY,
         booking_id BIGINT NOT NULL,
         checked_in BIT NOT NULL DEFAULT 0,
         check_in_time DATETIME2,
@@ -3175,27 +3175,54 @@ function setupBoatFormHandlers() {
 
 // Global variables for payment history
 let currentPaymentHistory = [];
+// Endpoint of the list being shown and the cursor of its next page (X-Next-Cursor), null on the last page
+let paymentHistoryUrl = '/api/admin/payments/history';
+let paymentHistoryCursor = null;
+
+// Fetch one page of payment history and remember where the next page starts
+async function fetchPaymentHistoryPage(url, cursor) {
+    const pageUrl = cursor
+        ? url + (url.includes('?') ? '&' : '?') + 'cursor=' + encodeURIComponent(cursor)
+        : url;
+    const response = await fetch(pageUrl, {
+        headers: {
+            'Authorization': 'Bearer ' + localStorage.getItem('token')
+        }
+    });
+    if (!response.ok) {
+        throw new Error(`Failed to fetch payment history: ${response.status}`);
+    }
+    paymentHistoryUrl = url;
+    paymentHistoryCursor = response.headers.get('X-Next-Cursor');
+    updatePaymentHistoryLoadMore();
+    return response.json();
+}
+
+function updatePaymentHistoryLoadMore() {
+    const button = document.getElementById('paymentHistoryLoadMore');
+    if (button) {
+        button.style.display = paymentHistoryCursor ? '' : 'none';
+    }
+}
+
+// Append the next page to the table
+async function loadMorePaymentHistory() {
+    if (!paymentHistoryCursor) return;
+    try {
+        const nextPage = await fetchPaymentHistoryPage(paymentHistoryUrl, paymentHistoryCursor);
+        currentPaymentHistory = currentPaymentHistory.concat(nextPage);
+        displayPaymentHistory(currentPaymentHistory);
+    } catch (error) {
+        console.error('Error loading more payment history:', error);
+        showNotification('Failed to load more payments', 'error');
+    }
+}
 
 // Load payment history data
 async function loadPaymentHistory() {
     console.log('Loading payment history...');
     try {
-        const token = localStorage.getItem('token');
-        console.log('Token available:', !!token);
-        
-        const response = await fetch('/api/admin/payments/history', {
-            headers: {
-                'Authorization': 'Bearer ' + token
-            }
-        });
-
-        console.log('API Response status:', response.status);
-        
-        if (!response.ok) {
-            throw new Error(`Failed to fetch payment history: ${response.status}`);
-        }
-
-        const paymentHistory = await response.json();
+        const paymentHistory = await fetchPaymentHistoryPage('/api/admin/payments/history', null);
         console.log('Payment history loaded from API:', paymentHistory);
         currentPaymentHistory = paymentHistory;
         displayPaymentHistory(paymentHistory);
@@ -3249,6 +3276,8 @@ async function loadPaymentHistory() {
             }
         ];
         console.log('Using mock payment history:', mockPaymentHistory);
+        paymentHistoryCursor = null;
+        updatePaymentHistoryLoadMore();
         currentPaymentHistory = mockPaymentHistory;
         displayPaymentHistory(mockPaymentHistory);
     }
@@ -3309,37 +3338,12 @@ function displayPaymentHistory(payments) {
 
 // Apply payment filters
 async function applyPaymentFilters() {
-    const status = document.getElementById('paymentStatusFilter').value;
-    const method = document.getElementById('paymentMethodFilter').value;
-    const customerName = document.getElementById('customerNameFilter').value.trim();
-    const customerEmail = document.getElementById('customerEmailFilter').value.trim();
-    const dateFrom = document.getElementById('dateFromFilter').value;
-    const dateTo = document.getElementById('dateToFilter').value;
-
     try {
-        // Build query parameters
-        const params = new URLSearchParams();
-        if (status) params.append('status', status);
-        if (method) params.append('paymentMethod', method);
-        if (customerName) params.append('customerName', customerName);
-        if (customerEmail) params.append('email', customerEmail);
-        if (dateFrom) params.append('dateFrom', dateFrom);
-        if (dateTo) params.append('dateTo', dateTo);
-
-        const response = await fetch(`/api/admin/payments/search?${params.toString()}`, {
-            headers: {
-                'Authorization': 'Bearer ' + localStorage.getItem('token')
-            }
-        });
-
-        if (response.ok) {
-            const filteredPayments = await response.json();
-            displayPaymentHistory(filteredPayments);
-            showNotification(`Found ${filteredPayments.length} payment records`, 'success');
-        } else {
-            // Fallback to client-side filtering
-            filterPaymentsClientSide();
-        }
+        const params = paymentFilterParams();
+        const filteredPayments = await fetchPaymentHistoryPage(`/api/admin/payments/search?${params.toString()}`, null);
+        currentPaymentHistory = filteredPayments;
+        displayPaymentHistory(filteredPayments);
+        showNotification(`Found ${filteredPayments.length}${paymentHistoryCursor ? '+' : ''} payment records`, 'success');
     } catch (error) {
         console.error('Error applying payment filters:', error);
         // Fallback to client-side filtering
@@ -3347,6 +3351,24 @@ async function applyPaymentFilters() {
     }
 }
 
+// Query parameters for the current payment filters (shared by search and CSV export)
+function paymentFilterParams() {
+    const params = new URLSearchParams();
+    const status = document.getElementById('paymentStatusFilter').value;
+    const method = document.getElementById('paymentMethodFilter').value;
+    const customerName = document.getElementById('customerNameFilter').value.trim();
+    const customerEmail = document.getElementById('customerEmailFilter').value.trim();
+    const dateFrom = document.getElementById('dateFromFilter').value;
+    const dateTo = document.getElementById('dateToFilter').value;
+    if (status) params.append('status', status);
+    if (method) params.append('paymentMethod', method);
+    if (customerName) params.append('customerName', customerName);
+    if (customerEmail) params.append('email', customerEmail);
+    if (dateFrom) params.append('dateFrom', dateFrom);
+    if (dateTo) params.append('dateTo', dateTo);
+    return params;
+}
+
 // Client-side payment filtering
 function filterPaymentsClientSide() {
     const status = document.getElementById('paymentStatusFilter').value;
@@ -3392,7 +3414,7 @@ function clearPaymentFilters() {
     document.getElementById('dateFromFilter').value = '';
     document.getElementById('dateToFilter').value = '';
     
-    displayPaymentHistory(currentPaymentHistory);
+    loadPaymentHistory();
     showNotification('Filters cleared', 'success');
 }
 
@@ -3405,11 +3427,39 @@ function refreshPaymentHistory() {
 // Export payment history
 function exportPaymentHistory() {
     const format = prompt('Export format (csv/excel/json):', 'csv');
-    if (format && ['csv', 'excel', 'json'].includes(format.toLowerCase())) {
+    if (!format || !['csv', 'excel', 'json'].includes(format.toLowerCase())) return;
+    if (format.toLowerCase() === 'csv') {
+        downloadPaymentHistoryCsv();
+    } else {
         exportData('payments', format.toLowerCase());
     }
 }
 
+// Full CSV export of the filtered history, streamed by the server rather than built from loaded pages
+async function downloadPaymentHistoryCsv() {
+    try {
+        const response = await fetch(`/api/admin/payments/export?${paymentFilterParams().toString()}`, {
+            headers: {
+                'Authorization': 'Bearer ' + localStorage.getItem('token')
+            }
+        });
+        if (!response.ok) {
+            throw new Error(`Export failed: ${response.status}`);
+        }
+        const blob = await response.blob();
+        const link = document.createElement('a');
+        link.href = URL.createObjectURL(blob);
+        link.download = `payment-history-${new Date().toISOString().split('T')[0]}.csv`;
+        document.body.appendChild(link);
+        link.click();
+        document.body.removeChild(link);
+        URL.revokeObjectURL(link.href);
+    } catch (error) {
+        console.error('Error exporting payment history:', error);
+        showNotification('Failed to export payment history', 'error');
+    }
+}
+
 // View payment details modal
 function viewPaymentDetails(paymentId) {
     const payment = currentPaymentHistory.find(p => p.paymentId === paymentId);
@@ -7,7 +7,6 @@ let availableBoats = [];
 let availableGuides = [];
 let currentAssignments = [];
 let realTimeEnabled = false;
-let updateInterval = null;
 
 // Document ready function
 document.addEventListener('DOMContentLoaded', function() {
@@ -1028,15 +1027,23 @@ function downloadCSV(csvContent, filename) {
 }
 
 // Real-time updates
+// The feed is pushed over Server-Sent Events. EventSource cannot send the Authorization
+// header, so the stream is read with fetch() and parsed here.
+const MAX_FEED_ITEMS = 50;
+let updateStream = null;
+let lastEventId = null;
+let reconnectDelay = 1000;
+let statsRefreshTimer = null;
+
 function setupRealTimeUpdates() {
     loadRealTimeUpdates();
+    connectUpdateStream();
 }
 
 function loadRealTimeUpdates() {
     const feedContainer = document.getElementById('updatesFeed');
     if (!feedContainer) return;
 
-    // Try to load real-time updates from API
     fetch('/api/staff/real-time-updates', {
         method: 'GET',
         headers: {
@@ -1047,59 +1054,150 @@ function loadRealTimeUpdates() {
     .then(response => response.json())
     .then(updates => {
         feedContainer.innerHTML = '';
-        updates.forEach(update => {
-            const updateDiv = document.createElement('div');
-            updateDiv.className = `update-item ${update.type}`;
-            updateDiv.innerHTML = `
-                <div class="update-time">${update.time}</div>
-                <div class="update-message">${update.message}</div>
-            `;
-            feedContainer.appendChild(updateDiv);
-        });
+        if (updates.length === 0) {
+            feedContainer.innerHTML = '<div class="update-item info empty-feed"><div class="update-message">No activity yet</div></div>';
+        }
+        // Newest first from the API; append in that order
+        updates.forEach(update => feedContainer.appendChild(createUpdateItem(update)));
+        if (updates.length > 0 && lastEventId === null) {
+            lastEventId = updates[0].id;
+        }
     })
     .catch(error => {
         console.error('Error loading real-time updates:', error);
-        // Fallback to mock data
-        const updates = [
-            {
-                time: new Date().toLocaleTimeString(),
-                message: 'Trip "Morning Safari" assigned to boat "Ocean Explorer"',
-                type: 'info'
-            },
-            {
-                time: new Date(Date.now() - 300000).toLocaleTimeString(),
-                message: 'Guide Sarah Wilson confirmed for Sunset Adventure',
-                type: 'success'
-            },
-            {
-                time: new Date(Date.now() - 600000).toLocaleTimeString(),
-                message: 'Boat "Wave Runner" is under maintenance',
-                type: 'warning'
-            }
-        ];
+    });
+}
 
-        feedContainer.innerHTML = '';
-        updates.forEach(update => {
-            const updateDiv = document.createElement('div');
-            updateDiv.className = `update-item ${update.type}`;
-            updateDiv.innerHTML = `
-                <div class="update-time">${update.time}</div>
-                <div class="update-message">${update.message}</div>
-            `;
-            feedContainer.appendChild(updateDiv);
+function createUpdateItem(update) {
+    const updateDiv = document.createElement('div');
+    updateDiv.className = `update-item ${update.type}`;
+    updateDiv.dataset.id = update.id;
+    const time = document.createElement('div');
+    time.className = 'update-time';
+    time.textContent = update.time;
+    const message = document.createElement('div');
+    message.className = 'update-message';
+    message.textContent = update.message;
+    updateDiv.appendChild(time);
+    updateDiv.appendChild(message);
+    return updateDiv;
+}
+
+function prependUpdate(update) {
+    const feedContainer = document.getElementById('updatesFeed');
+    if (!feedContainer) return;
+    const placeholder = feedContainer.querySelector('.empty-feed');
+    if (placeholder) placeholder.remove();
+    if (feedContainer.querySelector(`[data-id="${update.id}"]`)) return;
+
+    feedContainer.insertBefore(createUpdateItem(update), feedContainer.firstChild);
+    while (feedContainer.children.length > MAX_FEED_ITEMS) {
+        feedContainer.removeChild(feedContainer.lastChild);
+    }
+}
+
+function connectUpdateStream() {
+    if (updateStream) return;
+    const controller = new AbortController();
+    updateStream = controller;
+
+    const headers = {
+        'Authorization': 'Bearer ' + localStorage.getItem('token'),
+        'Accept': 'text/event-stream'
+    };
+    if (lastEventId !== null) headers['Last-Event-ID'] = String(lastEventId);
+
+    fetch('/api/staff/real-time-updates', { headers, signal: controller.signal })
+        .then(response => {
+            if (!response.ok || !response.body) {
+                throw new Error('Stream unavailable (HTTP ' + response.status + ')');
+            }
+            reconnectDelay = 1000;
+            return readEventStream(response.body.getReader());
+        })
+        .catch(error => {
+            if (controller.signal.aborted) return;
+            console.warn('Real-time stream interrupted:', error.message);
+        })
+        .finally(() => {
+            if (updateStream !== controller || controller.signal.aborted) return;
+            updateStream = null;
+            // Reconnect with backoff; Last-Event-ID lets the server replay what we missed
+            setTimeout(connectUpdateStream, reconnectDelay);
+            reconnectDelay = Math.min(reconnectDelay * 2, 30000);
         });
+}
+
+async function readEventStream(reader) {
+    const decoder = new TextDecoder();
+    let buffer = '';
+    while (true) {
+        const { value, done } = await reader.read();
+        if (done) return;
+        buffer += decoder.decode(value, { stream: true });
+        let boundary;
+        while ((boundary = buffer.search(/\r?\n\r?\n/)) >= 0) {
+            const block = buffer.slice(0, boundary);
+            buffer = buffer.slice(boundary).replace(/^\r?\n\r?\n/, '');
+            handleStreamEvent(block);
+        }
+    }
+}
+
+function handleStreamEvent(block) {
+    let name = 'message';
+    let id = null;
+    const data = [];
+    block.split(/\r?\n/).forEach(line => {
+        if (line.startsWith(':')) return; // keep-alive comment
+        const sep = line.indexOf(':');
+        const field = sep < 0 ? line : line.slice(0, sep);
+        const value = sep < 0 ? '' : line.slice(sep + 1).replace(/^ /, '');
+        if (field === 'event') name = value;
+        else if (field === 'id') id = value;
+        else if (field === 'data') data.push(value);
     });
+    if (data.length === 0) return;
+
+    if (name === 'reset') {
+        // We were away longer than the server's replay buffer, or the server restarted
+        if (id !== null) lastEventId = Number(id);
+        loadRealTimeUpdates();
+        scheduleStatsRefresh();
+        return;
+    }
+    if (name === 'update') {
+        if (id !== null) lastEventId = Number(id);
+        prependUpdate(JSON.parse(data.join('\n')));
+        scheduleStatsRefresh();
+    }
+}
+
+function disconnectUpdateStream() {
+    if (updateStream) {
+        const controller = updateStream;
+        updateStream = null;
+        controller.abort();
+    }
+}
+
+// Refresh the counters at most once every few seconds while events are arriving
+function scheduleStatsRefresh() {
+    if (!realTimeEnabled || statsRefreshTimer) return;
+    statsRefreshTimer = setTimeout(() => {
+        statsRefreshTimer = null;
+        loadQuickStats();
+        loadCapacityData();
+    }, 3000);
 }
 
 function enableRealTimeUpdates() {
     if (realTimeEnabled) return;
     
     realTimeEnabled = true;
-    updateInterval = setInterval(() => {
-        loadRealTimeUpdates();
-        loadQuickStats();
-        loadCapacityData();
-    }, 30000); // Update every 30 seconds
+    connectUpdateStream();
+    loadQuickStats();
+    loadCapacityData();
     
     showNotification('Real-time updates enabled', 'success');
 }
@@ -1108,9 +1206,9 @@ function disableRealTimeUpdates() {
     if (!realTimeEnabled) return;
     
     realTimeEnabled = false;
-    if (updateInterval) {
-        clearInterval(updateInterval);
-        updateInterval = null;
+    if (statsRefreshTimer) {
+        clearTimeout(statsRefreshTimer);
+        statsRefreshTimer = null;
     }
     
     showNotification('Real-time updates disabled', 'info');
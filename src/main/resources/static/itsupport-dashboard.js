@@ -1,7 +1,14 @@
 // IT Support Dashboard JavaScript
 const API_BASE = '/api/itsupport';
 let currentBookings = [];
+// Query of the bookings list being shown and the cursor of its next page (X-Next-Cursor), null on the last page
+let bookingsQuery = '';
+let bookingsCursor = null;
 let currentCustomers = [];
+// Search of the customer list being shown, the last page loaded and the total (X-Total-Count)
+let customersSearch = '';
+let customersPage = 0;
+let customersTotal = 0;
 let currentFeedback = [];
 let currentFeedbackId = null;
 
@@ -193,24 +200,53 @@ function switchTab(tabName) {
 
 // ================= BOOKINGS FUNCTIONALITY =================
 
+// Fetch one page of bookings and remember where the next page starts
+async function fetchBookingsPage(query, cursor) {
+    const params = new URLSearchParams(query);
+    if (cursor) params.set('cursor', cursor);
+    const response = await fetchWithAuth(`${API_BASE}/bookings${params.toString() ? '?' + params : ''}`);
+    if (!response.ok) {
+        throw new Error(`Failed to fetch bookings: ${response.status}`);
+    }
+    bookingsQuery = query;
+    bookingsCursor = response.headers.get('X-Next-Cursor');
+    updateBookingsLoadMore();
+    return response.json();
+}
+
+function updateBookingsLoadMore() {
+    const button = document.getElementById('bookingsLoadMore');
+    if (button) {
+        button.style.display = bookingsCursor ? '' : 'none';
+    }
+}
+
 // Load all bookings
 async function loadBookings() {
     try {
         showLoading('bookingsTableContainer');
-        const response = await fetchWithAuth(`${API_BASE}/bookings`);
-        if (response.ok) {
-            currentBookings = await response.json();
-            renderBookingsTable(currentBookings);
-        } else {
-            showError('bookingsTableContainer', 'Failed to load bookings');
-        }
+        currentBookings = await fetchBookingsPage('', null);
+        renderBookingsTable(currentBookings);
     } catch (error) {
         console.error('Error loading bookings:', error);
-        showError('bookingsTableContainer', 'Error loading bookings');
+        showError('bookingsTableContainer', 'Failed to load bookings');
     }
 }
 
-// Apply booking filters
+// Append the next page to the table
+async function loadMoreBookings() {
+    if (!bookingsCursor) return;
+    try {
+        const nextPage = await fetchBookingsPage(bookingsQuery, bookingsCursor);
+        currentBookings = currentBookings.concat(nextPage);
+        renderBookingsTable(currentBookings);
+    } catch (error) {
+        console.error('Error loading more bookings:', error);
+        showAlert('Failed to load more bookings', 'error');
+    }
+}
+
+// Apply booking filters (filtering happens on the server, across all bookings)
 async function applyBookingFilters() {
     const filters = {
         status: document.getElementById('bookingStatusFilter').value,
@@ -228,16 +264,11 @@ async function applyBookingFilters() {
 
     try {
         showLoading('bookingsTableContainer');
-        const response = await fetchWithAuth(`${API_BASE}/bookings?${queryParams}`);
-        if (response.ok) {
-            currentBookings = await response.json();
-            renderBookingsTable(currentBookings);
-        } else {
-            showError('bookingsTableContainer', 'Failed to filter bookings');
-        }
+        currentBookings = await fetchBookingsPage(queryParams.toString(), null);
+        renderBookingsTable(currentBookings);
     } catch (error) {
         console.error('Error filtering bookings:', error);
-        showError('bookingsTableContainer', 'Error filtering bookings');
+        showError('bookingsTableContainer', 'Failed to filter bookings');
     }
 }
 
@@ -432,41 +463,67 @@ function refreshBookings() {
 
 // ================= CUSTOMERS FUNCTIONALITY =================
 
+// Fetch one page of customers (sorted by name on the server)
+async function fetchCustomersPage(search, page) {
+    const params = new URLSearchParams({ page: page });
+    if (search) params.set('search', search);
+    const response = await fetchWithAuth(`${API_BASE}/customers?${params}`);
+    if (!response.ok) {
+        throw new Error(`Failed to fetch customers: ${response.status}`);
+    }
+    const customers = await response.json();
+    customersSearch = search;
+    customersPage = page;
+    customersTotal = parseInt(response.headers.get('X-Total-Count'), 10) || 0;
+    return customers;
+}
+
+function updateCustomersLoadMore() {
+    const button = document.getElementById('customersLoadMore');
+    if (button) {
+        const remaining = customersTotal - currentCustomers.length;
+        button.style.display = remaining > 0 ? '' : 'none';
+        button.title = remaining > 0 ? `${remaining} more customers` : '';
+    }
+}
+
 // Load all customers
 async function loadCustomers() {
+    await showCustomers('', 'Failed to load customers');
+}
+
+// Apply customer filters (the search runs on the server, across all customers)
+async function applyCustomerFilters() {
+    const search = document.getElementById('customerSearchFilter').value.trim();
+    await showCustomers(search, 'Failed to filter customers');
+}
+
+async function showCustomers(search, errorMessage) {
     try {
         showLoading('customersTableContainer');
-        const response = await fetchWithAuth(`${API_BASE}/customers`);
-        if (response.ok) {
-            currentCustomers = await response.json();
-            renderCustomersTable(currentCustomers);
-        } else {
-            showError('customersTableContainer', 'Failed to load customers');
-        }
+        currentCustomers = await fetchCustomersPage(search, 0);
+        renderCustomersTable(currentCustomers);
     } catch (error) {
         console.error('Error loading customers:', error);
-        showError('customersTableContainer', 'Error loading customers');
+        showError('customersTableContainer', errorMessage);
+        currentCustomers = [];
+        customersTotal = 0;
     }
+    updateCustomersLoadMore();
 }
 
-// Apply customer filters
-async function applyCustomerFilters() {
-    const search = document.getElementById('customerSearchFilter').value;
-    
+// Append the next page to the table
+async function loadMoreCustomers() {
+    if (currentCustomers.length >= customersTotal) return;
     try {
-        showLoading('customersTableContainer');
-        const url = search ? `${API_BASE}/customers?search=${encodeURIComponent(search)}` : `${API_BASE}/customers`;
-        const response = await fetchWithAuth(url);
-        if (response.ok) {
-            currentCustomers = await response.json();
-            renderCustomersTable(currentCustomers);
-        } else {
-            showError('customersTableContainer', 'Failed to filter customers');
-        }
+        const nextPage = await fetchCustomersPage(customersSearch, customersPage + 1);
+        currentCustomers = currentCustomers.concat(nextPage);
+        renderCustomersTable(currentCustomers);
     } catch (error) {
-        console.error('Error filtering customers:', error);
-        showError('customersTableContainer', 'Error filtering customers');
+        console.error('Error loading more customers:', error);
+        showAlert('Failed to load more customers', 'error');
     }
+    updateCustomersLoadMore();
 }
 
 // Clear customer filters
@@ -0,0 +1,54 @@
+package com.boatsafari.managementsystem.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTests {
+
+	@Test
+	void firesOnFirstTickAtOrAfterDeadline() {
+		HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1000, 60, 0);
+		wheel.add(1, 15 * 60 * 1000);       // 15 minutes - lands on level 1
+
+		assertTrue(wheel.advance(15 * 60 * 1000 - 1).isEmpty());
+		assertEquals(List.of(1L), wheel.advance(15 * 60 * 1000 + 1000));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void pastDeadlinesFireOnNextAdvance() {
+		HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1000, 60, 10_000);
+		wheel.add(7, 5_000);
+
+		assertEquals(List.of(7L), wheel.advance(10_000));
+	}
+
+	@Test
+	void neverFiresEarlyAcrossLevels() {
+		HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(100, 8, 0);
+		Random random = new Random(42);
+		long[] deadlines = new long[500];
+		for (int i = 0; i < deadlines.length; i++) {
+			deadlines[i] = 1 + random.nextInt(200_000);
+			wheel.add(i, deadlines[i]);
+		}
+
+		List<Long> fired = new ArrayList<>();
+		for (long now = 0; now <= 200_100; now += 100) {
+			for (long id : wheel.advance(now)) {
+				long deadline = deadlines[(int) id];
+				assertTrue(deadline <= now, "fired early: " + id);
+				assertTrue(now - deadline < 200, "fired late: " + id);
+				fired.add(id);
+			}
+		}
+		assertEquals(deadlines.length, fired.size());
+		assertEquals(0, wheel.size());
+	}
+}
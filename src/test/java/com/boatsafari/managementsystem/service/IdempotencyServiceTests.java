@@ -0,0 +1,390 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.model.IdempotencyRecord;
+import com.boatsafari.managementsystem.repository.IdempotencyRepository;
+import com.boatsafari.managementsystem.repository.IdempotencyState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTests {
+
+	private static final String SCOPE = "POST /api/bookings";
+	private static final String KEY = "3f6c1a52-booking";
+	private static final Map<String, Object> BODY = Map.of("tripId", 7, "passengers", 2);
+
+	private final KeyTable table = new KeyTable();
+	private final IdempotencyRepository repository = table.repository();
+
+	@Test
+	void repeatIsReplayedWithoutRunningAgain() {
+		IdempotencyService service = service(10_000);
+		AtomicInteger runs = new AtomicInteger();
+		Supplier<ResponseEntity<?>> create = () -> {
+			runs.incrementAndGet();
+			return ResponseEntity.created(URI.create("/api/bookings/42")).body(Map.of("bookingId", 42));
+		};
+
+		ResponseEntity<?> first = service.execute(SCOPE, "guest@example.com", KEY, BODY, create);
+		ResponseEntity<?> repeat = service.execute(SCOPE, "guest@example.com", KEY, BODY, create);
+
+		assertEquals(1, runs.get());
+		assertNull(first.getHeaders().getFirst("Idempotent-Replayed"));
+		assertEquals("true", repeat.getHeaders().getFirst("Idempotent-Replayed"));
+		assertEquals(HttpStatus.CREATED, repeat.getStatusCode());
+		assertEquals(URI.create("/api/bookings/42"), repeat.getHeaders().getLocation());
+		assertEquals("{\"bookingId\":42}", repeat.getBody());
+	}
+
+	@Test
+	void repeatOnAnotherNodeIsReplayedFromTheTable() {
+		AtomicInteger runs = new AtomicInteger();
+		Supplier<ResponseEntity<?>> create = () -> {
+			runs.incrementAndGet();
+			return ResponseEntity.ok(Map.of("bookingId", 42));
+		};
+		service(10_000).execute(SCOPE, "guest@example.com", KEY, BODY, create);
+
+		ResponseEntity<?> repeat = service(10_000).execute(SCOPE, "guest@example.com", KEY, BODY, create);
+
+		assertEquals(1, runs.get());
+		assertEquals("true", repeat.getHeaders().getFirst("Idempotent-Replayed"));
+		assertEquals("{\"bookingId\":42}", repeat.getBody());
+	}
+
+	@Test
+	void keyReusedForADifferentBodyIs422() {
+		IdempotencyService service = service(10_000);
+		service.execute(SCOPE, "guest@example.com", KEY, BODY, () -> ResponseEntity.ok(Map.of("bookingId", 42)));
+
+		ResponseEntity<?> reused = service.execute(SCOPE, "guest@example.com", KEY, Map.of("tripId", 8),
+				() -> ResponseEntity.ok(Map.of("bookingId", 43)));
+
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+	}
+
+	@Test
+	void sameKeyFromAnotherCallerRunsSeparately() {
+		IdempotencyService service = service(10_000);
+		AtomicInteger runs = new AtomicInteger();
+		Supplier<ResponseEntity<?>> create = () -> ResponseEntity.ok(Map.of("run", runs.incrementAndGet()));
+
+		service.execute(SCOPE, "guest@example.com", KEY, BODY, create);
+		service.execute(SCOPE, "other@example.com", KEY, BODY, create);
+
+		assertEquals(2, runs.get());
+	}
+
+	@Test
+	void serverErrorReleasesTheKey() {
+		IdempotencyService service = service(10_000);
+		AtomicInteger runs = new AtomicInteger();
+
+		ResponseEntity<?> failed = service.execute(SCOPE, "guest@example.com", KEY, BODY, () -> {
+			runs.incrementAndGet();
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		});
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, failed.getStatusCode());
+		assertTrue(table.rows.isEmpty());
+
+		ResponseEntity<?> retry = service.execute(SCOPE, "guest@example.com", KEY, BODY, () -> {
+			runs.incrementAndGet();
+			return ResponseEntity.ok(Map.of("bookingId", 42));
+		});
+		assertEquals(2, runs.get());
+		assertEquals(HttpStatus.OK, retry.getStatusCode());
+		assertNull(retry.getHeaders().getFirst("Idempotent-Replayed"));
+	}
+
+	@Test
+	void duplicateWaitingOnAFailedRequestRunsItself() throws Exception {
+		IdempotencyService service = service(10_000);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+
+		AtomicReference<ResponseEntity<?>> firstResponse = new AtomicReference<>();
+		AtomicReference<ResponseEntity<?>> duplicateResponse = new AtomicReference<>();
+		Thread first = new Thread(() -> firstResponse.set(service.execute(SCOPE, "guest@example.com", KEY, BODY, () -> {
+			runs.incrementAndGet();
+			running.countDown();
+			await(finish);
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		})));
+		first.start();
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+		Thread duplicate = new Thread(() -> duplicateResponse.set(service.execute(SCOPE, "guest@example.com", KEY, BODY, () -> {
+			runs.incrementAndGet();
+			return ResponseEntity.ok(Map.of("bookingId", 42));
+		})));
+		duplicate.start();
+
+		while (duplicate.getState() != Thread.State.TIMED_WAITING) {
+			assertTrue(duplicate.isAlive(), "duplicate returned before the first request finished");
+			Thread.onSpinWait();
+		}
+		finish.countDown();
+		first.join(5000);
+		duplicate.join(5000);
+
+		assertEquals(2, runs.get());
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, firstResponse.get().getStatusCode());
+		assertEquals(HttpStatus.OK, duplicateResponse.get().getStatusCode());
+		assertNull(duplicateResponse.get().getHeaders().getFirst("Idempotent-Replayed"));
+		assertEquals(IdempotencyRecord.COMPLETED, table.rows.values().iterator().next().status());
+	}
+
+	@Test
+	void exceptionReleasesTheKey() {
+		IdempotencyService service = service(10_000);
+		IllegalStateException boom = new IllegalStateException("trip is full");
+
+		IllegalStateException thrown = assertThrows(IllegalStateException.class,
+				() -> service.execute(SCOPE, "guest@example.com", KEY, BODY, () -> {
+					throw boom;
+				}));
+		assertSame(boom, thrown);
+		assertTrue(table.rows.isEmpty());
+
+		ResponseEntity<?> retry = service.execute(SCOPE, "guest@example.com", KEY, BODY,
+				() -> ResponseEntity.ok(Map.of("bookingId", 42)));
+		assertEquals(HttpStatus.OK, retry.getStatusCode());
+		assertNull(retry.getHeaders().getFirst("Idempotent-Replayed"));
+	}
+
+	@Test
+	void concurrentDuplicateWaitsForTheFirstRequest() throws Exception {
+		IdempotencyService service = service(10_000);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+		Supplier<ResponseEntity<?>> create = () -> {
+			runs.incrementAndGet();
+			running.countDown();
+			await(finish);
+			return ResponseEntity.ok(Map.of("bookingId", 42));
+		};
+
+		AtomicReference<ResponseEntity<?>> firstResponse = new AtomicReference<>();
+		AtomicReference<ResponseEntity<?>> duplicateResponse = new AtomicReference<>();
+		Thread first = new Thread(() -> firstResponse.set(service.execute(SCOPE, "guest@example.com", KEY, BODY, create)));
+		first.start();
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+		Thread duplicate = new Thread(() -> duplicateResponse.set(service.execute(SCOPE, "guest@example.com", KEY, BODY, create)));
+		duplicate.start();
+
+		// Parked on the first request's result, not running the action itself
+		while (duplicate.getState() != Thread.State.TIMED_WAITING) {
+			assertTrue(duplicate.isAlive(), "duplicate returned before the first request finished");
+			Thread.onSpinWait();
+		}
+		finish.countDown();
+		first.join(5000);
+		duplicate.join(5000);
+
+		assertEquals(1, runs.get());
+		assertEquals(HttpStatus.OK, firstResponse.get().getStatusCode());
+		assertEquals("true", duplicateResponse.get().getHeaders().getFirst("Idempotent-Replayed"));
+		assertEquals("{\"bookingId\":42}", duplicateResponse.get().getBody());
+	}
+
+	@Test
+	void duplicateStillRunningAfterWaitTimeoutIs409() throws Exception {
+		IdempotencyService service = service(50);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		Thread first = new Thread(() -> service.execute(SCOPE, "guest@example.com", KEY, BODY, () -> {
+			running.countDown();
+			await(finish);
+			return ResponseEntity.ok(Map.of("bookingId", 42));
+		}));
+		first.start();
+		try {
+			assertTrue(running.await(5, TimeUnit.SECONDS));
+
+			ResponseEntity<?> duplicate = service.execute(SCOPE, "guest@example.com", KEY, BODY,
+					() -> ResponseEntity.ok(Map.of("bookingId", 43)));
+
+			assertEquals(HttpStatus.CONFLICT, duplicate.getStatusCode());
+			assertEquals("1", duplicate.getHeaders().getFirst("Retry-After"));
+		} finally {
+			finish.countDown();
+			first.join(5000);
+		}
+	}
+
+	@Test
+	void duplicateRunningOnAnotherNodeIs409AfterWaitTimeout() throws Exception {
+		AtomicInteger runs = new AtomicInteger();
+		CountDownLatch finish = new CountDownLatch(1);
+		Thread first = new Thread(() -> service(10_000).execute(SCOPE, "guest@example.com", KEY, BODY, () -> {
+			runs.incrementAndGet();
+			await(finish);
+			return ResponseEntity.ok(Map.of("bookingId", 42));
+		}));
+		first.start();
+		try {
+			while (table.rows.isEmpty()) {
+				Thread.onSpinWait();
+			}
+
+			ResponseEntity<?> duplicate = service(50).execute(SCOPE, "guest@example.com", KEY, BODY, () -> {
+				runs.incrementAndGet();
+				return ResponseEntity.ok(Map.of("bookingId", 43));
+			});
+
+			assertEquals(HttpStatus.CONFLICT, duplicate.getStatusCode());
+			assertEquals(1, runs.get());
+		} finally {
+			finish.countDown();
+			first.join(5000);
+		}
+	}
+
+	@Test
+	void constraintFailureOtherThanADuplicateKeyIsNotRetried() {
+		IdempotencyRepository failing = mock(IdempotencyRepository.class);
+		when(failing.findState(anyString())).thenReturn(Optional.empty());
+		when(failing.insertClaim(anyString(), anyString(), anyString(), anyString(), any(), any(), any()))
+				.thenThrow(new DataIntegrityViolationException("String or binary data would be truncated"));
+		IdempotencyService service = new IdempotencyService(failing, new ObjectMapper(), new SimpleMeterRegistry(),
+				24, 60_000, 10_000, 600_000, 100);
+		AtomicInteger runs = new AtomicInteger();
+
+		assertThrows(DataIntegrityViolationException.class, () -> service.execute(SCOPE, "guest@example.com", KEY, BODY,
+				() -> ResponseEntity.ok(Map.of("run", runs.incrementAndGet()))));
+		assertEquals(0, runs.get());
+		verify(failing, never()).complete(anyString(), anyString(), anyInt(), any(), any());
+	}
+
+	private IdempotencyService service(long waitTimeoutMs) {
+		return new IdempotencyService(repository, new ObjectMapper(), new SimpleMeterRegistry(),
+				24, 60_000, waitTimeoutMs, 600_000, 100);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * idempotency_keys in memory, with the same conditional updates as the repository's queries
+	 */
+	private static class KeyTable {
+
+		record Row(String requestHash, String status, Integer responseStatus, String responseBody,
+				   String responseLocation, String token, LocalDateTime lockedUntil, LocalDateTime expiresAt)
+				implements IdempotencyState {
+
+			@Override
+			public String getRequestHash() {
+				return requestHash;
+			}
+
+			@Override
+			public String getStatus() {
+				return status;
+			}
+
+			@Override
+			public Integer getResponseStatus() {
+				return responseStatus;
+			}
+
+			@Override
+			public String getResponseBody() {
+				return responseBody;
+			}
+
+			@Override
+			public String getResponseLocation() {
+				return responseLocation;
+			}
+
+			@Override
+			public LocalDateTime getLockedUntil() {
+				return lockedUntil;
+			}
+
+			@Override
+			public LocalDateTime getExpiresAt() {
+				return expiresAt;
+			}
+		}
+
+		final Map<String, Row> rows = new ConcurrentHashMap<>();
+
+		IdempotencyRepository repository() {
+			IdempotencyRepository repository = mock(IdempotencyRepository.class);
+			when(repository.findState(anyString()))
+					.thenAnswer(call -> Optional.ofNullable(rows.get(call.<String>getArgument(0))));
+			when(repository.insertClaim(anyString(), anyString(), anyString(), anyString(), any(), any(), any()))
+					.thenAnswer(call -> {
+						Row claimed = new Row(call.getArgument(2), IdempotencyRecord.IN_PROGRESS, null, null, null,
+								call.getArgument(3), call.getArgument(5), call.getArgument(6));
+						if (rows.putIfAbsent(call.getArgument(0), claimed) != null) {
+							throw new DataIntegrityViolationException("Violation of PRIMARY KEY constraint");
+						}
+						return 1;
+					});
+			when(repository.takeOver(anyString(), anyString(), anyString(), any(), any(), any()))
+					.thenAnswer(call -> {
+						LocalDateTime now = call.getArgument(3);
+						Row row = rows.computeIfPresent(call.getArgument(0), (key, current) ->
+								current.expiresAt().isBefore(now) || (IdempotencyRecord.IN_PROGRESS.equals(current.status())
+										&& current.lockedUntil() != null && current.lockedUntil().isBefore(now))
+										? new Row(call.getArgument(1), IdempotencyRecord.IN_PROGRESS, null, null, null,
+												call.getArgument(2), call.getArgument(4), call.getArgument(5))
+										: current);
+						return row != null && row.token() != null && row.token().equals(call.getArgument(2)) ? 1 : 0;
+					});
+			when(repository.complete(anyString(), anyString(), anyInt(), any(), any()))
+					.thenAnswer(call -> {
+						String token = call.getArgument(1);
+						Row row = rows.computeIfPresent(call.getArgument(0), (key, current) ->
+								token.equals(current.token())
+										? new Row(current.requestHash(), IdempotencyRecord.COMPLETED, call.getArgument(2),
+												call.getArgument(3), call.getArgument(4), null, null, current.expiresAt())
+										: current);
+						return row != null && IdempotencyRecord.COMPLETED.equals(row.status()) && row.token() == null ? 1 : 0;
+					});
+			when(repository.release(anyString(), anyString()))
+					.thenAnswer(call -> {
+						Row row = rows.get(call.<String>getArgument(0));
+						return row != null && call.getArgument(1).equals(row.token())
+								&& rows.remove(call.getArgument(0), row) ? 1 : 0;
+					});
+			return repository;
+		}
+	}
+}
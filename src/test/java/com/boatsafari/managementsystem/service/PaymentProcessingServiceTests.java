@@ -0,0 +1,181 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.config.WorkerThreads;
+import com.boatsafari.managementsystem.strategy.BankTransferPaymentStrategy;
+import com.boatsafari.managementsystem.strategy.CreditCardPaymentStrategy;
+import com.boatsafari.managementsystem.strategy.PayPalPaymentStrategy;
+import com.boatsafari.managementsystem.strategy.PaymentGateway;
+import com.boatsafari.managementsystem.strategy.PaymentResult;
+import com.boatsafari.managementsystem.strategy.SimulatedPaymentGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentProcessingServiceTests {
+
+	private static final BigDecimal AMOUNT = new BigDecimal("120.00");
+	private static final String CARD = "4111111111111111";
+
+	private final List<SimulatedPaymentGateway> gateways = new ArrayList<>();
+
+	@AfterEach
+	void shutDownGateways() {
+		gateways.forEach(SimulatedPaymentGateway::shutdown);
+	}
+
+	@Test
+	void slowGatewayDoesNotTieUpRequestThreads() throws Exception {
+		// The gateway answers nothing until released, like a provider that is slow to respond.
+		// A blocking payment path would hold all 8 request threads and never hand back a future
+		CompletableFuture<Void> gatewayAnswers = new CompletableFuture<>();
+		AtomicInteger charges = new AtomicInteger();
+		PaymentGateway heldGateway = (method, amount, email) -> {
+			charges.incrementAndGet();
+			return gatewayAnswers.thenApply(ignored -> new PaymentGateway.GatewayResponse(true, "ok", "Approved"));
+		};
+		PaymentProcessingService service = service(heldGateway, 60_000, 500, 5);
+		ExecutorService requestThreads = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<CompletableFuture<PaymentResult>>> accepted = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				accepted.add(requestThreads.submit(
+						() -> service.processPaymentAsync("CREDIT_CARD", AMOUNT, "guest@example.com", CARD)));
+			}
+			List<CompletableFuture<PaymentResult>> results = new ArrayList<>();
+			for (Future<CompletableFuture<PaymentResult>> future : accepted) {
+				// Generous bound only so a blocking regression fails instead of hanging the build
+				results.add(future.get(30, TimeUnit.SECONDS));
+			}
+
+			assertEquals(200, charges.get(), "every payment reached the gateway");
+			assertTrue(results.stream().noneMatch(CompletableFuture::isDone),
+					"payments are still pending while the gateway has not answered");
+			assertEquals("free", requestThreads.submit(() -> "free").get(30, TimeUnit.SECONDS),
+					"request threads are free for other work while the gateway is held");
+
+			gatewayAnswers.complete(null);
+			CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+			assertTrue(results.stream().allMatch(r -> r.join().isSuccess()));
+		} finally {
+			gatewayAnswers.complete(null);
+			requestThreads.shutdownNow();
+		}
+	}
+
+	@Test
+	void gatewayTimeoutFailsThePayment() {
+		PaymentProcessingService service = service(stubGateway(1000), 100, 10, 5);
+
+		PaymentResult result = service.processPayment("CREDIT_CARD", AMOUNT, "guest@example.com", CARD);
+
+		assertFalse(result.isSuccess());
+		assertEquals("Payment provider did not respond in time", result.getMessage());
+	}
+
+	@Test
+	void bulkheadRejectsCallsBeyondTheLimit() {
+		PaymentProcessingService service = service(stubGateway(300), 5000, 2, 5);
+
+		CompletableFuture<PaymentResult> first = service.processPaymentAsync("PAYPAL", AMOUNT, "a@example.com", "a@example.com");
+		CompletableFuture<PaymentResult> second = service.processPaymentAsync("PAYPAL", AMOUNT, "b@example.com", "b@example.com");
+		CompletableFuture<PaymentResult> third = service.processPaymentAsync("PAYPAL", AMOUNT, "c@example.com", "c@example.com");
+		// Other methods have their own bulkhead
+		CompletableFuture<PaymentResult> card = service.processPaymentAsync("CREDIT_CARD", AMOUNT, "d@example.com", CARD);
+
+		CompletionException rejected = assertThrows(CompletionException.class, third::join);
+		assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+		assertTrue(first.join().isSuccess());
+		assertTrue(second.join().isSuccess());
+		assertTrue(card.join().isSuccess());
+	}
+
+	@Test
+	void circuitOpensAfterConsecutiveErrorsAndClosesAfterTrialCall() throws Exception {
+		AtomicBoolean healthy = new AtomicBoolean(false);
+		AtomicInteger calls = new AtomicInteger();
+		PaymentGateway flaky = (method, amount, email) -> {
+			calls.incrementAndGet();
+			return healthy.get()
+					? CompletableFuture.completedFuture(new PaymentGateway.GatewayResponse(true, "ok", "Approved"))
+					: CompletableFuture.failedFuture(new IllegalStateException("connection refused"));
+		};
+		PaymentProcessingService service = service(flaky, 1000, 10, 3, 200);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals("Payment provider error", service.processPayment("BANK_TRANSFER", AMOUNT, null, "1234567890").getMessage());
+		}
+		PaymentResult whileOpen = service.processPayment("BANK_TRANSFER", AMOUNT, null, "1234567890");
+		assertFalse(whileOpen.isSuccess());
+		assertTrue(whileOpen.getMessage().contains("temporarily unavailable"));
+		assertEquals(3, calls.get(), "open circuit does not call the gateway");
+
+		Thread.sleep(250);
+		healthy.set(true);
+		assertTrue(service.processPayment("BANK_TRANSFER", AMOUNT, null, "1234567890").isSuccess());
+		assertTrue(service.processPayment("BANK_TRANSFER", AMOUNT, null, "1234567890").isSuccess());
+		assertEquals(5, calls.get());
+	}
+
+	@Test
+	void intentIsAcceptedImmediatelyAndCompletesInTheBackground() throws Exception {
+		PaymentIntentService intents = new PaymentIntentService(service(stubGateway(200), 5000, 10, 5), 60_000, 10_000, 1,
+				WorkerThreads.platform());
+		try {
+			PaymentIntentService.IntentStatus accepted = intents.submit("alice", "credit_card", AMOUNT, "alice@example.com", CARD);
+			assertEquals(PaymentIntentService.PROCESSING, accepted.status());
+			assertTrue(intents.find("bob", accepted.intentId()).isEmpty(), "intents are private to their owner");
+
+			PaymentIntentService.IntentStatus status = accepted;
+			long deadline = System.currentTimeMillis() + 3000;
+			while (PaymentIntentService.PROCESSING.equals(status.status()) && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+				status = intents.find("alice", accepted.intentId()).orElseThrow();
+			}
+			assertEquals(PaymentIntentService.SUCCEEDED, status.status());
+			assertTrue(status.transactionId().startsWith("CC-"));
+			assertEquals(3.0, status.processingFee(), 0.0001);
+
+			assertThrows(IllegalArgumentException.class, () -> intents.submit("alice", "CASH", AMOUNT, null, null));
+		} finally {
+			intents.shutdown();
+		}
+	}
+
+	private SimulatedPaymentGateway stubGateway(long latencyMs) {
+		SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(latencyMs, 0.0);
+		gateways.add(gateway);
+		return gateway;
+	}
+
+	private static PaymentProcessingService service(PaymentGateway gateway, long timeoutMs, int maxConcurrentCalls,
+			int failureThreshold) {
+		return service(gateway, timeoutMs, maxConcurrentCalls, failureThreshold, 30_000);
+	}
+
+	private static PaymentProcessingService service(PaymentGateway gateway, long timeoutMs, int maxConcurrentCalls,
+			int failureThreshold, long openMs) {
+		return new PaymentProcessingService(
+				List.of(new CreditCardPaymentStrategy(gateway), new PayPalPaymentStrategy(gateway),
+						new BankTransferPaymentStrategy(gateway)),
+				new SimpleMeterRegistry(), timeoutMs, maxConcurrentCalls, failureThreshold, openMs);
+	}
+}
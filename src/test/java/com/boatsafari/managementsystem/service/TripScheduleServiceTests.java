@@ -0,0 +1,222 @@
+package com.boatsafari.managementsystem.service;
+
+import com.boatsafari.managementsystem.dto.TripScheduleRequest;
+import com.boatsafari.managementsystem.service.TripScheduleService.Recurrence;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TripScheduleServiceTests {
+
+	// A Monday
+	private static final LocalDate SEASON_START = LocalDate.of(2025, 6, 2);
+
+	@Test
+	void parsesWeeklyRuleWithByDayAndInterval() {
+		Recurrence rule = Recurrence.parse("freq=weekly; interval=2; byday=SA,SU");
+
+		assertTrue(rule.weekly());
+		assertEquals(2, rule.interval());
+		assertEquals(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), rule.days());
+		assertNull(rule.count());
+		assertNull(rule.until());
+	}
+
+	@Test
+	void emptyRuleIsDaily() {
+		Recurrence rule = Recurrence.parse(null);
+
+		assertFalse(rule.weekly());
+		assertEquals(1, rule.interval());
+		assertTrue(rule.days().isEmpty());
+	}
+
+	@Test
+	void parsesCountAndUntil() {
+		assertEquals(10, Recurrence.parse("FREQ=DAILY;COUNT=10").count());
+		assertEquals(LocalDate.of(2025, 6, 30), Recurrence.parse("FREQ=DAILY;UNTIL=20250630").until());
+		assertEquals(LocalDate.of(2025, 6, 30), Recurrence.parse("FREQ=WEEKLY;UNTIL=20250630T235959Z").until());
+	}
+
+	@Test
+	void rejectsUnsupportedOrInvalidRules() {
+		for (String rule : List.of("FREQ=MONTHLY", "FREQ=DAILY;BYDAY=MO", "FREQ=WEEKLY;BYDAY=XX",
+				"FREQ=DAILY;INTERVAL=0", "FREQ=DAILY;INTERVAL=two", "FREQ=DAILY;COUNT=0",
+				"FREQ=DAILY;UNTIL=2025-06-30", "FREQ=DAILY;COUNT=3;UNTIL=20250630",
+				"FREQ=DAILY;BYMONTH=6", "FREQ")) {
+			assertThrows(IllegalArgumentException.class, () -> Recurrence.parse(rule), rule);
+		}
+	}
+
+	@Test
+	void dailyIntervalCountsFromSeasonStart() {
+		Recurrence everyThirdDay = Recurrence.parse("FREQ=DAILY;INTERVAL=3");
+
+		assertTrue(everyThirdDay.matches(SEASON_START, SEASON_START));
+		assertFalse(everyThirdDay.matches(SEASON_START, SEASON_START.plusDays(1)));
+		assertTrue(everyThirdDay.matches(SEASON_START, SEASON_START.plusDays(6)));
+	}
+
+	@Test
+	void weeklyIntervalSkipsAlternateWeeks() {
+		Recurrence fortnightly = Recurrence.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=SA");
+
+		assertTrue(fortnightly.matches(SEASON_START, SEASON_START.plusDays(5)));
+		assertFalse(fortnightly.matches(SEASON_START, SEASON_START.plusDays(12)));
+		assertTrue(fortnightly.matches(SEASON_START, SEASON_START.plusDays(19)));
+		assertFalse(fortnightly.matches(SEASON_START, SEASON_START.plusDays(6)));
+	}
+
+	@Test
+	void weeklyWithoutByDayUsesTheSeasonStartDay() {
+		Recurrence weekly = Recurrence.parse("FREQ=WEEKLY");
+
+		assertTrue(weekly.matches(SEASON_START, SEASON_START.plusWeeks(3)));
+		assertFalse(weekly.matches(SEASON_START, SEASON_START.plusDays(1)));
+	}
+
+	@Test
+	void untilIsInclusive() {
+		Recurrence rule = Recurrence.parse("FREQ=DAILY;UNTIL=20250605");
+
+		assertTrue(rule.matches(SEASON_START, LocalDate.of(2025, 6, 5)));
+		assertFalse(rule.matches(SEASON_START, LocalDate.of(2025, 6, 6)));
+	}
+
+	@Test
+	void countLimitsOccurrenceDates() {
+		TripScheduleService service = service(List.of());
+
+		Map<String, Object> report = service.generate(request("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=3"));
+
+		// Mon 2, Wed 4, Mon 9 June, two departures each
+		assertEquals(6, report.get("generated"));
+	}
+
+	@Test
+	void excludedDatesCountTowardsCount() {
+		TripScheduleRequest request = request("FREQ=DAILY;COUNT=3");
+		request.getTemplates().get(0).getExcludeDates().add(SEASON_START.plusDays(1));
+
+		Map<String, Object> report = service(List.of()).generate(request);
+
+		assertEquals(4, report.get("generated"));
+	}
+
+	@Test
+	void skipsDeparturesThatAlreadyExist() throws SQLException {
+		TripScheduleService service = service(List.of(
+				row(SEASON_START, LocalTime.of(9, 0), "Lagoon"),
+				row(SEASON_START.plusDays(1), LocalTime.of(14, 0), "Lagoon"),
+				// Same slot on another route does not clash
+				row(SEASON_START.plusDays(2), LocalTime.of(9, 0), "Estuary")));
+
+		Map<String, Object> report = service.generate(request("FREQ=DAILY;UNTIL=20250604"));
+
+		assertEquals(6, report.get("generated"));
+		assertEquals(2, report.get("skippedExisting"));
+		assertEquals(0, report.get("inserted"));
+	}
+
+	@Test
+	void runThatCannotGetTheScheduleLockInsertsNothing() {
+		List<String> statements = new ArrayList<>();
+		TripScheduleService service = service(List.of(), -1, statements);
+		TripScheduleRequest request = request("FREQ=DAILY");
+		request.setDryRun(false);
+
+		assertThrows(IllegalStateException.class, () -> service.generate(request));
+		// The lock comes before the existing-departure read and the inserts
+		assertEquals(1, statements.size());
+		assertTrue(statements.get(0).contains("sp_getapplock"));
+	}
+
+	@Test
+	void dryRunDoesNotTakeTheScheduleLock() {
+		List<String> statements = new ArrayList<>();
+
+		service(List.of(), -1, statements).generate(request("FREQ=DAILY"));
+
+		assertEquals(1, statements.size());
+		assertTrue(statements.get(0).startsWith("select date, start_time, route from trips"));
+	}
+
+	private static TripScheduleRequest request(String recurrence) {
+		TripScheduleRequest.Template template = new TripScheduleRequest.Template();
+		template.setName("Lagoon cruise");
+		template.setRoute("Lagoon");
+		template.setRecurrence(recurrence);
+		template.setDepartureTimes(new ArrayList<>(List.of(LocalTime.of(9, 0), LocalTime.of(14, 0))));
+		template.setDurationHours(2);
+		template.setCapacity(20);
+		template.setPrice(45.0);
+
+		TripScheduleRequest request = new TripScheduleRequest();
+		request.setStartDate(SEASON_START);
+		request.setEndDate(SEASON_START.plusDays(27));
+		request.setDryRun(true);
+		request.getTemplates().add(template);
+		return request;
+	}
+
+	// Dry runs only read existing departures, so the repositories and caches are never touched
+	private static TripScheduleService service(List<ResultSet> existing) {
+		return service(existing, 0, new ArrayList<>());
+	}
+
+	private static TripScheduleService service(List<ResultSet> existing, int lockResult, List<String> statements) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+				statements.add(sql);
+				return (T) Integer.valueOf(lockResult);
+			}
+
+			@Override
+			public void query(String sql, RowCallbackHandler rch, Object... args) {
+				statements.add(sql);
+				try {
+					for (ResultSet rs : existing) {
+						rch.processRow(rs);
+					}
+				} catch (SQLException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		};
+		TripScheduleService service = new TripScheduleService(jdbcTemplate, null, null, null, null, null);
+		ReflectionTestUtils.setField(service, "batchSize", 1000);
+		ReflectionTestUtils.setField(service, "maxTrips", 50000);
+		return service;
+	}
+
+	private static ResultSet row(LocalDate date, LocalTime start, String route) throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getDate(1)).thenReturn(Date.valueOf(date));
+		when(rs.getTime(2)).thenReturn(Time.valueOf(start));
+		when(rs.getString(3)).thenReturn(route);
+		return rs;
+	}
+}